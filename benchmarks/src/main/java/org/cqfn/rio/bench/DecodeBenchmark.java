@@ -0,0 +1,164 @@
+package org.cqfn.rio.bench;
+
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import io.reactivex.Flowable;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.file.File;
+import org.cqfn.rio.text.Decode;
+
+/**
+ * Text decoding benchmark: rio {@link Decode} vs decoding each direct buffer
+ * of file content with new {@link CharsetDecoder#decode(ByteBuffer)} call.
+ */
+public final class DecodeBenchmark {
+
+    /**
+     * CLI options.
+     */
+    private static final Options OPTS = new Options()
+        .addOption(
+            Option.builder("p")
+                .longOpt("provider")
+                .desc("Decode provider: rio or naive")
+                .hasArg()
+                .required()
+                .build()
+        ).addOption(
+            Option.builder("w")
+                .longOpt("warm-up")
+                .hasArg()
+                .desc("Warm up count")
+                .type(Integer.class)
+                .build()
+        ).addOption(
+            Option.builder("c")
+                .longOpt("count")
+                .hasArg()
+                .desc("Count to repeat")
+                .type(Integer.class)
+                .build()
+        ).addOption(
+            Option.builder()
+                .longOpt("size")
+                .hasArg()
+                .desc("Size of text file in KB")
+                .type(Integer.class)
+                .build()
+        );
+
+    /**
+     * Text line with ASCII and two-byte UTF-8 characters.
+     */
+    private static final byte[] LINE =
+        "The quick brown fox, быстрая рыжая лиса, jumps over the lazy dog\n"
+            .getBytes(StandardCharsets.UTF_8);
+
+    public static void main(final String... args) throws Exception {
+        final CommandLine cli;
+        try {
+            cli = new DefaultParser().parse(OPTS, args);
+        } catch (final ParseException err) {
+            new HelpFormatter().printHelp("DecodeBenchmark", OPTS);
+            System.exit(1);
+            return;
+        }
+        final String provider = cli.getOptionValue('p');
+        final boolean rio;
+        if ("rio".equals(provider)) {
+            rio = true;
+        } else if ("naive".equals(provider)) {
+            rio = false;
+        } else {
+            new HelpFormatter().printHelp("DecodeBenchmark", OPTS);
+            System.exit(1);
+            return;
+        }
+        final int warmup = Integer.parseInt(cli.getOptionValue('w'));
+        final int count = Integer.parseInt(cli.getOptionValue('c'));
+        final int size = Integer.parseInt(cli.getOptionValue("size"));
+        final Path text = text(size);
+        try {
+            for (int wm = 0; wm < warmup; wm++) {
+                decode(rio, text, new Stats(1, 1));
+            }
+            final Stats stats = new Stats(count, 1);
+            for (int pos = 0; pos < count; pos++) {
+                final long start = System.nanoTime();
+                decode(rio, text, stats);
+                final long end = System.nanoTime();
+                stats.put(pos, end - start);
+            }
+            final String name;
+            if (rio) {
+                name = "RioDecode";
+            } else {
+                name = "NaiveDecode";
+            }
+            stats.print(TimeUnit.MILLISECONDS, new Stats.MarkdownOut(System.out, name));
+        } finally {
+            Files.delete(text);
+        }
+        System.exit(0);
+    }
+
+    private static Path text(final int size) throws IOException {
+        final Path path = Files.createTempFile("rio-decode", ".txt");
+        final long total = size * 1024L;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            for (long written = 0; written < total; written += LINE.length) {
+                out.write(LINE);
+            }
+        }
+        return path;
+    }
+
+    private static void decode(final boolean rio, final Path text, final Stats stats) {
+        if (rio) {
+            Flowable.fromPublisher(
+                new Decode(new File(text).content(Buffers.Standard.K16), StandardCharsets.UTF_8)
+            ).doOnNext(buf -> stats.putBytes(buf.remaining()))
+                .ignoreElements()
+                .to(CompletableInterop.await())
+                .toCompletableFuture()
+                .join();
+        } else {
+            final CharsetDecoder dec = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            Flowable.fromPublisher(new File(text).content(Buffers.Standard.K16))
+                .map(buf -> naive(dec, buf))
+                .doOnNext(buf -> stats.putBytes(buf.remaining()))
+                .ignoreElements()
+                .to(CompletableInterop.await())
+                .toCompletableFuture()
+                .join();
+        }
+    }
+
+    private static CharBuffer naive(final CharsetDecoder dec, final ByteBuffer buf) {
+        try {
+            return dec.decode(buf);
+        } catch (final CharacterCodingException err) {
+            throw new UncheckedIOException(err);
+        }
+    }
+}
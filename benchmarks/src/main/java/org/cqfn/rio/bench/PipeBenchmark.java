@@ -0,0 +1,183 @@
+package org.cqfn.rio.bench;
+
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import io.reactivex.Flowable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.security.SecureRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.channel.ReactivePipe;
+
+/**
+ * In-process pipe throughput benchmark: rio {@link ReactivePipe} vs raw NIO
+ * channels with writer and reader threads.
+ */
+public final class PipeBenchmark {
+
+    /**
+     * CLI options.
+     */
+    private static final Options OPTS = new Options()
+        .addOption(
+            Option.builder("p")
+                .longOpt("provider")
+                .desc("Pipe provider: rio or nio")
+                .hasArg()
+                .required()
+                .build()
+        ).addOption(
+            Option.builder("w")
+                .longOpt("warm-up")
+                .hasArg()
+                .desc("Warm up count")
+                .type(Integer.class)
+                .build()
+        ).addOption(
+            Option.builder("c")
+                .longOpt("count")
+                .hasArg()
+                .desc("Count to repeat")
+                .type(Integer.class)
+                .build()
+        ).addOption(
+            Option.builder()
+                .longOpt("size")
+                .hasArg()
+                .desc("Size to transfer in KB")
+                .type(Integer.class)
+                .build()
+        );
+
+    private static final byte[] RANDOM_KB;
+
+    static {
+        RANDOM_KB = new byte[1024];
+        new SecureRandom().nextBytes(RANDOM_KB);
+    }
+
+    private static final int READ_BUF = 16 * 1024;
+
+    private static final ExecutorService NIO_EXEC = Executors.newCachedThreadPool(
+        run -> {
+            final Thread thr = new Thread(run);
+            thr.setDaemon(true);
+            return thr;
+        }
+    );
+
+    public static void main(final String... args) throws Exception {
+        final CommandLine cli;
+        try {
+            cli = new DefaultParser().parse(OPTS, args);
+        } catch (final ParseException err) {
+            new HelpFormatter().printHelp("PipeBenchmark", OPTS);
+            System.exit(1);
+            return;
+        }
+        final String provider = cli.getOptionValue('p');
+        final boolean rio;
+        if ("rio".equals(provider)) {
+            rio = true;
+        } else if ("nio".equals(provider)) {
+            rio = false;
+        } else {
+            new HelpFormatter().printHelp("PipeBenchmark", OPTS);
+            System.exit(1);
+            return;
+        }
+        final int warmup = Integer.parseInt(cli.getOptionValue('w'));
+        final int count = Integer.parseInt(cli.getOptionValue('c'));
+        final int size = Integer.parseInt(cli.getOptionValue("size"));
+        for (int wm = 0; wm < warmup; wm++) {
+            transfer(rio, size, new Stats(1, 1));
+        }
+        final Stats stats = new Stats(count, 1);
+        for (int pos = 0; pos < count; pos++) {
+            final long start = System.nanoTime();
+            transfer(rio, size, stats);
+            final long end = System.nanoTime();
+            stats.put(pos, end - start);
+        }
+        final String name;
+        if (rio) {
+            name = "RioPipe";
+        } else {
+            name = "NioPipe";
+        }
+        stats.print(TimeUnit.MILLISECONDS, new Stats.MarkdownOut(System.out, name));
+        System.exit(0);
+    }
+
+    private static void transfer(final boolean rio, final int size, final Stats stats)
+        throws IOException {
+        if (rio) {
+            rio(size, stats);
+        } else {
+            nio(size, stats);
+        }
+    }
+
+    private static void rio(final int size, final Stats stats) throws IOException {
+        final ReactivePipe pipe = new ReactivePipe(Pipe.open());
+        final AtomicInteger cnt = new AtomicInteger(size);
+        final CompletableFuture<Void> write = pipe.write(
+            Flowable.generate(
+                emitter -> {
+                    if (cnt.decrementAndGet() >= 0) {
+                        emitter.onNext(ByteBuffer.wrap(RANDOM_KB));
+                    } else {
+                        emitter.onComplete();
+                    }
+                }
+            )
+        ).toCompletableFuture();
+        Flowable.fromPublisher(pipe.read(Buffers.Standard.K16))
+            .doOnNext(buf -> stats.putBytes(buf.remaining()))
+            .ignoreElements()
+            .to(CompletableInterop.await())
+            .toCompletableFuture()
+            .join();
+        write.join();
+    }
+
+    private static void nio(final int size, final Stats stats) throws IOException {
+        final Pipe pipe = Pipe.open();
+        final CompletableFuture<Void> write = CompletableFuture.runAsync(
+            () -> {
+                try (Pipe.SinkChannel sink = pipe.sink()) {
+                    for (int pos = 0; pos < size; ++pos) {
+                        final ByteBuffer buf = ByteBuffer.wrap(RANDOM_KB);
+                        while (buf.hasRemaining()) {
+                            sink.write(buf);
+                        }
+                    }
+                } catch (final IOException err) {
+                    throw new UncheckedIOException(err);
+                }
+            },
+            NIO_EXEC
+        );
+        try (Pipe.SourceChannel source = pipe.source()) {
+            final ByteBuffer buf = ByteBuffer.allocateDirect(READ_BUF);
+            int read;
+            while ((read = source.read(buf)) >= 0) {
+                stats.putBytes(read);
+                buf.clear();
+            }
+        }
+        write.join();
+    }
+}
@@ -0,0 +1,143 @@
+package org.cqfn.rio.bench;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.cqfn.rio.file.File;
+import org.cqfn.rio.file.Preallocate;
+
+/**
+ * File write benchmark: rio {@link File#write} with {@link Preallocate} option,
+ * which fills the file with zeros before writing data, vs plain write.
+ */
+public final class PreallocateBenchmark {
+
+    /**
+     * CLI options.
+     */
+    private static final Options OPTS = new Options()
+        .addOption(
+            Option.builder("p")
+                .longOpt("provider")
+                .desc("Write provider: prealloc or plain")
+                .hasArg()
+                .required()
+                .build()
+        ).addOption(
+            Option.builder("w")
+                .longOpt("warm-up")
+                .hasArg()
+                .desc("Warm up count")
+                .type(Integer.class)
+                .build()
+        ).addOption(
+            Option.builder("c")
+                .longOpt("count")
+                .hasArg()
+                .desc("Count to repeat")
+                .type(Integer.class)
+                .build()
+        ).addOption(
+            Option.builder()
+                .longOpt("size")
+                .hasArg()
+                .desc("Size of file in KB")
+                .type(Integer.class)
+                .build()
+        ).addOption(
+            Option.builder()
+                .longOpt("dir")
+                .hasArg()
+                .desc("Directory to write files")
+                .build()
+        );
+
+    /**
+     * Size of written buffers.
+     */
+    private static final int CHUNK = 64 * 1024;
+
+    public static void main(final String... args) throws Exception {
+        final CommandLine cli;
+        try {
+            cli = new DefaultParser().parse(OPTS, args);
+        } catch (final ParseException err) {
+            new HelpFormatter().printHelp("PreallocateBenchmark", OPTS);
+            System.exit(1);
+            return;
+        }
+        final String provider = cli.getOptionValue('p');
+        final boolean prealloc;
+        if ("prealloc".equals(provider)) {
+            prealloc = true;
+        } else if ("plain".equals(provider)) {
+            prealloc = false;
+        } else {
+            new HelpFormatter().printHelp("PreallocateBenchmark", OPTS);
+            System.exit(1);
+            return;
+        }
+        final int warmup = Integer.parseInt(cli.getOptionValue('w'));
+        final int count = Integer.parseInt(cli.getOptionValue('c'));
+        final long size = Integer.parseInt(cli.getOptionValue("size")) * 1024L;
+        final Path dir = Paths.get(cli.getOptionValue("dir", System.getProperty("java.io.tmpdir")));
+        final byte[] chunk = new byte[CHUNK];
+        new SecureRandom().nextBytes(chunk);
+        final Path out = Files.createTempFile(dir, "rio-prealloc", ".bin");
+        try {
+            for (int wm = 0; wm < warmup; wm++) {
+                write(prealloc, out, chunk, size);
+            }
+            final Stats stats = new Stats(count, 1);
+            for (int pos = 0; pos < count; pos++) {
+                final long start = System.nanoTime();
+                write(prealloc, out, chunk, size);
+                final long end = System.nanoTime();
+                stats.put(pos, end - start);
+                stats.putBytes((int) Math.min(size, Integer.MAX_VALUE));
+            }
+            final String name;
+            if (prealloc) {
+                name = "RioPreallocate";
+            } else {
+                name = "RioPlainWrite";
+            }
+            stats.print(TimeUnit.MILLISECONDS, new Stats.MarkdownOut(System.out, name));
+        } finally {
+            Files.deleteIfExists(out);
+        }
+        System.exit(0);
+    }
+
+    private static void write(final boolean prealloc, final Path out, final byte[] chunk,
+        final long size) throws Exception {
+        Files.deleteIfExists(out);
+        final Flowable<ByteBuffer> data = Flowable.rangeLong(0, (size + CHUNK - 1) / CHUNK)
+            .map(
+                idx -> ByteBuffer.wrap(
+                    chunk, 0, (int) Math.min(CHUNK, size - idx * CHUNK)
+                )
+            );
+        final OpenOption[] opts;
+        if (prealloc) {
+            opts = new OpenOption[]{
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, new Preallocate(size),
+            };
+        } else {
+            opts = new OpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.WRITE};
+        }
+        new File(out).write(data, opts).toCompletableFuture().get();
+    }
+}
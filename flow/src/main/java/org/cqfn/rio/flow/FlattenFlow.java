@@ -0,0 +1,257 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.flow;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Reactive streams publisher of buffers of flow publisher of buffer lists,
+ * e.g. {@code HttpResponse.BodyHandlers.ofPublisher()} body.
+ * <p>
+ * Lists are requested one by one when previous list was emitted,
+ * buffers of the list are emitted on subscriber demand.
+ * </p>
+ * @since 0.4
+ */
+final class FlattenFlow implements Publisher<ByteBuffer> {
+
+    /**
+     * Origin publisher.
+     */
+    private final Flow.Publisher<List<ByteBuffer>> origin;
+
+    /**
+     * Flatten publisher of origin.
+     * @param origin Flow publisher of buffer lists
+     */
+    FlattenFlow(final Flow.Publisher<List<ByteBuffer>> origin) {
+        this.origin = origin;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        this.origin.subscribe(new Bridge(subscriber));
+    }
+
+    /**
+     * Flow subscriber of lists and subscription of buffers.
+     * @since 0.4
+     */
+    private static final class Bridge implements Flow.Subscriber<List<ByteBuffer>>,
+        Subscription {
+
+        /**
+         * Downstream subscriber.
+         */
+        private final Subscriber<? super ByteBuffer> target;
+
+        /**
+         * Drain loop work in progress counter.
+         */
+        private final AtomicInteger wip;
+
+        /**
+         * Downstream demand.
+         */
+        private final AtomicLong demand;
+
+        /**
+         * Upstream subscription.
+         */
+        private volatile Flow.Subscription upstream;
+
+        /**
+         * Next list received from upstream.
+         */
+        private volatile List<ByteBuffer> next;
+
+        /**
+         * Upstream completed.
+         */
+        private volatile boolean completed;
+
+        /**
+         * Upstream error.
+         */
+        private volatile Throwable error;
+
+        /**
+         * Cancelled by downstream.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * Illegal request amount.
+         */
+        private volatile boolean violation;
+
+        /**
+         * Current list iterator, drain loop only.
+         */
+        private Iterator<ByteBuffer> cur;
+
+        /**
+         * Next list was requested, drain loop only.
+         */
+        private boolean requested;
+
+        /**
+         * Terminated, drain loop only.
+         */
+        private boolean done;
+
+        /**
+         * New bridge.
+         * @param target Downstream subscriber
+         */
+        Bridge(final Subscriber<? super ByteBuffer> target) {
+            this.target = target;
+            this.wip = new AtomicInteger();
+            this.demand = new AtomicLong();
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription sub) {
+            this.upstream = sub;
+            this.target.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(final List<ByteBuffer> item) {
+            this.next = item;
+            this.drain();
+        }
+
+        @Override
+        public void onError(final Throwable err) {
+            this.error = err;
+            this.completed = true;
+            this.drain();
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+            this.drain();
+        }
+
+        @Override
+        public void request(final long count) {
+            if (count <= 0) {
+                this.violation = true;
+            } else {
+                Subscriptions.add(this.demand, count);
+            }
+            this.drain();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.drain();
+        }
+
+        /**
+         * Drain loop.
+         * @checkstyle CyclomaticComplexityCheck (60 lines)
+         * @checkstyle NestedIfDepthCheck (60 lines)
+         */
+        @SuppressWarnings("PMD.CognitiveComplexity")
+        private void drain() {
+            if (this.wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            while (missed != 0) {
+                if (!this.done) {
+                    if (this.cancelled || this.violation) {
+                        this.done = true;
+                        this.cur = null;
+                        this.next = null;
+                        this.upstream.cancel();
+                        if (this.violation && !this.cancelled) {
+                            this.target.onError(
+                                new IllegalArgumentException(
+                                    "Requested amount should be positive (rule 3.9)"
+                                )
+                            );
+                        }
+                    } else {
+                        this.emit();
+                    }
+                }
+                missed = this.wip.addAndGet(-missed);
+            }
+        }
+
+        /**
+         * Emit buffers on demand, request next list or terminate.
+         */
+        private void emit() {
+            while (!this.cancelled) {
+                if (this.cur != null && this.cur.hasNext()) {
+                    if (this.demand.get() == 0) {
+                        break;
+                    }
+                    this.demand.decrementAndGet();
+                    this.target.onNext(this.cur.next());
+                    continue;
+                }
+                this.cur = null;
+                final boolean end = this.completed;
+                final List<ByteBuffer> list = this.next;
+                if (list != null) {
+                    this.next = null;
+                    this.requested = false;
+                    this.cur = list.iterator();
+                } else if (end) {
+                    this.done = true;
+                    final Throwable err = this.error;
+                    if (err == null) {
+                        this.target.onComplete();
+                    } else {
+                        this.target.onError(err);
+                    }
+                    break;
+                } else {
+                    if (!this.requested) {
+                        this.requested = true;
+                        this.upstream.request(1L);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.flow;
+
+import java.nio.ByteBuffer;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.IoExecutor;
+import org.cqfn.rio.WriteGreed;
+import org.cqfn.rio.file.File;
+import org.reactivestreams.FlowAdapters;
+
+/**
+ * {@link File} with {@link Flow} API.
+ * <p>
+ * Can be used to stream {@code java.net.http.HttpClient} bodies to and from
+ * files:
+ * <pre>{@code
+ * client.send(
+ *     HttpRequest.newBuilder(uri)
+ *         .POST(BodyPublishers.fromPublisher(new FlowFile(src).content())).build(),
+ *     BodyHandlers.ofPublisher()
+ * ).body() // Flow.Publisher<List<ByteBuffer>>
+ * new FlowFile(dst).writeBody(body);
+ * }</pre>
+ * </p>
+ * <p>
+ * It's not a native implementation: publishers of {@link File} are wrapped
+ * with {@link FlowAdapters}, which adds one forwarding call per signal.
+ * </p>
+ * @since 0.4
+ */
+public final class FlowFile {
+
+    /**
+     * Origin file.
+     */
+    private final File origin;
+
+    /**
+     * File with shared IO executor.
+     * @param path File path
+     */
+    public FlowFile(final Path path) {
+        this(path, IoExecutor.shared());
+    }
+
+    /**
+     * File.
+     * @param path File path
+     * @param exec IO executor
+     */
+    public FlowFile(final Path path, final ExecutorService exec) {
+        this(new File(path, exec));
+    }
+
+    /**
+     * Flow API of file.
+     * @param origin File
+     */
+    public FlowFile(final File origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * File's content.
+     * @return Content publisher
+     */
+    public Flow.Publisher<ByteBuffer> content() {
+        return FlowAdapters.toFlowPublisher(this.origin.content());
+    }
+
+    /**
+     * File's content.
+     * @param buf Buffers policy
+     * @return Content publisher
+     */
+    public Flow.Publisher<ByteBuffer> content(final Buffers buf) {
+        return FlowAdapters.toFlowPublisher(this.origin.content(buf));
+    }
+
+    /**
+     * Write data to file.
+     * @param data Data publisher
+     * @param opts Options
+     * @return Future
+     */
+    public CompletionStage<Void> write(final Flow.Publisher<ByteBuffer> data,
+        final OpenOption... opts) {
+        return this.origin.write(FlowAdapters.toPublisher(data), opts);
+    }
+
+    /**
+     * Write data to file.
+     * @param data Data publisher
+     * @param greed Greed level of consumer
+     * @param opts Options
+     * @return Future
+     */
+    public CompletionStage<Void> write(final Flow.Publisher<ByteBuffer> data,
+        final WriteGreed greed, final OpenOption... opts) {
+        return this.origin.write(FlowAdapters.toPublisher(data), greed, opts);
+    }
+
+    /**
+     * Write publisher of buffer lists to file, e.g. HTTP response body
+     * of {@code HttpResponse.BodyHandlers.ofPublisher()}.
+     * @param body Body publisher
+     * @param opts Options
+     * @return Future
+     */
+    public CompletionStage<Void> writeBody(final Flow.Publisher<List<ByteBuffer>> body,
+        final OpenOption... opts) {
+        return this.origin.write(new FlattenFlow(body), opts);
+    }
+}
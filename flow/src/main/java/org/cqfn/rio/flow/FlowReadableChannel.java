@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.flow;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.IoExecutor;
+import org.cqfn.rio.channel.ChannelSource;
+import org.cqfn.rio.channel.Digest;
+import org.cqfn.rio.channel.ReadableChannel;
+import org.reactivestreams.FlowAdapters;
+
+/**
+ * {@link ReadableChannel} with {@link Flow} API.
+ * @since 0.4
+ */
+public final class FlowReadableChannel {
+
+    /**
+     * Origin channel.
+     */
+    private final ReadableChannel origin;
+
+    /**
+     * Readable channel with shared IO executor.
+     * @param chan Source channel
+     */
+    public FlowReadableChannel(final ChannelSource<? extends ReadableByteChannel> chan) {
+        this(chan, IoExecutor.shared());
+    }
+
+    /**
+     * Readable channel.
+     * @param chan Source channel
+     * @param exec IO executor service
+     */
+    public FlowReadableChannel(final ChannelSource<? extends ReadableByteChannel> chan,
+        final ExecutorService exec) {
+        this(new ReadableChannel(chan, exec));
+    }
+
+    /**
+     * Flow API of readable channel.
+     * @param origin Readable channel
+     */
+    public FlowReadableChannel(final ReadableChannel origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * Read channel as a publisher.
+     * @param buf Buffer allocation strategy
+     * @return Publisher of byte buffers
+     */
+    public Flow.Publisher<ByteBuffer> read(final Buffers buf) {
+        return FlowAdapters.toFlowPublisher(this.origin.read(buf));
+    }
+
+    /**
+     * Read channel as a publisher, updating the digest with each read buffer.
+     * @param buf Buffer allocation strategy
+     * @param digest Digest
+     * @return Publisher of byte buffers
+     */
+    public Flow.Publisher<ByteBuffer> read(final Buffers buf, final Digest digest) {
+        return FlowAdapters.toFlowPublisher(this.origin.read(buf, digest));
+    }
+}
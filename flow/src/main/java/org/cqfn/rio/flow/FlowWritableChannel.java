@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.flow;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import org.cqfn.rio.IoExecutor;
+import org.cqfn.rio.WriteGreed;
+import org.cqfn.rio.channel.ChannelSource;
+import org.cqfn.rio.channel.WritableChannel;
+import org.reactivestreams.FlowAdapters;
+
+/**
+ * {@link WritableChannel} with {@link Flow} API.
+ * @since 0.4
+ */
+public final class FlowWritableChannel {
+
+    /**
+     * Origin channel.
+     */
+    private final WritableChannel origin;
+
+    /**
+     * Writable channel with shared IO executor.
+     * @param src Channel source
+     */
+    public FlowWritableChannel(final ChannelSource<? extends WritableByteChannel> src) {
+        this(src, IoExecutor.shared());
+    }
+
+    /**
+     * Writable channel.
+     * @param src Channel source
+     * @param exec IO executor service
+     */
+    public FlowWritableChannel(final ChannelSource<? extends WritableByteChannel> src,
+        final ExecutorService exec) {
+        this(new WritableChannel(src, exec));
+    }
+
+    /**
+     * Flow API of writable channel.
+     * @param origin Writable channel
+     */
+    public FlowWritableChannel(final WritableChannel origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * Write data to channel.
+     * @param data Data publisher
+     * @return Future
+     */
+    public CompletionStage<Void> write(final Flow.Publisher<ByteBuffer> data) {
+        return this.origin.write(FlowAdapters.toPublisher(data));
+    }
+
+    /**
+     * Write data to channel.
+     * @param data Data publisher
+     * @param greed Greed level of consumer
+     * @return Future
+     */
+    public CompletionStage<Void> write(final Flow.Publisher<ByteBuffer> data,
+        final WriteGreed greed) {
+        return this.origin.write(FlowAdapters.toPublisher(data), greed);
+    }
+
+    /**
+     * Write publisher of buffer lists to channel, e.g. HTTP response body
+     * of {@code HttpResponse.BodyHandlers.ofPublisher()}.
+     * @param body Body publisher
+     * @return Future
+     */
+    public CompletionStage<Void> writeBody(final Flow.Publisher<List<ByteBuffer>> body) {
+        return this.origin.write(new FlattenFlow(body));
+    }
+}
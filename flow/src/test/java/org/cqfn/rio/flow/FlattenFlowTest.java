@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.flow;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.FlowAdapters;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Test case for {@link FlattenFlow}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class FlattenFlowTest {
+
+    @Test
+    void emitsBuffersOnDemand() {
+        final ByteBuffer first = FlattenFlowTest.buf("1");
+        final ByteBuffer second = FlattenFlowTest.buf("2");
+        final ByteBuffer third = FlattenFlowTest.buf("3");
+        final TestSubscriber<ByteBuffer> sub = new TestSubscriber<>(0L);
+        new FlattenFlow(
+            FlowAdapters.toFlowPublisher(
+                Flowable.just(List.of(first, second), List.of(third))
+            )
+        ).subscribe(sub);
+        sub.assertNoValues();
+        sub.request(1L);
+        sub.assertValues(first);
+        sub.request(2L);
+        sub.assertValues(first, second, third).assertComplete();
+    }
+
+    @Test
+    void requestsListsOneByOne() {
+        final AtomicInteger requested = new AtomicInteger();
+        final TestSubscriber<ByteBuffer> sub = new TestSubscriber<>(1L);
+        new FlattenFlow(
+            FlowAdapters.toFlowPublisher(
+                Flowable.range(0, 10)
+                    .map(num -> List.of(FlattenFlowTest.buf(num.toString())))
+                    .doOnRequest(count -> requested.addAndGet((int) count))
+            )
+        ).subscribe(sub);
+        sub.assertValueCount(1);
+        MatcherAssert.assertThat(requested.get(), Matchers.equalTo(2));
+    }
+
+    @Test
+    void propagatesError() {
+        final IOException err = new IOException("body failed");
+        final TestSubscriber<ByteBuffer> sub = new TestSubscriber<>();
+        new FlattenFlow(
+            FlowAdapters.toFlowPublisher(
+                Flowable.<List<ByteBuffer>>just(List.of(FlattenFlowTest.buf("a")))
+                    .concatWith(Flowable.error(err))
+            )
+        ).subscribe(sub);
+        sub.assertValueCount(1).assertError(err);
+    }
+
+    @Test
+    void cancelsUpstream() {
+        final AtomicInteger cancelled = new AtomicInteger();
+        final TestSubscriber<ByteBuffer> sub = new TestSubscriber<>(1L);
+        new FlattenFlow(
+            FlowAdapters.toFlowPublisher(
+                Flowable.just(List.of(FlattenFlowTest.buf("a"), FlattenFlowTest.buf("b")))
+                    .concatWith(Flowable.never())
+                    .doOnCancel(cancelled::incrementAndGet)
+            )
+        ).subscribe(sub);
+        sub.cancel();
+        MatcherAssert.assertThat(cancelled.get(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void rejectsNonPositiveRequest() throws Exception {
+        final CompletableFuture<Throwable> err = new CompletableFuture<>();
+        new FlattenFlow(
+            FlowAdapters.toFlowPublisher(Flowable.just(List.of(FlattenFlowTest.buf("a"))))
+        ).subscribe(
+            new Subscriber<ByteBuffer>() {
+                @Override
+                public void onSubscribe(final Subscription sub) {
+                    sub.request(0L);
+                }
+
+                @Override
+                public void onNext(final ByteBuffer item) {
+                    err.completeExceptionally(new AssertionError("unexpected item"));
+                }
+
+                @Override
+                public void onError(final Throwable thr) {
+                    err.complete(thr);
+                }
+
+                @Override
+                public void onComplete() {
+                    err.completeExceptionally(new AssertionError("unexpected completion"));
+                }
+            }
+        );
+        MatcherAssert.assertThat(
+            err.get(), Matchers.instanceOf(IllegalArgumentException.class)
+        );
+    }
+
+    /**
+     * Buffer of string.
+     * @param str String
+     * @return Byte buffer
+     */
+    private static ByteBuffer buf(final String str) {
+        return ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.flow;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.cqfn.rio.Buffers;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reactivestreams.FlowAdapters;
+
+/**
+ * Test case for {@link FlowFile}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class FlowFileTest {
+
+    @Test
+    void readsContent(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("content");
+        final byte[] data = new byte[64 * 1024 + 7];
+        new Random(data.length).nextBytes(data);
+        Files.write(file, data);
+        MatcherAssert.assertThat(
+            FlowFileTest.bytes(
+                Flowable.fromPublisher(
+                    FlowAdapters.toPublisher(new FlowFile(file).content(Buffers.Standard.K4))
+                ).toList().blockingGet()
+            ),
+            Matchers.equalTo(data)
+        );
+    }
+
+    @Test
+    void writesFlowPublisher(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("written");
+        new FlowFile(file).write(
+            FlowAdapters.toFlowPublisher(
+                Flowable.just("one ", "two ", "three").map(FlowFileTest::buf)
+            )
+        ).toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+            Matchers.equalTo("one two three")
+        );
+    }
+
+    @Test
+    void writesBodyOfBufferLists(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("body");
+        new FlowFile(file).writeBody(
+            FlowAdapters.toFlowPublisher(
+                Flowable.just(
+                    Arrays.asList(FlowFileTest.buf("hello"), FlowFileTest.buf(", ")),
+                    List.<ByteBuffer>of(),
+                    List.of(FlowFileTest.buf("world"))
+                )
+            )
+        ).toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+            Matchers.equalTo("hello, world")
+        );
+    }
+
+    @Test
+    void copiesFile(@TempDir final Path tmp) throws Exception {
+        final Path src = tmp.resolve("src");
+        final Path dst = tmp.resolve("dst");
+        final byte[] data = new byte[1024 * 1024];
+        new Random(data.length).nextBytes(data);
+        Files.write(src, data);
+        new FlowFile(dst).write(new FlowFile(src).content()).toCompletableFuture().get();
+        MatcherAssert.assertThat(Files.readAllBytes(dst), Matchers.equalTo(data));
+    }
+
+    /**
+     * Buffer of string.
+     * @param str String
+     * @return Byte buffer
+     */
+    private static ByteBuffer buf(final String str) {
+        return ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Bytes of buffers.
+     * @param bufs Buffers
+     * @return Byte array
+     */
+    private static byte[] bytes(final List<ByteBuffer> bufs) {
+        final ByteBuffer res = ByteBuffer.allocate(
+            bufs.stream().mapToInt(ByteBuffer::remaining).sum()
+        );
+        bufs.forEach(res::put);
+        return res.array();
+    }
+}
@@ -24,6 +24,10 @@
  */
 package org.cqfn.rio;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 
 /**
@@ -89,4 +93,87 @@ public interface Buffers {
             return ByteBuffer.allocateDirect(this.size);
         }
     }
+
+    /**
+     * Direct byte buffers aligned in memory, e.g. for direct IO.
+     * <p>
+     * Buffer address is a multiple of alignment value and buffer
+     * size should be a multiple of alignment too. It depends
+     * on {@code ByteBuffer.alignedSlice} method, so it's available only
+     * on Java 9 and later.
+     * </p>
+     * @since 0.4
+     */
+    final class Aligned implements Buffers {
+
+        /**
+         * Aligned slice method handle or null if not supported.
+         */
+        private static final MethodHandle SLICE = Aligned.slice();
+
+        /**
+         * Buffer size.
+         */
+        private final int size;
+
+        /**
+         * Alignment.
+         */
+        private final int alignment;
+
+        /**
+         * New aligned buffers.
+         * @param size Buffer size, multiple of alignment
+         * @param alignment Alignment, power of two
+         */
+        public Aligned(final int size, final int alignment) {
+            if (alignment <= 0 || Integer.bitCount(alignment) != 1) {
+                throw new IllegalArgumentException("Alignment should be a power of two");
+            }
+            if (size <= 0 || size % alignment != 0) {
+                throw new IllegalArgumentException(
+                    "Buffer size should be a positive multiple of alignment"
+                );
+            }
+            this.size = size;
+            this.alignment = alignment;
+        }
+
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")
+        public ByteBuffer create() {
+            if (Aligned.SLICE == null) {
+                throw new UnsupportedOperationException("Aligned buffers require Java 9+");
+            }
+            final ByteBuffer buf;
+            try {
+                buf = (ByteBuffer) Aligned.SLICE.invokeExact(
+                    ByteBuffer.allocateDirect(this.size + this.alignment - 1), this.alignment
+                );
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Throwable err) {
+                throw new IllegalStateException("Failed to align buffer", err);
+            }
+            ((Buffer) buf).limit(this.size);
+            return buf;
+        }
+
+        /**
+         * Find aligned slice method.
+         * @return Method handle or null if not supported
+         */
+        @SuppressWarnings("PMD.ReturnEmptyCollectionRatherThanNull")
+        private static MethodHandle slice() {
+            MethodHandle res;
+            try {
+                res = MethodHandles.publicLookup().findVirtual(
+                    ByteBuffer.class, "alignedSlice",
+                    MethodType.methodType(ByteBuffer.class, int.class)
+                );
+            } catch (final NoSuchMethodException | IllegalAccessException err) {
+                res = null;
+            }
+            return res;
+        }
+    }
 }
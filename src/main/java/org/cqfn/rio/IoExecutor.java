@@ -30,6 +30,7 @@ import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -44,6 +45,11 @@ public final class IoExecutor extends AbstractExecutorService {
      */
     private static volatile ExecutorService shr;
 
+    /**
+     * Blocking shared instance cache.
+     */
+    private static volatile ExecutorService blk;
+
     /**
      * Origin service.
      */
@@ -79,7 +85,11 @@ public final class IoExecutor extends AbstractExecutorService {
 
     @Override
     public void execute(final Runnable arg) {
-        this.origin.execute(arg);
+        if (Metrics.SYSTEM.enabled()) {
+            this.origin.execute(new MeasuredTask(arg, this.depth()));
+        } else {
+            this.origin.execute(arg);
+        }
     }
 
     @Override
@@ -124,6 +134,87 @@ public final class IoExecutor extends AbstractExecutorService {
         return IoExecutor.shr;
     }
 
+    /**
+     * Shared executor service for IO which may block until a peer is ready,
+     * e.g. pipes, sockets and process streams. Fixed size {@link #shared()}
+     * executor may deadlock when all its threads are blocked on writes
+     * and the peer waits for reads, so this executor is a cached pool
+     * of daemon threads, which are released after one minute of idle.
+     * @return Shared instance
+     */
+    @SuppressWarnings({"PMD.ProhibitPublicStaticMethods", "PMD.DoubleCheckedLocking"})
+    public static ExecutorService blocking() {
+        if (IoExecutor.blk == null) {
+            synchronized (IoExecutor.class) {
+                if (IoExecutor.blk == null) {
+                    IoExecutor.blk = new IoExecutor(
+                        Executors.newCachedThreadPool(new Factory("rio-blocking", true))
+                    );
+                }
+            }
+        }
+        return IoExecutor.blk;
+    }
+
+    /**
+     * Amount of queued tasks of origin executor.
+     * @return Queue size or -1 if unknown
+     */
+    private int depth() {
+        final int res;
+        if (this.origin instanceof ThreadPoolExecutor) {
+            res = ((ThreadPoolExecutor) this.origin).getQueue().size();
+        } else {
+            res = -1;
+        }
+        return res;
+    }
+
+    /**
+     * Task which reports queue and run time to metrics.
+     * @since 0.4
+     */
+    private static final class MeasuredTask implements Runnable {
+
+        /**
+         * Origin task.
+         */
+        private final Runnable origin;
+
+        /**
+         * Queue depth on submit.
+         */
+        private final int depth;
+
+        /**
+         * Submit time.
+         */
+        private final long submitted;
+
+        /**
+         * New measured task.
+         * @param origin Origin task
+         * @param depth Queue depth on submit
+         */
+        MeasuredTask(final Runnable origin, final int depth) {
+            this.origin = origin;
+            this.depth = depth;
+            this.submitted = System.nanoTime();
+        }
+
+        @Override
+        public void run() {
+            final long start = System.nanoTime();
+            try {
+                this.origin.run();
+            } finally {
+                Metrics.SYSTEM.task(
+                    this.depth, start - this.submitted, System.nanoTime() - start
+                );
+            }
+        }
+    }
+
     /**
      * Factory for IO threads.
      * @since 0.3
@@ -135,6 +226,11 @@ public final class IoExecutor extends AbstractExecutorService {
          */
         private final String prefix;
 
+        /**
+         * Daemon threads flag.
+         */
+        private final boolean daemon;
+
         /**
          * Thread name counter.
          */
@@ -145,7 +241,17 @@ public final class IoExecutor extends AbstractExecutorService {
          * @param prefix Name prefix
          */
         Factory(final String prefix) {
+            this(prefix, false);
+        }
+
+        /**
+         * New factory for thread with prefix names.
+         * @param prefix Name prefix
+         * @param daemon Create daemon threads
+         */
+        Factory(final String prefix, final boolean daemon) {
             this.prefix = prefix;
+            this.daemon = daemon;
             this.cnt = new AtomicInteger();
         }
 
@@ -153,6 +259,7 @@ public final class IoExecutor extends AbstractExecutorService {
         public Thread newThread(final Runnable run) {
             final Thread thr = new Thread(run);
             thr.setName(String.format("%s-%d", this.prefix, this.cnt.getAndIncrement()));
+            thr.setDaemon(this.daemon);
             return thr;
         }
     }
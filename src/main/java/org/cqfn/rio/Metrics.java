@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio;
+
+/**
+ * Metrics of IO operations.
+ * <p>
+ * Lightweight metrics SPI without dependencies: all methods are no-op by default,
+ * implementation could override some of them to collect counters and latency
+ * histograms, e.g. with Micrometer or HdrHistogram, and register itself as
+ * {@code META-INF/services/org.cqfn.rio.Metrics} service provider. The first
+ * provider found by {@link java.util.ServiceLoader} is used as {@link #SYSTEM}
+ * metrics, otherwise {@link #NOOP} metrics are used. Implementations are called
+ * from IO threads, so they should be thread-safe and non-blocking.
+ * </p>
+ * <p>
+ * No-op metrics are disabled: instrumented code checks {@link #enabled()}
+ * before measuring time, so default metrics cost nothing on hot path.
+ * </p>
+ * @since 0.4
+ */
+public interface Metrics {
+
+    /**
+     * No-op disabled metrics.
+     */
+    Metrics NOOP = new Metrics() {
+        @Override
+        public boolean enabled() {
+            return false;
+        }
+    };
+
+    /**
+     * Metrics of service provider, or no-op metrics if not provided.
+     */
+    Metrics SYSTEM = MetricsProvider.load();
+
+    /**
+     * Metrics are enabled. If disabled, instrumented code doesn't measure time
+     * and may skip calls of other methods.
+     * @return True if enabled
+     */
+    default boolean enabled() {
+        return true;
+    }
+
+    /**
+     * Channel read or write call, one per system call.
+     * @param op Operation
+     * @param bytes Amount of bytes transferred, zero on end of stream
+     * @param nanos Duration of the call in nanoseconds
+     */
+    default void io(final Op op, final long bytes, final long nanos) {
+        // nothing
+    }
+
+    /**
+     * Channel read or write call failed.
+     * @param op Operation
+     * @param err Error
+     */
+    default void failure(final Op op, final Throwable err) {
+        // nothing
+    }
+
+    /**
+     * Depth of channel task queue, reported when the queue accepts a request:
+     * read requests of subscriber demand, or buffers to write.
+     * @param op Operation of queue
+     * @param depth Amount of pending requests
+     */
+    default void queue(final Op op, final int depth) {
+        // nothing
+    }
+
+    /**
+     * Amount of buffers requested from publisher by write greed,
+     * one call per request.
+     * @param amount Requested amount
+     */
+    default void greed(final long amount) {
+        // nothing
+    }
+
+    /**
+     * Task of {@link IoExecutor} finished.
+     * @param depth Amount of queued tasks when the task was submitted,
+     *  negative if unknown
+     * @param wait Time in queue in nanoseconds
+     * @param run Run time in nanoseconds
+     */
+    default void task(final int depth, final long wait, final long run) {
+        // nothing
+    }
+
+    /**
+     * IO operation.
+     * @since 0.4
+     */
+    enum Op {
+        /**
+         * Channel read.
+         */
+        READ,
+
+        /**
+         * Channel write.
+         */
+        WRITE
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio;
+
+import com.jcabi.log.Logger;
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Loader of {@link Metrics} service provider.
+ * @since 0.4
+ */
+final class MetricsProvider {
+
+    /**
+     * Ctor.
+     */
+    private MetricsProvider() {
+    }
+
+    /**
+     * Load first metrics provider.
+     * @return Metrics of provider or no-op metrics
+     */
+    static Metrics load() {
+        Metrics res = Metrics.NOOP;
+        try {
+            final Iterator<Metrics> providers = ServiceLoader.load(Metrics.class).iterator();
+            if (providers.hasNext()) {
+                res = providers.next();
+            }
+        } catch (final ServiceConfigurationError err) {
+            Logger.warn(
+                MetricsProvider.class, "Failed to load metrics provider: %[exception]s", err
+            );
+        }
+        return res;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.channel;
+
+import java.io.IOException;
+import java.nio.channels.Channel;
+
+/**
+ * Channel which could be closed without finishing the output.
+ * <p>
+ * {@link WritableChannel} closes the channel when the publisher completes,
+ * so the channel could finish the output on close, e.g. flush buffered data,
+ * sync the file or send end of stream to the peer. If the publisher fails,
+ * write fails or the write is cancelled, it calls {@link #abort()} instead,
+ * which releases the channel without making partial data look complete.
+ * </p>
+ * @since 0.4
+ */
+public interface AbortableChannel extends Channel {
+
+    /**
+     * Close the channel after failed or cancelled write.
+     * @throws IOException On close error
+     */
+    void abort() throws IOException;
+}
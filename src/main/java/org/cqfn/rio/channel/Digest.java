@@ -0,0 +1,272 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.channel;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+
+/**
+ * Digest of channel data.
+ * <p>
+ * It's updated on IO thread right after each read or write operation with
+ * the bytes transferred by the operation, see
+ * {@link ReadableChannel#read(org.cqfn.rio.Buffers, Digest)} and
+ * {@link WritableChannel#write(org.reactivestreams.Publisher, org.cqfn.rio.WriteGreed, Digest)}.
+ * The digest is stateful, so new instance should be used for each read or write.
+ * </p>
+ * @since 0.4
+ */
+public interface Digest {
+
+    /**
+     * Update digest with remaining bytes of the buffer, it moves buffer
+     * position to the limit.
+     * @param data Data buffer
+     */
+    void update(ByteBuffer data);
+
+    /**
+     * Digest value of all data.
+     * @return Digest bytes
+     */
+    byte[] value();
+
+    /**
+     * Digest backed by {@link MessageDigest}, e.g. SHA-256.
+     * @since 0.4
+     */
+    final class Message implements Digest {
+
+        /**
+         * Message digest.
+         */
+        private final MessageDigest origin;
+
+        /**
+         * Computed value.
+         */
+        private byte[] result;
+
+        /**
+         * New message digest by algorithm name.
+         * @param algorithm Algorithm name, e.g. {@code SHA-256}
+         */
+        public Message(final String algorithm) {
+            this(Message.digest(algorithm));
+        }
+
+        /**
+         * New message digest.
+         * @param origin Message digest
+         */
+        public Message(final MessageDigest origin) {
+            this.origin = origin;
+        }
+
+        @Override
+        public void update(final ByteBuffer data) {
+            this.origin.update(data);
+        }
+
+        @Override
+        public byte[] value() {
+            if (this.result == null) {
+                this.result = this.origin.digest();
+            }
+            return this.result.clone();
+        }
+
+        /**
+         * Message digest instance.
+         * @param algorithm Algorithm name
+         * @return Message digest
+         */
+        private static MessageDigest digest(final String algorithm) {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (final NoSuchAlgorithmException err) {
+                throw new IllegalArgumentException(
+                    String.format("Unsupported digest algorithm: %s", algorithm), err
+                );
+            }
+        }
+    }
+
+    /**
+     * Digest backed by 32-bit {@link java.util.zip.Checksum}, e.g. CRC32,
+     * its value is 4 bytes of checksum in big-endian order.
+     * @since 0.4
+     */
+    final class Checksum implements Digest {
+
+        /**
+         * Checksum update by buffer method handle or null if not supported (Java 8).
+         */
+        private static final MethodHandle UPDATE = Checksum.handle();
+
+        /**
+         * Copy chunk size for checksums without buffer support.
+         */
+        private static final int CHUNK = 4096;
+
+        /**
+         * Checksum.
+         */
+        private final java.util.zip.Checksum origin;
+
+        /**
+         * New checksum digest.
+         * @param origin Checksum
+         */
+        public Checksum(final java.util.zip.Checksum origin) {
+            this.origin = origin;
+        }
+
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")
+        public void update(final ByteBuffer data) {
+            if (this.origin instanceof CRC32) {
+                ((CRC32) this.origin).update(data);
+            } else if (this.origin instanceof Adler32) {
+                ((Adler32) this.origin).update(data);
+            } else if (Checksum.UPDATE == null) {
+                final byte[] chunk = new byte[Math.min(data.remaining(), Checksum.CHUNK)];
+                while (data.hasRemaining()) {
+                    final int len = Math.min(data.remaining(), chunk.length);
+                    data.get(chunk, 0, len);
+                    this.origin.update(chunk, 0, len);
+                }
+            } else {
+                try {
+                    Checksum.UPDATE.invoke(this.origin, data);
+                    // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final Throwable err) {
+                    throw new IllegalStateException("Failed to update checksum", err);
+                }
+            }
+        }
+
+        @Override
+        public byte[] value() {
+            final int sum = (int) this.origin.getValue();
+            return new byte[]{
+                (byte) (sum >>> 24), (byte) (sum >>> 16), (byte) (sum >>> 8), (byte) sum,
+            };
+        }
+
+        /**
+         * Find checksum update by buffer method, it's available since Java 9.
+         * @return Method handle or null
+         */
+        private static MethodHandle handle() {
+            MethodHandle res;
+            try {
+                res = MethodHandles.publicLookup().findVirtual(
+                    java.util.zip.Checksum.class, "update",
+                    MethodType.methodType(void.class, ByteBuffer.class)
+                );
+            } catch (final NoSuchMethodException | IllegalAccessException err) {
+                res = null;
+            }
+            return res;
+        }
+    }
+
+    /**
+     * CRC32C checksum digest, its value is 4 bytes of checksum in big-endian order.
+     * It's available only on Java 9 and later.
+     * @since 0.4
+     */
+    final class Crc32c implements Digest {
+
+        /**
+         * CRC32C constructor handle or null if not supported (Java 8).
+         */
+        private static final MethodHandle CTOR = Crc32c.ctor();
+
+        /**
+         * Checksum digest.
+         */
+        private final Checksum origin;
+
+        /**
+         * New CRC32C digest.
+         */
+        public Crc32c() {
+            this.origin = new Checksum(Crc32c.checksum());
+        }
+
+        @Override
+        public void update(final ByteBuffer data) {
+            this.origin.update(data);
+        }
+
+        @Override
+        public byte[] value() {
+            return this.origin.value();
+        }
+
+        /**
+         * New CRC32C checksum.
+         * @return Checksum
+         */
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")
+        private static java.util.zip.Checksum checksum() {
+            if (Crc32c.CTOR == null) {
+                throw new UnsupportedOperationException("CRC32C requires Java 9 or later");
+            }
+            try {
+                return (java.util.zip.Checksum) Crc32c.CTOR.invoke();
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Throwable err) {
+                throw new IllegalStateException("Failed to create CRC32C", err);
+            }
+        }
+
+        /**
+         * Find CRC32C constructor.
+         * @return Method handle or null
+         */
+        private static MethodHandle ctor() {
+            MethodHandle res;
+            try {
+                res = MethodHandles.publicLookup().findConstructor(
+                    Class.forName("java.util.zip.CRC32C"),
+                    MethodType.methodType(void.class)
+                );
+            } catch (final ClassNotFoundException | NoSuchMethodException
+                | IllegalAccessException err) {
+                res = null;
+            }
+            return res;
+        }
+    }
+}
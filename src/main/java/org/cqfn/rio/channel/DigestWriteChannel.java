@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.channel;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writable channel which updates digest with written bytes.
+ * @since 0.4
+ */
+final class DigestWriteChannel implements WritableByteChannel, AbortableChannel {
+
+    /**
+     * Origin channel.
+     */
+    private final WritableByteChannel origin;
+
+    /**
+     * Digest.
+     */
+    private final Digest digest;
+
+    /**
+     * New digest channel.
+     * @param origin Origin channel
+     * @param digest Digest
+     */
+    DigestWriteChannel(final WritableByteChannel origin, final Digest digest) {
+        this.origin = origin;
+        this.digest = digest;
+    }
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        final ByteBuffer data = src.duplicate();
+        final int written = this.origin.write(src);
+        if (written > 0) {
+            ((Buffer) data).limit(data.position() + written);
+            this.digest.update(data);
+        }
+        return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return this.origin.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.origin.close();
+    }
+
+    @Override
+    public void abort() throws IOException {
+        WriteRequest.abort(this.origin);
+    }
+}
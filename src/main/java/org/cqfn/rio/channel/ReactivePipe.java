@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.channel;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.IoExecutor;
+import org.cqfn.rio.WriteGreed;
+import org.reactivestreams.Publisher;
+
+/**
+ * Reactive {@link Pipe}: data written to the sink is published by the source.
+ * <p>
+ * Source and sink channels are blocking, the writer is blocked when the pipe
+ * buffer is full until the reader drains it, so both sides should not share
+ * a fixed size executor; by default {@link IoExecutor#blocking()} is used.
+ * The sink is closed when written publisher completes, then the source publisher
+ * completes after all data was read.
+ * </p>
+ * <p>
+ * Pipe has no way to signal an error to the reader, so if written publisher
+ * fails, the sink is closed too, and the source completes normally with
+ * partial data. The writer should pass the failure to the reader by other
+ * means, e.g. fail the reader when write future completes exceptionally.
+ * </p>
+ * @since 0.4
+ */
+public final class ReactivePipe {
+
+    /**
+     * Pipe.
+     */
+    private final Pipe pipe;
+
+    /**
+     * Executor for blocking reads and writes.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Reactive pipe with shared blocking executor.
+     * @param pipe Pipe
+     */
+    public ReactivePipe(final Pipe pipe) {
+        this(pipe, IoExecutor.blocking());
+    }
+
+    /**
+     * Reactive pipe.
+     * @param pipe Pipe
+     * @param exec Executor for blocking reads and writes
+     */
+    public ReactivePipe(final Pipe pipe, final ExecutorService exec) {
+        this.pipe = pipe;
+        this.exec = exec;
+    }
+
+    /**
+     * Read source channel of the pipe.
+     * @param buf Buffers allocation strategy
+     * @return Publisher of byte buffers
+     */
+    public Publisher<ByteBuffer> read(final Buffers buf) {
+        return new ReadableChannel(this.pipe::source, this.exec).read(buf);
+    }
+
+    /**
+     * Write data to sink channel of the pipe and close it on complete.
+     * @param data Publisher of data
+     * @return Future completed when data was written
+     */
+    public CompletionStage<Void> write(final Publisher<ByteBuffer> data) {
+        return this.write(data, WriteGreed.SYSTEM);
+    }
+
+    /**
+     * Write data to sink channel of the pipe and close it on complete.
+     * @param data Publisher of data
+     * @param greed Write greed
+     * @return Future completed when data was written
+     */
+    public CompletionStage<Void> write(final Publisher<ByteBuffer> data,
+        final WriteGreed greed) {
+        return new WritableChannel(this.pipe::sink, this.exec).write(data, greed);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.channel;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.IoExecutor;
+import org.cqfn.rio.WriteGreed;
+import org.reactivestreams.Publisher;
+
+/**
+ * Reactive connected {@link SocketChannel}, e.g. TCP or {@link UnixSocket}
+ * connection, which can be read and written concurrently.
+ * <p>
+ * Read and write halves are closed independently: the input is shut down
+ * when read publisher terminates, the output is shut down when written publisher
+ * completes (so the peer reads end of stream), and the socket is closed when
+ * both halves are closed. If written publisher fails, the whole socket is
+ * closed immediately, TCP connection is reset, so the peer gets an error
+ * instead of end of stream. Socket IO is blocking, so by default
+ * {@link IoExecutor#blocking()} is used to avoid deadlocks of fixed size pool.
+ * </p>
+ * @since 0.4
+ */
+public final class ReactiveSocket {
+
+    /**
+     * Input half.
+     */
+    private final SocketHalf input;
+
+    /**
+     * Output half.
+     */
+    private final SocketHalf output;
+
+    /**
+     * Executor for blocking reads and writes.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Reactive socket with shared blocking executor.
+     * @param chan Connected blocking socket channel
+     */
+    public ReactiveSocket(final SocketChannel chan) {
+        this(chan, IoExecutor.blocking());
+    }
+
+    /**
+     * Reactive socket.
+     * @param chan Connected blocking socket channel
+     * @param exec Executor for blocking reads and writes
+     */
+    public ReactiveSocket(final SocketChannel chan, final ExecutorService exec) {
+        final AtomicInteger open = new AtomicInteger(2);
+        this.input = new SocketHalf(chan, true, open);
+        this.output = new SocketHalf(chan, false, open);
+        this.exec = exec;
+    }
+
+    /**
+     * Read socket input. Should be subscribed only once.
+     * @param buf Buffers allocation strategy
+     * @return Publisher of byte buffers
+     */
+    public Publisher<ByteBuffer> read(final Buffers buf) {
+        return new ReadableChannel(() -> this.input, this.exec).read(buf);
+    }
+
+    /**
+     * Write data to socket and shutdown output on complete.
+     * @param data Publisher of data
+     * @return Future completed when data was written
+     */
+    public CompletionStage<Void> write(final Publisher<ByteBuffer> data) {
+        return this.write(data, WriteGreed.SYSTEM);
+    }
+
+    /**
+     * Write data to socket and shutdown output on complete.
+     * @param data Publisher of data
+     * @param greed Write greed
+     * @return Future completed when data was written
+     */
+    public CompletionStage<Void> write(final Publisher<ByteBuffer> data,
+        final WriteGreed greed) {
+        return new WritableChannel(() -> this.output, this.exec).write(data, greed);
+    }
+}
@@ -30,6 +30,7 @@ import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 import org.cqfn.rio.Buffers;
+import org.cqfn.rio.Metrics;
 
 /**
  * Read request.
@@ -59,6 +60,26 @@ abstract class ReadRequest {
      */
     abstract void process(ReadableByteChannel channel);
 
+    /**
+     * Read channel into buffer, measuring the call if metrics are enabled.
+     * @param channel Channel
+     * @param buf Buffer
+     * @return Amount of bytes read or -1 on end of stream
+     * @throws IOException On read error
+     */
+    private static int read(final ReadableByteChannel channel, final ByteBuffer buf)
+        throws IOException {
+        final int read;
+        if (Metrics.SYSTEM.enabled()) {
+            final long start = System.nanoTime();
+            read = channel.read(buf);
+            Metrics.SYSTEM.io(Metrics.Op.READ, Math.max(read, 0), System.nanoTime() - start);
+        } else {
+            read = channel.read(buf);
+        }
+        return read;
+    }
+
     /**
      * Next request.
      * @since 0.1
@@ -99,8 +120,11 @@ abstract class ReadRequest {
                 final ByteBuffer buf = this.buffers.create();
                 final int read;
                 try {
-                    read = channel.read(buf);
+                    read = ReadRequest.read(channel, buf);
                 } catch (final IOException iex) {
+                    if (Metrics.SYSTEM.enabled()) {
+                        Metrics.SYSTEM.failure(Metrics.Op.READ, iex);
+                    }
                     try {
                         channel.close();
                     } catch (final IOException cex) {
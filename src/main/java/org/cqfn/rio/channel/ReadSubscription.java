@@ -26,6 +26,7 @@ package org.cqfn.rio.channel;
 
 import java.nio.ByteBuffer;
 import org.cqfn.rio.Buffers;
+import org.cqfn.rio.reactive.Subscriptions;
 import org.reactivestreams.Subscription;
 
 /**
@@ -69,9 +70,7 @@ final class ReadSubscription implements Subscription {
         }
         if (count <= 0) {
             this.queue.clear();
-            this.sub.onError(
-                new IllegalArgumentException(String.format("Requested %d items", count))
-            );
+            this.sub.onError(Subscriptions.violation(count));
         } else {
             this.queue.accept(new ReadRequest.Next(this.sub, this.buffers, count));
         }
@@ -81,5 +80,6 @@ final class ReadSubscription implements Subscription {
     public void cancel() {
         this.sub.cancel();
         this.queue.clear();
+        this.queue.close();
     }
 }
@@ -31,6 +31,7 @@ import java.nio.channels.ReadableByteChannel;
 import java.util.Queue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import org.cqfn.rio.Metrics;
 import org.jctools.queues.SpscUnboundedArrayQueue;
 
 /**
@@ -87,7 +88,8 @@ final class ReadTaskQueue implements Runnable {
             ReadRequest next = this.queue.poll();
             if (next == null) {
                 this.running.set(false);
-                if (!this.queue.isEmpty() && this.running.compareAndSet(false, true)) {
+                if ((!this.queue.isEmpty() || this.sub.done())
+                    && this.running.compareAndSet(false, true)) {
                     if (this.sub.done()) {
                         break;
                     }
@@ -119,6 +121,9 @@ final class ReadTaskQueue implements Runnable {
             return;
         }
         this.queue.add(request);
+        if (Metrics.SYSTEM.enabled()) {
+            Metrics.SYSTEM.queue(Metrics.Op.READ, this.queue.size());
+        }
         if (this.running.compareAndSet(false, true)) {
             this.exec.execute(
                 new ErrorOnException(
@@ -135,4 +140,19 @@ final class ReadTaskQueue implements Runnable {
     public void clear() {
         this.queue.clear();
     }
+
+    /**
+     * Close the channel on IO thread after the subscriber is done,
+     * if the queue is idle.
+     */
+    public void close() {
+        if (this.running.compareAndSet(false, true)) {
+            this.exec.execute(
+                new ErrorOnException(
+                    new CloseChanOnError(this, this.channel),
+                    this.sub
+                )
+            );
+        }
+    }
 }
@@ -75,5 +75,18 @@ public final class ReadableChannel {
     public Publisher<ByteBuffer> read(final Buffers buf) {
         return new ReadableChannelPublisher(this.chan, buf, this.exec);
     }
+
+    /**
+     * Read channel reactively as a publisher, updating the digest on IO thread
+     * with each read buffer. The digest value is ready when the publisher completes.
+     * @param buf Buffer allocation strategy
+     * @param digest Digest
+     * @return Publisher of byte buffers
+     */
+    public Publisher<ByteBuffer> read(final Buffers buf, final Digest digest) {
+        return new ReadableChannelPublisher(
+            () -> new DigestReadChannel(this.chan.channel(), digest), buf, this.exec
+        );
+    }
 }
 
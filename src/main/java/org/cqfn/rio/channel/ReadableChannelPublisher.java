@@ -30,9 +30,9 @@ import java.nio.channels.ReadableByteChannel;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import org.cqfn.rio.Buffers;
+import org.cqfn.rio.reactive.Subscriptions;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
-import org.reactivestreams.Subscription;
 
 /**
  * File read flow publisher.
@@ -41,21 +41,6 @@ import org.reactivestreams.Subscription;
  */
 final class ReadableChannelPublisher implements Publisher<ByteBuffer> {
 
-    /**
-     * Dummy subscription which does nothing.
-     */
-    private static final Subscription DUMMY = new Subscription() {
-        @Override
-        public void request(final long count) {
-            // nothing
-        }
-
-        @Override
-        public void cancel() {
-            // nothing
-        }
-    };
-
     /**
      * Channel source.
      */
@@ -102,7 +87,7 @@ final class ReadableChannelPublisher implements Publisher<ByteBuffer> {
         try {
             chan = this.src.channel();
         } catch (final IOException err) {
-            subscriber.onSubscribe(ReadableChannelPublisher.DUMMY);
+            subscriber.onSubscribe(Subscriptions.DUMMY);
             subscriber.onError(err);
             return;
         }
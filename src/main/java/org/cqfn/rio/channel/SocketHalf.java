@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.channel;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One direction of socket channel, which shuts down its direction on close
+ * and closes the socket when all halves are closed.
+ * <p>
+ * Aborted half closes the whole socket without linger, so TCP peer gets
+ * connection reset error instead of normal end of stream.
+ * </p>
+ * @since 0.4
+ */
+final class SocketHalf implements ByteChannel, AbortableChannel {
+
+    /**
+     * Socket channel.
+     */
+    private final SocketChannel chan;
+
+    /**
+     * Input half if true, output otherwise.
+     */
+    private final boolean input;
+
+    /**
+     * Open halves counter shared with other half.
+     */
+    private final AtomicInteger open;
+
+    /**
+     * Closed flag of this half.
+     */
+    private final AtomicBoolean closed;
+
+    /**
+     * New socket half.
+     * @param chan Socket channel
+     * @param input Input half if true, output otherwise
+     * @param open Open halves counter shared with other half
+     */
+    SocketHalf(final SocketChannel chan, final boolean input, final AtomicInteger open) {
+        this.chan = chan;
+        this.input = input;
+        this.open = open;
+        this.closed = new AtomicBoolean();
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        return this.chan.read(dst);
+    }
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        return this.chan.write(src);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !this.closed.get() && this.chan.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed.compareAndSet(false, true)) {
+            try {
+                if (this.chan.isOpen()) {
+                    if (this.input) {
+                        this.chan.shutdownInput();
+                    } else {
+                        this.chan.shutdownOutput();
+                    }
+                }
+            } finally {
+                if (this.open.decrementAndGet() == 0) {
+                    this.chan.close();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void abort() throws IOException {
+        if (this.closed.compareAndSet(false, true)) {
+            this.open.decrementAndGet();
+            try {
+                if (this.chan.isOpen()
+                    && this.chan.supportedOptions().contains(StandardSocketOptions.SO_LINGER)) {
+                    this.chan.setOption(StandardSocketOptions.SO_LINGER, 0);
+                }
+            } finally {
+                this.chan.close();
+            }
+        }
+    }
+}
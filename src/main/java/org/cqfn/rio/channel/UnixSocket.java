@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.channel;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * Unix domain socket channels source.
+ * <p>
+ * Unix domain sockets are supported by NIO channels since Java 16, this
+ * class resolves the API at runtime, so it can be used from Java 8 builds;
+ * on older runtimes channels fail with {@link IOException}. Connected
+ * channels can be read with {@link ReadableChannel}, written with
+ * {@link WritableChannel} or both with {@link ReactiveSocket}:
+ * <pre>{@code
+ * ReactiveSocket sock = new ReactiveSocket(new UnixSocket(path).channel());
+ * sock.write(request);
+ * Publisher<ByteBuffer> response = sock.read(Buffers.Standard.K8);
+ * }</pre>
+ * </p>
+ * @since 0.4
+ */
+public final class UnixSocket implements ChannelSource<SocketChannel> {
+
+    /**
+     * Unix domain socket address factory method, null if not supported.
+     */
+    private static final MethodHandle ADDRESS = UnixSocket.address();
+
+    /**
+     * Server socket channel factory method for protocol family, null if not supported.
+     */
+    private static final MethodHandle SERVER = UnixSocket.server();
+
+    /**
+     * Socket file path.
+     */
+    private final Path path;
+
+    /**
+     * Unix socket at path.
+     * @param path Socket file path
+     */
+    public UnixSocket(final Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Connect to socket.
+     * @return Connected blocking channel
+     * @throws IOException On connection error or if not supported
+     */
+    @Override
+    public SocketChannel channel() throws IOException {
+        return SocketChannel.open(this.addr());
+    }
+
+    /**
+     * Bind server channel to socket path, the file should not exist.
+     * @return Server socket channel
+     * @throws IOException On bind error or if not supported
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    public ServerSocketChannel bind() throws IOException {
+        final SocketAddress addr = this.addr();
+        final ServerSocketChannel srv;
+        try {
+            srv = (ServerSocketChannel) UnixSocket.SERVER.invoke(
+                (ProtocolFamily) StandardProtocolFamily.valueOf("UNIX")
+            );
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Throwable err) {
+            throw new IOException("Failed to open unix server socket", err);
+        }
+        try {
+            srv.bind(addr);
+        } catch (final IOException err) {
+            srv.close();
+            throw err;
+        }
+        return srv;
+    }
+
+    /**
+     * Socket address.
+     * @return Unix domain socket address
+     * @throws IOException If not supported
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private SocketAddress addr() throws IOException {
+        if (UnixSocket.ADDRESS == null || UnixSocket.SERVER == null) {
+            throw new IOException("Unix domain socket channels require Java 16 or newer");
+        }
+        try {
+            return (SocketAddress) UnixSocket.ADDRESS.invoke(this.path);
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Throwable err) {
+            throw new IOException(String.format("Invalid socket path %s", this.path), err);
+        }
+    }
+
+    /**
+     * Find unix domain socket address factory.
+     * @return Method handle or null if not supported
+     */
+    private static MethodHandle address() {
+        MethodHandle res;
+        try {
+            final Class<?> cls = Class.forName("java.net.UnixDomainSocketAddress");
+            res = MethodHandles.publicLookup().findStatic(
+                cls, "of", MethodType.methodType(cls, Path.class)
+            );
+        } catch (final ClassNotFoundException | NoSuchMethodException
+            | IllegalAccessException err) {
+            res = null;
+        }
+        return res;
+    }
+
+    /**
+     * Find server socket channel factory for protocol family.
+     * @return Method handle or null if not supported
+     */
+    private static MethodHandle server() {
+        MethodHandle res;
+        try {
+            res = MethodHandles.publicLookup().findStatic(
+                ServerSocketChannel.class, "open",
+                MethodType.methodType(ServerSocketChannel.class, ProtocolFamily.class)
+            );
+        } catch (final NoSuchMethodException | IllegalAccessException err) {
+            res = null;
+        }
+        return res;
+    }
+}
@@ -35,6 +35,10 @@ import org.reactivestreams.Publisher;
 
 /**
  * Writable channel reactive representation.
+ * <p>
+ * The channel is closed when the publisher completes, and aborted
+ * on failure if it's {@link AbortableChannel}.
+ * </p>
  * @since 0.2
  */
 public final class WritableChannel {
@@ -89,4 +93,19 @@ public final class WritableChannel {
         sub.acceptAsync(data);
         return sub;
     }
+
+    /**
+     * Write data from publisher into the channel, updating the digest on IO thread
+     * with each written buffer. The digest value is ready when the future completes.
+     * @param data Source
+     * @param greed Of data consumer
+     * @param digest Digest
+     * @return Completable future for write operation and cancellation support
+     */
+    public CompletionStage<Void> write(final Publisher<ByteBuffer> data, final WriteGreed greed,
+        final Digest digest) {
+        return new WritableChannel(
+            () -> new DigestWriteChannel(this.src.channel(), digest), this.exec
+        ).write(data, greed);
+    }
 }
@@ -27,8 +27,10 @@ package org.cqfn.rio.channel;
 import com.jcabi.log.Logger;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
 import java.nio.channels.WritableByteChannel;
 import java.util.concurrent.CompletableFuture;
+import org.cqfn.rio.Metrics;
 
 /**
  * Request to write.
@@ -57,6 +59,36 @@ abstract class WriteRequest {
      */
     abstract void process(WritableByteChannel chan);
 
+    /**
+     * Write buffer into channel, measuring the call if metrics are enabled.
+     * @param chan Channel
+     * @param buf Buffer
+     * @throws IOException On write error
+     */
+    private static void write(final WritableByteChannel chan, final ByteBuffer buf)
+        throws IOException {
+        if (Metrics.SYSTEM.enabled()) {
+            final long start = System.nanoTime();
+            final int written = chan.write(buf);
+            Metrics.SYSTEM.io(Metrics.Op.WRITE, written, System.nanoTime() - start);
+        } else {
+            chan.write(buf);
+        }
+    }
+
+    /**
+     * Close channel after failed or cancelled write.
+     * @param chan Channel
+     * @throws IOException On close error
+     */
+    static void abort(final Channel chan) throws IOException {
+        if (chan instanceof AbortableChannel) {
+            ((AbortableChannel) chan).abort();
+        } else {
+            chan.close();
+        }
+    }
+
     /**
      * Next write request with data.
      * @since 0.1
@@ -79,13 +111,18 @@ abstract class WriteRequest {
         }
 
         @Override
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
         public void process(final WritableByteChannel chan) {
             while (this.target.hasRemaining()) {
                 try {
-                    chan.write(this.target);
-                } catch (final IOException iex) {
+                    WriteRequest.write(chan, this.target);
+                    // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final IOException | RuntimeException iex) {
+                    if (Metrics.SYSTEM.enabled()) {
+                        Metrics.SYSTEM.failure(Metrics.Op.WRITE, iex);
+                    }
                     try {
-                        chan.close();
+                        WriteRequest.abort(chan);
                     } catch (final IOException cex) {
                         Logger.warn(
                             this,
@@ -119,10 +156,12 @@ abstract class WriteRequest {
         }
 
         @Override
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
         public void process(final WritableByteChannel chan) {
             try {
                 chan.close();
-            } catch (final IOException iex) {
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final IOException | RuntimeException iex) {
                 this.future.completeExceptionally(iex);
                 return;
             }
@@ -164,7 +203,7 @@ abstract class WriteRequest {
         @Override
         void process(final WritableByteChannel chan) {
             try {
-                chan.close();
+                WriteRequest.abort(chan);
             } catch (final IOException cex) {
                 Logger.warn(
                     this,
@@ -33,6 +33,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import org.cqfn.rio.Metrics;
 import org.cqfn.rio.WriteGreed;
 import org.jctools.queues.SpscUnboundedArrayQueue;
 import org.reactivestreams.Subscription;
@@ -83,6 +84,12 @@ final class WriteTaskQueue implements Runnable {
      */
     private final AtomicBoolean running;
 
+    /**
+     * Subscription for write greed requests, which reports requested
+     * amounts to metrics, null if metrics are disabled.
+     */
+    private final Subscription measured;
+
     /**
      * Ctor.
      * @param future Target future
@@ -103,6 +110,11 @@ final class WriteTaskQueue implements Runnable {
         this.greed = greed;
         this.exec = exec;
         this.running = new AtomicBoolean();
+        if (Metrics.SYSTEM.enabled()) {
+            this.measured = new MeasuredSubscription(sub);
+        } else {
+            this.measured = null;
+        }
     }
 
     @Override
@@ -111,7 +123,7 @@ final class WriteTaskQueue implements Runnable {
         boolean retry = false;
         while (!this.future.isDone()) {
             // requesting next chunk of byte buffers according to greed strategy
-            final boolean requested = !retry && this.greed.request(this.sub.get());
+            final boolean requested = !retry && this.greed.request(this.upstream());
             WriteRequest next = this.queue.poll();
             // if no next item, try to exit the loop
             final boolean empty = next == null;
@@ -145,7 +157,7 @@ final class WriteTaskQueue implements Runnable {
         }
         if (this.channel.isOpen()) {
             try {
-                this.channel.close();
+                WriteRequest.abort(this.channel);
             } catch (final IOException err) {
                 Logger.warn(this, "Failed to close channel: %[exception]s", err);
             }
@@ -166,8 +178,62 @@ final class WriteTaskQueue implements Runnable {
             this.queue.clear();
         }
         this.queue.add(req);
+        if (Metrics.SYSTEM.enabled()) {
+            Metrics.SYSTEM.queue(Metrics.Op.WRITE, this.queue.size());
+        }
         if (this.running.compareAndSet(false, true)) {
             this.exec.execute(this);
         }
     }
+
+    /**
+     * Upstream subscription for write greed.
+     * @return Subscription
+     */
+    private Subscription upstream() {
+        final Subscription res;
+        if (this.measured == null) {
+            res = this.sub.get();
+        } else {
+            res = this.measured;
+        }
+        return res;
+    }
+
+    /**
+     * Subscription which reports requested amounts to metrics.
+     * @since 0.4
+     */
+    private static final class MeasuredSubscription implements Subscription {
+
+        /**
+         * Subscription reference.
+         */
+        private final AtomicReference<Subscription> ref;
+
+        /**
+         * New measured subscription.
+         * @param ref Subscription reference
+         */
+        MeasuredSubscription(final AtomicReference<Subscription> ref) {
+            this.ref = ref;
+        }
+
+        @Override
+        public void request(final long count) {
+            final Subscription origin = this.ref.get();
+            if (origin != null) {
+                Metrics.SYSTEM.greed(count);
+                origin.request(count);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            final Subscription origin = this.ref.get();
+            if (origin != null) {
+                origin.cancel();
+            }
+        }
+    }
 }
@@ -0,0 +1,343 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.cqfn.rio.IoExecutor;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Append-only log file with multiple concurrent producers.
+ * <p>
+ * Each record is a publisher of byte buffers, it's requested without bounds,
+ * received completely and then written to the end of the log as a whole,
+ * so records are never interleaved. All buffers of the record are kept in
+ * memory until it's written, so records should fit in memory: the log is
+ * intended for journal entries, not for big payloads, which should be written
+ * to own files. Records received concurrently are written in batches with one
+ * gathering write into single open channel. Buffers of a record should not
+ * be reused until its append is completed. The log should be the only writer
+ * of the file, otherwise record offsets will be wrong.
+ * </p>
+ * @since 0.4
+ */
+public final class AppendLog {
+
+    /**
+     * Close request marker.
+     */
+    private static final Record CLOSE = new Record(null);
+
+    /**
+     * Log file path.
+     */
+    private final Path path;
+
+    /**
+     * IO executor.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Records queue.
+     */
+    private final Queue<Record> queue;
+
+    /**
+     * Writer loop running flag.
+     */
+    private final AtomicBoolean running;
+
+    /**
+     * Close requested flag.
+     */
+    private final AtomicBoolean closing;
+
+    /**
+     * Close future.
+     */
+    private final CompletableFuture<Void> closed;
+
+    /**
+     * Log channel, accessed from writer loop only.
+     */
+    private FileChannel chan;
+
+    /**
+     * End of log offset, accessed from writer loop only.
+     */
+    private long end;
+
+    /**
+     * Write error, the log is broken if not null; accessed from writer loop only.
+     */
+    private Throwable error;
+
+    /**
+     * New append log.
+     * @param path Log file path
+     */
+    public AppendLog(final Path path) {
+        this(path, IoExecutor.shared());
+    }
+
+    /**
+     * New append log.
+     * @param path Log file path
+     * @param exec IO executor service
+     * @checkstyle MagicNumberCheck (10 lines)
+     */
+    public AppendLog(final Path path, final ExecutorService exec) {
+        this.path = path;
+        this.exec = exec;
+        this.queue = new MpscUnboundedArrayQueue<>(128);
+        this.running = new AtomicBoolean();
+        this.closing = new AtomicBoolean();
+        this.closed = new CompletableFuture<>();
+    }
+
+    /**
+     * Append record to the log.
+     * @param record Record data
+     * @return Future with log offset of the record
+     */
+    public CompletionStage<Long> append(final Publisher<ByteBuffer> record) {
+        Objects.requireNonNull(record, "Record can't be null");
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+        if (this.closing.get()) {
+            future.completeExceptionally(new IllegalStateException("Log is closed"));
+        } else {
+            final Record rec = new Record(future);
+            this.exec.execute(() -> record.subscribe(rec.subscriber(this)));
+        }
+        return future;
+    }
+
+    /**
+     * Close the log, all records received before are written first,
+     * records being received fail.
+     * @return Future completed when the log is closed
+     */
+    public CompletionStage<Void> close() {
+        if (this.closing.compareAndSet(false, true)) {
+            this.accept(AppendLog.CLOSE);
+        }
+        return this.closed;
+    }
+
+    /**
+     * Accept received record to write.
+     * @param record Record
+     */
+    private void accept(final Record record) {
+        this.queue.add(record);
+        if (this.running.compareAndSet(false, true)) {
+            this.exec.execute(this::run);
+        }
+    }
+
+    /**
+     * Writer loop.
+     */
+    private void run() {
+        final List<Record> batch = new ArrayList<>(0);
+        while (true) {
+            for (Record next = this.queue.poll(); next != null; next = this.queue.poll()) {
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                this.running.set(false);
+                if (this.queue.isEmpty() || !this.running.compareAndSet(false, true)) {
+                    break;
+                }
+                continue;
+            }
+            this.write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Write batch of records.
+     * @param batch Records
+     */
+    private void write(final List<Record> batch) {
+        final List<Record> records = new ArrayList<>(batch.size());
+        final List<ByteBuffer> buffers = new ArrayList<>(batch.size());
+        final boolean done = this.closed.isDone();
+        boolean close = false;
+        for (final Record rec : batch) {
+            if (done || close || rec == AppendLog.CLOSE) {
+                close = !done;
+                if (rec != AppendLog.CLOSE) {
+                    rec.future.completeExceptionally(new IllegalStateException("Log is closed"));
+                }
+            } else {
+                records.add(rec);
+                buffers.addAll(rec.buffers);
+            }
+        }
+        if (!records.isEmpty()) {
+            this.write(records, buffers.toArray(new ByteBuffer[0]));
+        }
+        if (close) {
+            this.shutdown();
+        }
+    }
+
+    /**
+     * Write records buffers with gathering write.
+     * @param records Records
+     * @param buffers Buffers of records
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void write(final List<Record> records, final ByteBuffer... buffers) {
+        if (this.error == null) {
+            try {
+                if (this.chan == null) {
+                    this.chan = FileChannel.open(
+                        this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND
+                    );
+                    this.end = this.chan.size();
+                }
+                int pos = 0;
+                while (pos < buffers.length) {
+                    this.chan.write(buffers, pos, buffers.length - pos);
+                    while (pos < buffers.length && !buffers[pos].hasRemaining()) {
+                        ++pos;
+                    }
+                }
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final IOException | RuntimeException err) {
+                this.error = err;
+                this.shutdown();
+            }
+        }
+        for (final Record rec : records) {
+            if (this.error == null) {
+                rec.future.complete(this.end);
+                this.end += rec.size;
+            } else {
+                rec.future.completeExceptionally(this.error);
+            }
+        }
+    }
+
+    /**
+     * Close the channel and complete close future.
+     */
+    private void shutdown() {
+        if (this.chan != null && this.chan.isOpen()) {
+            try {
+                this.chan.close();
+            } catch (final IOException err) {
+                Logger.warn(this, "Failed to close log channel: %[exception]s", err);
+            }
+        }
+        if (this.error == null) {
+            this.closed.complete(null);
+        } else {
+            this.closed.completeExceptionally(this.error);
+        }
+    }
+
+    /**
+     * Log record.
+     * @since 0.4
+     */
+    private static final class Record {
+
+        /**
+         * Record offset future.
+         */
+        private final CompletableFuture<Long> future;
+
+        /**
+         * Record buffers.
+         */
+        private final List<ByteBuffer> buffers;
+
+        /**
+         * Record size.
+         */
+        private long size;
+
+        /**
+         * New record.
+         * @param future Offset future
+         */
+        Record(final CompletableFuture<Long> future) {
+            this.future = future;
+            this.buffers = new ArrayList<>(1);
+        }
+
+        /**
+         * Subscriber to receive record data.
+         * @param log Log to accept received record
+         * @return Subscriber
+         */
+        Subscriber<ByteBuffer> subscriber(final AppendLog log) {
+            return new Subscriber<ByteBuffer>() {
+                @Override
+                public void onSubscribe(final Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(final ByteBuffer buf) {
+                    Record.this.buffers.add(Objects.requireNonNull(buf));
+                    Record.this.size += buf.remaining();
+                }
+
+                @Override
+                public void onError(final Throwable err) {
+                    Record.this.future.completeExceptionally(err);
+                }
+
+                @Override
+                public void onComplete() {
+                    log.accept(Record.this);
+                }
+            };
+        }
+    }
+}
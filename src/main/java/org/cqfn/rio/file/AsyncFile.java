@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.IoExecutor;
+import org.cqfn.rio.WriteGreed;
+import org.reactivestreams.Publisher;
+
+/**
+ * Reactive file API on top of {@link AsynchronousFileChannel}.
+ * <p>
+ * It's an alternative to {@link File} which keeps several positional
+ * operations of the same file outstanding: reads ahead up to configured window
+ * and writes as many buffers at once as write greed requested. Each outstanding
+ * operation uses an executor thread, except on Windows.
+ * </p>
+ * @since 0.4
+ */
+public final class AsyncFile {
+
+    /**
+     * Default amount of outstanding reads.
+     */
+    private static final int READ_AHEAD = 4;
+
+    /**
+     * File path.
+     */
+    private final Path path;
+
+    /**
+     * IO executor for blocking channel operations and completion handlers.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * New file.
+     * @param path Path
+     */
+    public AsyncFile(final Path path) {
+        this(path, IoExecutor.shared());
+    }
+
+    /**
+     * New file.
+     * @param path Path
+     * @param exec Executor service
+     */
+    public AsyncFile(final Path path, final ExecutorService exec) {
+        this.path = path;
+        this.exec = exec;
+    }
+
+    /**
+     * File's content.
+     * @return Content publisher
+     */
+    public Publisher<ByteBuffer> content() {
+        return this.content(Buffers.Standard.K8);
+    }
+
+    /**
+     * File's content.
+     * @param buf Buffers policy
+     * @return Content publisher
+     */
+    public Publisher<ByteBuffer> content(final Buffers buf) {
+        return this.content(buf, AsyncFile.READ_AHEAD);
+    }
+
+    /**
+     * File's content.
+     * @param buf Buffers policy
+     * @param window Max amount of outstanding reads
+     * @return Content publisher
+     */
+    public Publisher<ByteBuffer> content(final Buffers buf, final int window) {
+        return new AsyncReadPublisher(
+            () -> AsynchronousFileChannel.open(
+                this.path, Collections.singleton(StandardOpenOption.READ), this.exec
+            ),
+            buf, window
+        );
+    }
+
+    /**
+     * Write data to file.
+     * @param data Data publisher
+     * @param opts Options
+     * @return Future
+     */
+    public CompletionStage<Void> write(final Publisher<ByteBuffer> data, final OpenOption... opts) {
+        return this.write(data, WriteGreed.SYSTEM.adaptive(), opts);
+    }
+
+    /**
+     * Write data to file.
+     * <p>
+     * Asynchronous file channels don't support {@link StandardOpenOption#APPEND}
+     * option, so it's emulated by writing from the end of file at open time.
+     * It's not atomic: concurrent appends to the same file overwrite each other,
+     * use {@link File} or {@link AppendLog} for them.
+     * </p>
+     * @param data Data publisher
+     * @param greed Greed level of consumer
+     * @param opts Options
+     * @return Future
+     */
+    public CompletionStage<Void> write(final Publisher<ByteBuffer> data,
+        final WriteGreed greed, final OpenOption... opts) {
+        final Set<OpenOption> options = AsyncFile.writeOpts(opts);
+        final boolean append = options.remove(StandardOpenOption.APPEND);
+        final AsyncWriteSubscriber sub = new AsyncWriteSubscriber(
+            () -> AsynchronousFileChannel.open(this.path, options, this.exec),
+            append, greed, this.exec
+        );
+        sub.acceptAsync(data);
+        return sub;
+    }
+
+    /**
+     * Write options.
+     * @param src User specified options
+     * @return Fixed options
+     */
+    private static Set<OpenOption> writeOpts(final OpenOption... src) {
+        final Set<OpenOption> opts = new HashSet<>(Arrays.asList(src));
+        if (opts.isEmpty()) {
+            opts.add(StandardOpenOption.CREATE);
+        }
+        opts.add(StandardOpenOption.WRITE);
+        return opts;
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscription for asynchronous file channel reads.
+ * <p>
+ * It keeps up to {@code window} positional reads in flight, but never more
+ * than requested by subscriber, and emits completed buffers in file order.
+ * All signals to subscriber are serialized by drain loop, completion handlers
+ * only mark read slots as ready and trigger the loop.
+ * </p>
+ * @since 0.4
+ * @checkstyle CyclomaticComplexityCheck (500 lines)
+ * @checkstyle NestedIfDepthCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+final class AsyncReadSubscription implements Subscription {
+
+    /**
+     * Target subscriber.
+     */
+    private final Subscriber<? super ByteBuffer> sub;
+
+    /**
+     * Source channel.
+     */
+    private final AsynchronousFileChannel chan;
+
+    /**
+     * Buffers allocation strategy.
+     */
+    private final Buffers buffers;
+
+    /**
+     * Max amount of outstanding reads.
+     */
+    private final int window;
+
+    /**
+     * Requested items.
+     */
+    private final AtomicLong demand;
+
+    /**
+     * Drain loop work-in-progress counter.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * Outstanding reads in file order, accessed from drain loop only.
+     */
+    private final Queue<Slot> slots;
+
+    /**
+     * Next read position, accessed from drain loop only.
+     */
+    private long pos;
+
+    /**
+     * End of file was reached or subscription was terminated,
+     * accessed from drain loop only.
+     */
+    private boolean done;
+
+    /**
+     * Cancellation flag.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Rule violation error.
+     */
+    private volatile Throwable violation;
+
+    /**
+     * New subscription.
+     * @param sub Subscriber
+     * @param chan Source channel
+     * @param buffers Buffers allocation strategy
+     * @param window Max amount of outstanding reads
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    AsyncReadSubscription(final Subscriber<? super ByteBuffer> sub,
+        final AsynchronousFileChannel chan, final Buffers buffers, final int window) {
+        this.sub = sub;
+        this.chan = chan;
+        this.buffers = buffers;
+        this.window = window;
+        this.demand = new AtomicLong();
+        this.wip = new AtomicInteger();
+        this.slots = new ArrayDeque<>(window);
+    }
+
+    @Override
+    public void request(final long count) {
+        if (count <= 0) {
+            this.violation = Subscriptions.violation(count);
+        } else {
+            Subscriptions.add(this.demand, count);
+        }
+        this.drain();
+    }
+
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+        this.drain();
+    }
+
+    /**
+     * Drain loop: emit completed reads and start new reads if requested.
+     */
+    private void drain() {
+        if (this.wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            this.emit();
+            this.issue();
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Emit ready reads to subscriber in order.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private void emit() {
+        while (!this.done) {
+            if (this.cancelled) {
+                this.terminate();
+                break;
+            }
+            final Throwable err = this.violation;
+            if (err != null) {
+                this.terminate();
+                this.sub.onError(err);
+                break;
+            }
+            final Slot head = this.slots.peek();
+            if (head == null || !head.ready) {
+                break;
+            }
+            if (head.error != null) {
+                this.terminate();
+                this.sub.onError(head.error);
+                break;
+            }
+            final boolean empty = head.buf.position() == head.start;
+            if (!empty) {
+                if (this.demand.get() == 0) {
+                    break;
+                }
+                this.demand.decrementAndGet();
+                this.slots.poll();
+                ((Buffer) head.buf).flip();
+                ((Buffer) head.buf).position(head.start);
+                try {
+                    this.sub.onNext(head.buf);
+                    // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final Throwable exx) {
+                    this.terminate();
+                    this.sub.onError(exx);
+                    break;
+                }
+            } else {
+                this.slots.poll();
+            }
+            if (head.last) {
+                this.terminate();
+                this.sub.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Start new reads if there are free slots and demand.
+     */
+    private void issue() {
+        while (!this.done && !this.cancelled && this.slots.size() < this.window
+            && this.slots.size() < this.demand.get()) {
+            final Slot slot = new Slot(this.buffers.create(), this.pos);
+            this.pos += slot.buf.remaining();
+            this.slots.add(slot);
+            slot.read();
+        }
+    }
+
+    /**
+     * Terminate the subscription and close the channel.
+     */
+    private void terminate() {
+        this.done = true;
+        this.slots.clear();
+        try {
+            this.chan.close();
+        } catch (final IOException err) {
+            Logger.warn(this, "Failed to close channel: %[exception]s", err);
+        }
+    }
+
+    /**
+     * Positional read of one buffer.
+     * @since 0.4
+     */
+    private final class Slot implements CompletionHandler<Integer, Void> {
+
+        /**
+         * Target buffer.
+         */
+        private final ByteBuffer buf;
+
+        /**
+         * Initial buffer position.
+         */
+        private final int start;
+
+        /**
+         * File offset of this buffer.
+         */
+        private final long offset;
+
+        /**
+         * End of file reached.
+         */
+        private boolean last;
+
+        /**
+         * Read error.
+         */
+        private Throwable error;
+
+        /**
+         * Completion flag, it publishes other fields to drain loop.
+         */
+        private volatile boolean ready;
+
+        /**
+         * New read slot.
+         * @param buf Buffer to read into
+         * @param offset File offset
+         */
+        Slot(final ByteBuffer buf, final long offset) {
+            this.buf = buf;
+            this.start = buf.position();
+            this.offset = offset;
+        }
+
+        @Override
+        public void completed(final Integer read, final Void none) {
+            if (read < 0) {
+                this.last = true;
+                this.finish();
+            } else if (this.buf.hasRemaining()) {
+                this.read();
+            } else {
+                this.finish();
+            }
+        }
+
+        @Override
+        public void failed(final Throwable err, final Void none) {
+            this.error = err;
+            this.finish();
+        }
+
+        /**
+         * Read next part of the buffer from the channel.
+         */
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")
+        void read() {
+            try {
+                AsyncReadSubscription.this.chan.read(
+                    this.buf, this.offset + this.buf.position() - this.start, null, this
+                );
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Throwable err) {
+                this.failed(err, null);
+            }
+        }
+
+        /**
+         * Mark slot as ready and notify drain loop.
+         */
+        private void finish() {
+            this.ready = true;
+            AsyncReadSubscription.this.drain();
+        }
+    }
+}
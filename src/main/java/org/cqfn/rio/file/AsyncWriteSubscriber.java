@@ -0,0 +1,292 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.cqfn.rio.WriteGreed;
+import org.cqfn.rio.channel.ChannelSource;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscriber which writes buffers to asynchronous file channel.
+ * <p>
+ * Each received buffer is written at its own file position without waiting
+ * for previous writes, so the amount of outstanding writes is limited
+ * only by write greed. Next buffers are requested on write completion.
+ * </p>
+ * @since 0.4
+ */
+final class AsyncWriteSubscriber extends CompletableFuture<Void>
+    implements Subscriber<ByteBuffer> {
+
+    /**
+     * Channel source.
+     */
+    private final ChannelSource<? extends AsynchronousFileChannel> src;
+
+    /**
+     * Start writing at the end of file.
+     */
+    private final boolean append;
+
+    /**
+     * Write greed level.
+     */
+    private final WriteGreed greed;
+
+    /**
+     * Executor service.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Subscription reference.
+     */
+    private final AtomicReference<Subscription> sub;
+
+    /**
+     * Pending writes counter, plus one until upstream completes.
+     */
+    private final AtomicLong pending;
+
+    /**
+     * Lock to serialize subscription calls.
+     */
+    private final Object lock;
+
+    /**
+     * Target channel.
+     */
+    private volatile AsynchronousFileChannel chan;
+
+    /**
+     * Next write position, accessed from serial {@code onNext} calls only.
+     */
+    private long pos;
+
+    /**
+     * New write subscriber.
+     * @param src Channel source
+     * @param append Start writing at the end of file
+     * @param greed Consumer greed level
+     * @param exec Executor service to subscribe on
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    AsyncWriteSubscriber(final ChannelSource<? extends AsynchronousFileChannel> src,
+        final boolean append, final WriteGreed greed, final ExecutorService exec) {
+        super();
+        this.src = src;
+        this.append = append;
+        this.greed = greed;
+        this.exec = exec;
+        this.sub = new AtomicReference<>();
+        this.pending = new AtomicLong(1);
+        this.lock = new Object();
+    }
+
+    /**
+     * Accept publisher asynchronous and ask it to subscribe.
+     * @param publisher Of data
+     */
+    public void acceptAsync(final Publisher<ByteBuffer> publisher) {
+        this.exec.submit(() -> publisher.subscribe(this));
+    }
+
+    // @checkstyle ReturnCountCheck (30 lines)
+    @Override
+    @SuppressWarnings("PMD.OnlyOneReturn")
+    public void onSubscribe(final Subscription subscription) {
+        if (!this.sub.compareAndSet(null, Objects.requireNonNull(subscription))) {
+            subscription.cancel();
+            return;
+        }
+        if (this.isDone()) {
+            subscription.cancel();
+            return;
+        }
+        try {
+            this.chan = this.src.channel();
+            if (this.append) {
+                this.pos = this.chan.size();
+            }
+        } catch (final IOException iex) {
+            subscription.cancel();
+            this.close();
+            this.completeExceptionally(iex);
+            return;
+        }
+        this.whenComplete(
+            (none, err) -> {
+                if (err != null) {
+                    synchronized (this.lock) {
+                        subscription.cancel();
+                    }
+                    this.close();
+                }
+            }
+        );
+        this.request();
+    }
+
+    @Override
+    public void onNext(final ByteBuffer buf) {
+        Objects.requireNonNull(buf);
+        if (this.isDone()) {
+            return;
+        }
+        final long offset = this.pos;
+        this.pos += buf.remaining();
+        this.pending.incrementAndGet();
+        new Write(buf, offset).write();
+    }
+
+    @Override
+    public void onError(final Throwable err) {
+        this.completeExceptionally(Objects.requireNonNull(err));
+    }
+
+    @Override
+    public void onComplete() {
+        if (this.pending.decrementAndGet() == 0 && !this.isDone()) {
+            this.finish();
+        }
+    }
+
+    /**
+     * Request next items according to greed level.
+     */
+    private void request() {
+        synchronized (this.lock) {
+            if (!this.isDone()) {
+                this.greed.request(this.sub.get());
+            }
+        }
+    }
+
+    /**
+     * Close the channel and complete the future.
+     */
+    private void finish() {
+        try {
+            this.chan.close();
+        } catch (final IOException err) {
+            this.completeExceptionally(err);
+            return;
+        }
+        this.complete(null);
+    }
+
+    /**
+     * Close the channel on errors.
+     */
+    private void close() {
+        final AsynchronousFileChannel target = this.chan;
+        if (target != null && target.isOpen()) {
+            try {
+                target.close();
+            } catch (final IOException err) {
+                Logger.warn(this, "Failed to close channel: %[exception]s", err);
+            }
+        }
+    }
+
+    /**
+     * Positional write of one buffer.
+     * @since 0.4
+     */
+    private final class Write implements CompletionHandler<Integer, Void> {
+
+        /**
+         * Source buffer.
+         */
+        private final ByteBuffer buf;
+
+        /**
+         * Initial buffer position.
+         */
+        private final int start;
+
+        /**
+         * File offset of this buffer.
+         */
+        private final long offset;
+
+        /**
+         * New write.
+         * @param buf Source buffer
+         * @param offset File offset
+         */
+        Write(final ByteBuffer buf, final long offset) {
+            this.buf = buf;
+            this.start = buf.position();
+            this.offset = offset;
+        }
+
+        @Override
+        public void completed(final Integer written, final Void none) {
+            if (this.buf.hasRemaining()) {
+                this.write();
+                return;
+            }
+            AsyncWriteSubscriber.this.greed.received();
+            if (AsyncWriteSubscriber.this.pending.decrementAndGet() == 0) {
+                AsyncWriteSubscriber.this.finish();
+            } else {
+                AsyncWriteSubscriber.this.request();
+            }
+        }
+
+        @Override
+        public void failed(final Throwable err, final Void none) {
+            AsyncWriteSubscriber.this.completeExceptionally(err);
+        }
+
+        /**
+         * Write remaining part of the buffer to the channel.
+         */
+        @SuppressWarnings({"PMD.AvoidCatchingThrowable", "PMD.AvoidCatchingGenericException"})
+        void write() {
+            try {
+                AsyncWriteSubscriber.this.chan.write(
+                    this.buf, this.offset + this.buf.position() - this.start, null, this
+                );
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Throwable err) {
+                this.failed(err, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * File content publisher backed by content cache.
+ * <p>
+ * On subscribe it checks file attributes and looks up the cache on IO executor,
+ * so the subscriber thread doesn't wait for the file system. Then it replays
+ * cached content if it's still valid, or subscribes to origin publisher
+ * otherwise, copying emitted
+ * buffers into off-heap chunks, which are allocated as data arrives and put
+ * into the cache when the origin completes with exactly file size bytes.
+ * </p>
+ * @since 0.4
+ */
+final class CachedContent implements Publisher<ByteBuffer> {
+
+    /**
+     * Max size of content chunk.
+     */
+    private static final int CHUNK = 64 * 1024;
+
+    /**
+     * File path.
+     */
+    private final Path path;
+
+    /**
+     * Content cache.
+     */
+    private final ContentCache cache;
+
+    /**
+     * Origin content publisher.
+     */
+    private final Publisher<ByteBuffer> origin;
+
+    /**
+     * IO executor.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * New cached content.
+     * @param path File path
+     * @param cache Content cache
+     * @param origin Origin content publisher
+     * @param exec IO executor
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    CachedContent(final Path path, final ContentCache cache,
+        final Publisher<ByteBuffer> origin, final ExecutorService exec) {
+        this.path = path;
+        this.cache = cache;
+        this.origin = origin;
+        this.exec = exec;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber can't be null");
+        try {
+            this.exec.execute(() -> this.lookup(subscriber));
+        } catch (final RejectedExecutionException err) {
+            subscriber.onSubscribe(Subscriptions.DUMMY);
+            subscriber.onError(err);
+        }
+    }
+
+    /**
+     * Check file attributes and look up the cache on IO executor.
+     * @param subscriber Subscriber
+     */
+    @SuppressWarnings({"PMD.OnlyOneReturn", "PMD.AvoidCatchingGenericException"})
+    private void lookup(final Subscriber<? super ByteBuffer> subscriber) {
+        final BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(this.path, BasicFileAttributes.class);
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final IOException | RuntimeException err) {
+            subscriber.onSubscribe(Subscriptions.DUMMY);
+            subscriber.onError(err);
+            return;
+        }
+        final Optional<List<ByteBuffer>> cached = this.cache.get(this.path, attrs);
+        if (cached.isPresent()) {
+            subscriber.onSubscribe(new ReplaySubscription(subscriber, cached.get()));
+        } else if (this.cache.fits(attrs.size())) {
+            this.origin.subscribe(new Fill(subscriber, attrs));
+        } else {
+            this.origin.subscribe(subscriber);
+        }
+    }
+
+    /**
+     * Subscriber which fills the cache while passing buffers downstream.
+     * @since 0.4
+     */
+    private final class Fill implements Subscriber<ByteBuffer> {
+
+        /**
+         * Downstream subscriber.
+         */
+        private final Subscriber<? super ByteBuffer> sub;
+
+        /**
+         * File attributes at subscribe time.
+         */
+        private final BasicFileAttributes attrs;
+
+        /**
+         * Filled content chunks or null if content doesn't match file size.
+         */
+        private List<ByteBuffer> data;
+
+        /**
+         * Bytes left to fill.
+         */
+        private long left;
+
+        /**
+         * Last chunk, which is being filled.
+         */
+        private ByteBuffer chunk;
+
+        /**
+         * New fill subscriber.
+         * @param sub Downstream subscriber
+         * @param attrs File attributes
+         */
+        Fill(final Subscriber<? super ByteBuffer> sub, final BasicFileAttributes attrs) {
+            this.sub = sub;
+            this.attrs = attrs;
+            this.data = new ArrayList<>(0);
+            this.left = attrs.size();
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.sub.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(final ByteBuffer buf) {
+            if (this.data != null) {
+                if (this.left < buf.remaining()) {
+                    this.data = null;
+                    this.chunk = null;
+                } else {
+                    this.fill(buf.duplicate());
+                }
+            }
+            this.sub.onNext(buf);
+        }
+
+        @Override
+        public void onError(final Throwable err) {
+            this.data = null;
+            this.chunk = null;
+            this.sub.onError(err);
+        }
+
+        @Override
+        public void onComplete() {
+            if (this.data != null && this.left == 0) {
+                for (final ByteBuffer item : this.data) {
+                    ((Buffer) item).flip();
+                }
+                CachedContent.this.cache.put(CachedContent.this.path, this.attrs, this.data);
+            }
+            this.data = null;
+            this.chunk = null;
+            this.sub.onComplete();
+        }
+
+        /**
+         * Copy buffer into chunks, allocating next chunk when last one is full.
+         * @param buf Buffer, which fits bytes left to fill
+         */
+        private void fill(final ByteBuffer buf) {
+            this.left -= buf.remaining();
+            while (buf.hasRemaining()) {
+                if (this.chunk == null || !this.chunk.hasRemaining()) {
+                    this.chunk = ByteBuffer.allocateDirect(
+                        (int) Math.min(
+                            CachedContent.CHUNK, this.left + buf.remaining()
+                        )
+                    );
+                    this.data.add(this.chunk);
+                }
+                final int size = Math.min(buf.remaining(), this.chunk.remaining());
+                final ByteBuffer part = buf.duplicate();
+                ((Buffer) part).limit(part.position() + size);
+                this.chunk.put(part);
+                ((Buffer) buf).position(buf.position() + size);
+            }
+        }
+    }
+}
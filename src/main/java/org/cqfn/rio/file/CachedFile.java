@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.nio.ByteBuffer;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.IoExecutor;
+import org.cqfn.rio.WriteGreed;
+import org.reactivestreams.Publisher;
+
+/**
+ * File with cached content.
+ * <p>
+ * It has the same API as {@link File}, and reads content from the shared
+ * {@link ContentCache}: cached content is replayed as read-only buffers of
+ * up to {@code 64KB}, without reading the file; if the file is not cached
+ * or was changed, it's read by {@link File} and put into the cache on completion.
+ * Writes invalidate cached content of the file.
+ * </p>
+ * @since 0.4
+ */
+public final class CachedFile {
+
+    /**
+     * File path.
+     */
+    private final Path path;
+
+    /**
+     * Content cache.
+     */
+    private final ContentCache cache;
+
+    /**
+     * Origin file.
+     */
+    private final File origin;
+
+    /**
+     * IO executor.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * New cached file.
+     * @param path Path
+     * @param cache Content cache
+     */
+    public CachedFile(final Path path, final ContentCache cache) {
+        this(path, cache, IoExecutor.shared());
+    }
+
+    /**
+     * New cached file.
+     * @param path Path
+     * @param cache Content cache
+     * @param exec Executor service
+     */
+    public CachedFile(final Path path, final ContentCache cache, final ExecutorService exec) {
+        this.path = path;
+        this.cache = cache;
+        this.origin = new File(path, exec);
+        this.exec = exec;
+    }
+
+    /**
+     * File's content.
+     * @return Content publisher
+     */
+    public Publisher<ByteBuffer> content() {
+        return this.content(Buffers.Standard.K8);
+    }
+
+    /**
+     * File's content.
+     * @param buf Buffers policy for reads on cache miss
+     * @return Content publisher
+     */
+    public Publisher<ByteBuffer> content(final Buffers buf) {
+        return new CachedContent(
+            this.path, this.cache, this.origin.content(buf), this.exec
+        );
+    }
+
+    /**
+     * Write data to file.
+     * @param data Data publisher
+     * @param opts Options
+     * @return Future
+     */
+    public CompletionStage<Void> write(final Publisher<ByteBuffer> data, final OpenOption... opts) {
+        return this.write(data, WriteGreed.SYSTEM.adaptive(), opts);
+    }
+
+    /**
+     * Write data to file.
+     * @param data Data publisher
+     * @param greed Greed level of consumer
+     * @param opts Options, see {@link File#write(Publisher, WriteGreed, OpenOption...)}
+     * @return Future
+     */
+    public CompletionStage<Void> write(final Publisher<ByteBuffer> data,
+        final WriteGreed greed, final OpenOption... opts) {
+        final CompletionStage<Void> res = this.origin.write(data, greed, opts);
+        res.whenComplete((none, err) -> this.cache.invalidate(this.path));
+        return res;
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache of open read-only file channels.
+ * <p>
+ * It keeps up to {@code capacity} channels open, evicting least recently used,
+ * and shares them between readers: each reader gets own channel view with
+ * own position, reading the shared channel using positional reads. Channels are
+ * reference counted, so evicted or invalidated channel is closed only when
+ * all readers closed their views. Cached channel is validated against
+ * file attributes on each access: it's reopened if the file was replaced,
+ * or its size or modification time were changed. It's also reopened if it
+ * was closed, e.g. by interrupt of a reading thread: closed channel is evicted
+ * and released on next access.
+ * </p>
+ * <p>
+ * It's intended to be shared by readers of hot files, see
+ * {@link File#content(org.cqfn.rio.Buffers, ChannelCache)}.
+ * </p>
+ * @since 0.4
+ */
+public final class ChannelCache implements AutoCloseable {
+
+    /**
+     * Open channels by path in access order, guarded by itself.
+     */
+    private final Map<Path, Handle> handles;
+
+    /**
+     * New channel cache.
+     * @param capacity Max amount of open channels
+     */
+    public ChannelCache(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity should be positive");
+        }
+        this.handles = new Lru(capacity);
+    }
+
+    /**
+     * Invalidate cached channel of the file.
+     * @param path File path
+     */
+    public void invalidate(final Path path) {
+        final Handle handle;
+        synchronized (this.handles) {
+            handle = this.handles.remove(path);
+        }
+        if (handle != null) {
+            handle.release();
+        }
+    }
+
+    /**
+     * Invalidate all cached channels.
+     */
+    @Override
+    public void close() {
+        final List<Handle> all;
+        synchronized (this.handles) {
+            all = new ArrayList<>(this.handles.values());
+            this.handles.clear();
+        }
+        for (final Handle handle : all) {
+            handle.release();
+        }
+    }
+
+    /**
+     * Channel view of the file.
+     * @param path File path
+     * @return Read-only channel, it should be closed by reader
+     * @throws IOException On error
+     */
+    SeekableByteChannel channel(final Path path) throws IOException {
+        final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        Handle handle = this.retain(path, attrs);
+        if (handle == null) {
+            final Handle fresh = new Handle(FileChannel.open(path, StandardOpenOption.READ), attrs);
+            final Handle stale;
+            synchronized (this.handles) {
+                handle = this.handles.get(path);
+                if (handle == null || !handle.valid(attrs)) {
+                    stale = this.handles.put(path, fresh);
+                    handle = fresh;
+                } else {
+                    stale = fresh;
+                }
+                handle.retain();
+            }
+            if (stale != null) {
+                stale.release();
+            }
+        }
+        return new PositionalChannel(handle.chan, handle::release);
+    }
+
+    /**
+     * Retain valid cached channel, evict and release closed one.
+     * @param path File path
+     * @param attrs Current file attributes
+     * @return Handle or null if not cached or invalid
+     */
+    private Handle retain(final Path path, final BasicFileAttributes attrs) {
+        Handle handle;
+        Handle closed = null;
+        synchronized (this.handles) {
+            handle = this.handles.get(path);
+            if (handle != null && handle.valid(attrs)) {
+                handle.retain();
+            } else {
+                if (handle != null && !handle.chan.isOpen()) {
+                    closed = this.handles.remove(path);
+                }
+                handle = null;
+            }
+        }
+        if (closed != null) {
+            closed.release();
+        }
+        return handle;
+    }
+
+    /**
+     * Map of handles with LRU eviction.
+     * @since 0.4
+     */
+    private static final class Lru extends LinkedHashMap<Path, Handle> {
+
+        /**
+         * Serial version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Max amount of entries.
+         */
+        private final int capacity;
+
+        /**
+         * New LRU map.
+         * @param capacity Max amount of entries
+         */
+        Lru(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Path, Handle> eldest) {
+            final boolean evict = this.size() > this.capacity;
+            if (evict) {
+                eldest.getValue().release();
+            }
+            return evict;
+        }
+    }
+
+    /**
+     * Reference counted channel, the cache owns one reference while channel is cached.
+     * @since 0.4
+     */
+    private static final class Handle {
+
+        /**
+         * File channel.
+         */
+        private final FileChannel chan;
+
+        /**
+         * File attributes at open time.
+         */
+        private final BasicFileAttributes attrs;
+
+        /**
+         * Reference count.
+         */
+        private final AtomicInteger refs;
+
+        /**
+         * New handle.
+         * @param chan File channel
+         * @param attrs File attributes at open time
+         */
+        Handle(final FileChannel chan, final BasicFileAttributes attrs) {
+            this.chan = chan;
+            this.attrs = attrs;
+            this.refs = new AtomicInteger(1);
+        }
+
+        /**
+         * Check this channel is still open and valid for the file.
+         * @param current Current file attributes
+         * @return True if channel is open and file was not changed
+         */
+        boolean valid(final BasicFileAttributes current) {
+            return this.chan.isOpen()
+                && Objects.equals(this.attrs.fileKey(), current.fileKey())
+                && this.attrs.size() == current.size()
+                && this.attrs.lastModifiedTime().equals(current.lastModifiedTime());
+        }
+
+        /**
+         * Acquire one more reference.
+         */
+        void retain() {
+            this.refs.incrementAndGet();
+        }
+
+        /**
+         * Release reference, close the channel when it was the last one.
+         */
+        void release() {
+            if (this.refs.decrementAndGet() == 0) {
+                try {
+                    this.chan.close();
+                } catch (final IOException err) {
+                    Logger.warn(this, "Failed to close channel: %[exception]s", err);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
+import org.cqfn.rio.channel.AbortableChannel;
+
+/**
+ * File channel which is committed by durability policy on close.
+ * <p>
+ * Aborted channel is closed without commit.
+ * </p>
+ * @since 0.4
+ */
+final class CommitChannel implements WritableByteChannel, AbortableChannel {
+
+    /**
+     * File path.
+     */
+    private final Path path;
+
+    /**
+     * File channel.
+     */
+    private final FileChannel origin;
+
+    /**
+     * Durability policy.
+     */
+    private final Durability durability;
+
+    /**
+     * Commit result, it's set on close.
+     */
+    private final AtomicReference<CompletionStage<Void>> result;
+
+    /**
+     * Wrap file channel.
+     * @param path File path
+     * @param origin File channel
+     * @param durability Durability policy
+     */
+    CommitChannel(final Path path, final FileChannel origin, final Durability durability) {
+        this.path = path;
+        this.origin = origin;
+        this.durability = durability;
+        this.result = new AtomicReference<>();
+    }
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        return this.origin.write(src);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return this.result.get() == null && this.origin.isOpen();
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void close() {
+        final CompletableFuture<Void> res = new CompletableFuture<>();
+        if (this.result.compareAndSet(null, res)) {
+            try {
+                this.durability.commit(this.path, this.origin).whenComplete(
+                    (none, err) -> {
+                        if (err == null) {
+                            res.complete(null);
+                        } else {
+                            res.completeExceptionally(err);
+                        }
+                    }
+                );
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final RuntimeException err) {
+                res.completeExceptionally(err);
+            }
+        }
+    }
+
+    @Override
+    public void abort() throws IOException {
+        final CompletableFuture<Void> res = new CompletableFuture<>();
+        if (this.result.compareAndSet(null, res)) {
+            res.completeExceptionally(new IllegalStateException("Channel was aborted"));
+            this.origin.close();
+        }
+    }
+
+    /**
+     * Commit result.
+     * @return Future completed when channel is committed and closed
+     */
+    CompletionStage<Void> committed() {
+        final CompletionStage<Void> res = this.result.get();
+        if (res == null) {
+            throw new IllegalStateException("Channel was not closed");
+        }
+        return res;
+    }
+}
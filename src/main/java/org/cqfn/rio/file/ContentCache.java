@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of file contents in off-heap memory.
+ * <p>
+ * It's bounded by total size of cached contents in bytes, least recently
+ * used contents are evicted first. Content is cached by file path and
+ * validated by file attributes: cached content is used only if file
+ * key, size and modification time were not changed. Contents are stored
+ * as off-heap chunks, files larger than {@code Integer.MAX_VALUE} bytes
+ * are never cached.
+ * It's intended to be shared by {@link CachedFile} instances.
+ * </p>
+ * @since 0.4
+ */
+public final class ContentCache {
+
+    /**
+     * Max size of all cached contents in bytes.
+     */
+    private final long capacity;
+
+    /**
+     * Cached contents in access order, guarded by itself.
+     */
+    private final Map<Path, Entry> entries;
+
+    /**
+     * Current size of all cached contents in bytes, guarded by entries.
+     */
+    private long bytes;
+
+    /**
+     * Hits counter.
+     */
+    private final AtomicLong hitc;
+
+    /**
+     * Misses counter.
+     */
+    private final AtomicLong missc;
+
+    /**
+     * New content cache.
+     * @param capacity Max size of all cached contents in bytes
+     */
+    public ContentCache(final long capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity should be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.hitc = new AtomicLong();
+        this.missc = new AtomicLong();
+    }
+
+    /**
+     * Amount of reads served from the cache.
+     * @return Hits count
+     */
+    public long hits() {
+        return this.hitc.get();
+    }
+
+    /**
+     * Amount of reads which were not found in the cache.
+     * @return Misses count
+     */
+    public long misses() {
+        return this.missc.get();
+    }
+
+    /**
+     * Current size of all cached contents.
+     * @return Size in bytes
+     */
+    public long size() {
+        synchronized (this.entries) {
+            return this.bytes;
+        }
+    }
+
+    /**
+     * Remove cached content of the file.
+     * @param path File path
+     */
+    public void invalidate(final Path path) {
+        synchronized (this.entries) {
+            final Entry entry = this.entries.remove(path);
+            if (entry != null) {
+                this.bytes -= entry.size;
+            }
+        }
+    }
+
+    /**
+     * Remove all cached contents.
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+            this.bytes = 0;
+        }
+    }
+
+    /**
+     * Find valid cached content and count hit or miss.
+     * @param path File path
+     * @param attrs Current file attributes
+     * @return Read-only content chunks if found
+     */
+    Optional<List<ByteBuffer>> get(final Path path, final BasicFileAttributes attrs) {
+        final Entry entry;
+        synchronized (this.entries) {
+            entry = this.entries.get(path);
+        }
+        final Optional<List<ByteBuffer>> res;
+        if (entry != null && entry.valid(attrs)) {
+            this.hitc.incrementAndGet();
+            final List<ByteBuffer> chunks = new ArrayList<>(entry.data.size());
+            for (final ByteBuffer chunk : entry.data) {
+                chunks.add(chunk.duplicate());
+            }
+            res = Optional.of(chunks);
+        } else {
+            this.missc.incrementAndGet();
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Check file of this size could be cached.
+     * @param size File size
+     * @return True if it fits the cache
+     */
+    boolean fits(final long size) {
+        return size <= this.capacity && size <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Put content into the cache, evicting least recently used contents.
+     * @param path File path
+     * @param attrs File attributes at read time
+     * @param data Content chunks, ready to read
+     */
+    void put(final Path path, final BasicFileAttributes attrs, final List<ByteBuffer> data) {
+        final List<ByteBuffer> chunks = new ArrayList<>(data.size());
+        long size = 0;
+        for (final ByteBuffer chunk : data) {
+            chunks.add(chunk.asReadOnlyBuffer());
+            size += chunk.remaining();
+        }
+        final Entry entry = new Entry(attrs, chunks, size);
+        synchronized (this.entries) {
+            final Entry old = this.entries.put(path, entry);
+            if (old != null) {
+                this.bytes -= old.size;
+            }
+            this.bytes += entry.size;
+            final Iterator<Entry> iter = this.entries.values().iterator();
+            while (this.bytes > this.capacity && iter.hasNext()) {
+                this.bytes -= iter.next().size;
+                iter.remove();
+            }
+        }
+    }
+
+    /**
+     * Cached content.
+     * @since 0.4
+     */
+    private static final class Entry {
+
+        /**
+         * File attributes at read time.
+         */
+        private final BasicFileAttributes attrs;
+
+        /**
+         * Read-only content chunks.
+         */
+        private final List<ByteBuffer> data;
+
+        /**
+         * Content size in bytes.
+         */
+        private final long size;
+
+        /**
+         * New entry.
+         * @param attrs File attributes at read time
+         * @param data Read-only content chunks
+         * @param size Content size in bytes
+         */
+        Entry(final BasicFileAttributes attrs, final List<ByteBuffer> data, final long size) {
+            this.attrs = attrs;
+            this.data = data;
+            this.size = size;
+        }
+
+        /**
+         * Check this content is still valid for the file.
+         * @param current Current file attributes
+         * @return True if file was not changed
+         */
+        boolean valid(final BasicFileAttributes current) {
+            return Objects.equals(this.attrs.fileKey(), current.fileKey())
+                && this.attrs.size() == current.size()
+                && this.attrs.lastModifiedTime().equals(current.lastModifiedTime());
+        }
+    }
+}
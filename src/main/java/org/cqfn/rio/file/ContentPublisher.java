@@ -0,0 +1,191 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.channel.ChannelSource;
+import org.cqfn.rio.channel.ReadableChannel;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * File content publisher.
+ * <p>
+ * It opens file channel on IO executor after subscribe and checks its size:
+ * files not bigger than threshold, which fit into one buffer of buffers
+ * strategy, are read at once into this buffer, other files are streamed
+ * by {@link ReadableChannel} using the same strategy.
+ * </p>
+ * @since 0.4
+ */
+final class ContentPublisher implements Publisher<ByteBuffer> {
+
+    /**
+     * File channel source.
+     */
+    private final ChannelSource<? extends SeekableByteChannel> src;
+
+    /**
+     * Buffers allocation strategy.
+     */
+    private final Buffers buffers;
+
+    /**
+     * IO executor.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Max size of file to read at once.
+     */
+    private final long threshold;
+
+    /**
+     * New publisher.
+     * @param src File channel source
+     * @param buffers Buffers allocation strategy
+     * @param exec IO executor
+     * @param threshold Max size of file to read at once
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    ContentPublisher(final ChannelSource<? extends SeekableByteChannel> src,
+        final Buffers buffers, final ExecutorService exec, final long threshold) {
+        this.src = src;
+        this.buffers = buffers;
+        this.exec = exec;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber can't be null");
+        try {
+            this.exec.execute(() -> this.open(subscriber));
+        } catch (final RejectedExecutionException err) {
+            subscriber.onSubscribe(Subscriptions.DUMMY);
+            subscriber.onError(err);
+        }
+    }
+
+    /**
+     * Open file channel on IO executor and subscribe to its content.
+     * @param subscriber Subscriber
+     */
+    @SuppressWarnings({"PMD.OnlyOneReturn", "PMD.AvoidCatchingGenericException"})
+    private void open(final Subscriber<? super ByteBuffer> subscriber) {
+        final SeekableByteChannel chan;
+        final long size;
+        final ByteBuffer buf;
+        try {
+            chan = this.src.channel();
+        } catch (final IOException err) {
+            subscriber.onSubscribe(Subscriptions.DUMMY);
+            subscriber.onError(err);
+            return;
+        }
+        try {
+            size = chan.size();
+            if (size > this.threshold) {
+                buf = null;
+            } else {
+                buf = this.buffers.create();
+            }
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final IOException | RuntimeException err) {
+            ContentPublisher.close(chan);
+            subscriber.onSubscribe(Subscriptions.DUMMY);
+            subscriber.onError(err);
+            return;
+        }
+        if (buf == null) {
+            new ReadableChannel(() -> chan, this.exec).read(this.buffers).subscribe(subscriber);
+        } else if (buf.remaining() < size) {
+            new ReadableChannel(() -> chan, this.exec)
+                .read(new First(buf, this.buffers))
+                .subscribe(subscriber);
+        } else {
+            ((Buffer) buf).limit(buf.position() + (int) size);
+            subscriber.onSubscribe(new WholeFileSubscription(subscriber, chan, buf, this.exec));
+        }
+    }
+
+    /**
+     * Close channel on error.
+     * @param chan Channel
+     */
+    private static void close(final SeekableByteChannel chan) {
+        try {
+            chan.close();
+        } catch (final IOException err) {
+            Logger.warn(ContentPublisher.class, "Failed to close channel: %[exception]s", err);
+        }
+    }
+
+    /**
+     * Buffers which return already allocated buffer first.
+     * @since 0.4
+     */
+    private static final class First implements Buffers {
+
+        /**
+         * First buffer, null when it was taken.
+         */
+        private final AtomicReference<ByteBuffer> first;
+
+        /**
+         * Origin buffers.
+         */
+        private final Buffers origin;
+
+        /**
+         * New buffers.
+         * @param first First buffer
+         * @param origin Origin buffers
+         */
+        First(final ByteBuffer first, final Buffers origin) {
+            this.first = new AtomicReference<>(first);
+            this.origin = origin;
+        }
+
+        @Override
+        public ByteBuffer create() {
+            ByteBuffer buf = this.first.getAndSet(null);
+            if (buf == null) {
+                buf = this.origin.create();
+            }
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntConsumer;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.IoExecutor;
+import org.cqfn.rio.WriteGreed;
+import org.cqfn.rio.channel.ReadableChannel;
+import org.cqfn.rio.channel.WritableChannel;
+import org.reactivestreams.Publisher;
+
+/**
+ * Reactive file API with direct IO, bypassing OS page cache.
+ * <p>
+ * It's useful for streaming large cold files without evicting hot data
+ * from page cache. Requires JDK 10+ and file system support of direct IO.
+ * Read buffers should be aligned to file store block size, e.g.
+ * {@link Buffers.Aligned}; write buffers could be any, but aligned direct buffers
+ * are written without copying.
+ * </p>
+ * @since 0.4
+ */
+public final class DirectFile {
+
+    /**
+     * Default buffer size, direct reads are not cached, so it's bigger
+     * than for regular files.
+     */
+    private static final int SIZE = 64 * 1024;
+
+    /**
+     * File path.
+     */
+    private final Path path;
+
+    /**
+     * IO executor.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * New file.
+     * @param path Path
+     */
+    public DirectFile(final Path path) {
+        this(path, IoExecutor.shared());
+    }
+
+    /**
+     * New file.
+     * @param path Path
+     * @param exec Executor service
+     */
+    public DirectFile(final Path path, final ExecutorService exec) {
+        this.path = path;
+        this.exec = exec;
+    }
+
+    /**
+     * File's content read by {@code 64KB} buffers aligned to file store block size.
+     * @return Content publisher
+     */
+    public Publisher<ByteBuffer> content() {
+        final StoreAligned buf = new StoreAligned();
+        return this.read(buf, buf::align);
+    }
+
+    /**
+     * File's content.
+     * @param buf Buffers policy, should provide buffers aligned to file store block size
+     * @return Content publisher
+     */
+    public Publisher<ByteBuffer> content(final Buffers buf) {
+        return this.read(
+            buf,
+            block -> {
+                // user buffers are not changed
+            }
+        );
+    }
+
+    /**
+     * Write data to file.
+     * @param data Data publisher
+     * @param opts Options
+     * @return Future
+     */
+    public CompletionStage<Void> write(final Publisher<ByteBuffer> data, final OpenOption... opts) {
+        return this.write(data, WriteGreed.SYSTEM.adaptive(), opts);
+    }
+
+    /**
+     * Write data to file.
+     * <p>
+     * File is written from the beginning and truncated to the size of written
+     * data on completion, {@link StandardOpenOption#APPEND} is not supported.
+     * </p>
+     * @param data Data publisher
+     * @param greed Greed level of consumer
+     * @param opts Options
+     * @return Future
+     */
+    public CompletionStage<Void> write(final Publisher<ByteBuffer> data,
+        final WriteGreed greed, final OpenOption... opts) {
+        final Set<OpenOption> options = DirectFile.writeOpts(opts);
+        return new WritableChannel(
+            () -> {
+                final FileChannel chan = FileChannel.open(this.path, options);
+                final int block;
+                try {
+                    block = DirectIo.blockSize(this.path);
+                } catch (final IOException err) {
+                    chan.close();
+                    throw err;
+                }
+                return new DirectWriteChannel(chan, block, DirectFile.stage(block));
+            },
+            this.exec
+        ).write(data, greed);
+    }
+
+    /**
+     * Read file content.
+     * @param buf Buffers policy
+     * @param align Action to accept file store block size before reading
+     * @return Content publisher
+     */
+    private Publisher<ByteBuffer> read(final Buffers buf, final IntConsumer align) {
+        final OpenOption direct = DirectIo.option();
+        return new ReadableChannel(
+            () -> {
+                final int block = DirectIo.blockSize(this.path);
+                align.accept(block);
+                return new DirectReadChannel(
+                    FileChannel.open(this.path, StandardOpenOption.READ, direct), block
+                );
+            },
+            this.exec
+        ).read(buf);
+    }
+
+    /**
+     * Size of buffer for direct IO.
+     * @param block Block size
+     * @return Default buffer size rounded to block size
+     */
+    private static int stage(final int block) {
+        return Math.max(DirectFile.SIZE / block, 1) * block;
+    }
+
+    /**
+     * Write options.
+     * @param src User specified options
+     * @return Fixed options
+     */
+    private static Set<OpenOption> writeOpts(final OpenOption... src) {
+        final Set<OpenOption> opts = new HashSet<>(Arrays.asList(src));
+        if (opts.contains(StandardOpenOption.APPEND)) {
+            throw new IllegalArgumentException("Append is not supported for direct IO");
+        }
+        if (opts.isEmpty()) {
+            opts.add(StandardOpenOption.CREATE);
+        }
+        opts.add(StandardOpenOption.WRITE);
+        opts.add(DirectIo.option());
+        return opts;
+    }
+
+    /**
+     * Buffers aligned to block size of file store, which is resolved
+     * on file open, the same as used for direct writes.
+     * @since 0.4
+     */
+    private static final class StoreAligned implements Buffers {
+
+        /**
+         * Aligned buffers, set on file open.
+         */
+        private volatile Buffers origin;
+
+        @Override
+        public ByteBuffer create() {
+            return this.origin.create();
+        }
+
+        /**
+         * Align buffers to block size.
+         * @param block Block size
+         */
+        void align(final int block) {
+            this.origin = new Buffers.Aligned(DirectFile.stage(block), block);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+
+/**
+ * Direct IO support.
+ * <p>
+ * Direct IO API is available only since JDK 10, so it's resolved at runtime
+ * to keep Java 8 compatibility.
+ * </p>
+ * @since 0.4
+ */
+final class DirectIo {
+
+    /**
+     * Direct open option or null if not supported.
+     */
+    private static final OpenOption DIRECT = DirectIo.direct();
+
+    /**
+     * File store block size method.
+     */
+    private static final MethodHandle BLOCK_SIZE = DirectIo.handle(
+        FileStore.class, "getBlockSize", MethodType.methodType(long.class)
+    );
+
+    /**
+     * Buffer alignment offset method.
+     */
+    private static final MethodHandle ALIGNMENT = DirectIo.handle(
+        ByteBuffer.class, "alignmentOffset",
+        MethodType.methodType(int.class, int.class, int.class)
+    );
+
+    /**
+     * Utility class.
+     */
+    private DirectIo() {
+    }
+
+    /**
+     * Direct open option.
+     * @return Open option
+     * @throws UnsupportedOperationException If not supported by JDK
+     */
+    static OpenOption option() {
+        if (DirectIo.DIRECT == null || DirectIo.BLOCK_SIZE == null) {
+            throw new UnsupportedOperationException("Direct IO requires JDK 10+");
+        }
+        return DirectIo.DIRECT;
+    }
+
+    /**
+     * Block size of file store, all direct IO operations
+     * should be aligned to it.
+     * @param path File path
+     * @return Block size
+     * @throws IOException On file store access error
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    static int blockSize(final Path path) throws IOException {
+        final FileStore store = Files.getFileStore(path);
+        try {
+            return (int) (long) DirectIo.BLOCK_SIZE.invokeExact(store);
+        } catch (final IOException err) {
+            throw err;
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Throwable err) {
+            throw new IOException("Failed to get block size", err);
+        }
+    }
+
+    /**
+     * Check if buffer can be used for direct IO as is.
+     * @param buf Byte buffer
+     * @param block Block size
+     * @return True if buffer memory and size are aligned to block size
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    static boolean aligned(final ByteBuffer buf, final int block) {
+        boolean res = buf.isDirect() && DirectIo.ALIGNMENT != null
+            && buf.remaining() % block == 0;
+        if (res) {
+            try {
+                res = (int) DirectIo.ALIGNMENT.invokeExact(buf, buf.position(), block) == 0;
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Throwable err) {
+                res = false;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Find direct open option.
+     * @return Option or null if not supported
+     */
+    private static OpenOption direct() {
+        OpenOption res;
+        try {
+            res = (OpenOption) Class.forName("com.sun.nio.file.ExtendedOpenOption")
+                .getField("DIRECT").get(null);
+        } catch (final ClassNotFoundException | NoSuchFieldException
+            | IllegalAccessException err) {
+            res = null;
+        }
+        return res;
+    }
+
+    /**
+     * Find public method handle.
+     * @param type Class
+     * @param name Method name
+     * @param sig Method type
+     * @return Method handle or null if not found
+     */
+    private static MethodHandle handle(final Class<?> type, final String name,
+        final MethodType sig) {
+        MethodHandle res;
+        try {
+            res = MethodHandles.publicLookup().findVirtual(type, name, sig);
+        } catch (final NoSuchMethodException | IllegalAccessException err) {
+            res = null;
+        }
+        return res;
+    }
+}
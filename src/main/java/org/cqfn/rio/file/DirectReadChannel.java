@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Readable channel for files opened for direct IO.
+ * <p>
+ * Direct IO read can't be performed from unaligned position, so after
+ * reading unaligned tail of the file the next read fails instead of
+ * returning end of stream. This channel treats short read which is not
+ * aligned to block size as the end of file, aligned short reads leave
+ * the position aligned, so reading continues.
+ * </p>
+ * @since 0.4
+ */
+final class DirectReadChannel implements ReadableByteChannel {
+
+    /**
+     * Origin channel.
+     */
+    private final ReadableByteChannel origin;
+
+    /**
+     * Block size.
+     */
+    private final int block;
+
+    /**
+     * End of file reached.
+     */
+    private boolean eof;
+
+    /**
+     * Wrap channel.
+     * @param origin Channel opened with direct option
+     * @param block Block size
+     */
+    DirectReadChannel(final ReadableByteChannel origin, final int block) {
+        this.origin = origin;
+        this.block = block;
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        final int read;
+        if (this.eof) {
+            read = -1;
+        } else {
+            read = this.origin.read(dst);
+            this.eof = read % this.block != 0;
+        }
+        return read;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return this.origin.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.origin.close();
+    }
+}
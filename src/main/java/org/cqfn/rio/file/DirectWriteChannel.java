@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.channel.AbortableChannel;
+
+/**
+ * Writable channel for files opened for direct IO.
+ * <p>
+ * Direct IO requires buffer memory, size and file position to be aligned to
+ * the block size. Aligned buffers are written as is, other data is copied
+ * into aligned stage buffer and written by blocks. The tail is padded with
+ * zeros up to the block size and the file is truncated to actual data size
+ * on close. Aborted channel is closed without writing staged tail.
+ * </p>
+ * @since 0.4
+ */
+final class DirectWriteChannel implements WritableByteChannel, AbortableChannel {
+
+    /**
+     * Origin channel.
+     */
+    private final FileChannel origin;
+
+    /**
+     * Block size.
+     */
+    private final int block;
+
+    /**
+     * Stage buffer.
+     */
+    private final ByteBuffer stage;
+
+    /**
+     * Amount of written bytes.
+     */
+    private long size;
+
+    /**
+     * Wrap file channel.
+     * @param origin Channel opened with direct option
+     * @param block Block size
+     * @param stage Stage buffer size, multiple of block size
+     */
+    DirectWriteChannel(final FileChannel origin, final int block, final int stage) {
+        this.origin = origin;
+        this.block = block;
+        this.stage = new Buffers.Aligned(stage, block).create();
+    }
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        final int total = src.remaining();
+        if (this.stage.position() == 0 && DirectIo.aligned(src, this.block)) {
+            while (src.hasRemaining()) {
+                this.origin.write(src);
+            }
+        } else {
+            while (src.hasRemaining()) {
+                final int len = Math.min(src.remaining(), this.stage.remaining());
+                final ByteBuffer part = src.duplicate();
+                ((Buffer) part).limit(part.position() + len);
+                this.stage.put(part);
+                ((Buffer) src).position(src.position() + len);
+                if (!this.stage.hasRemaining()) {
+                    this.flush();
+                }
+            }
+        }
+        this.size += total;
+        return total;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return this.origin.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.origin.isOpen()) {
+            return;
+        }
+        try {
+            final int len = this.stage.position();
+            if (len > 0) {
+                final int padded = (len + this.block - 1) / this.block * this.block;
+                while (this.stage.position() < padded) {
+                    this.stage.put((byte) 0);
+                }
+                this.flush();
+            }
+            this.origin.truncate(this.size);
+        } finally {
+            this.origin.close();
+        }
+    }
+
+    @Override
+    public void abort() throws IOException {
+        this.origin.close();
+    }
+
+    /**
+     * Write stage buffer to the channel.
+     * @throws IOException On write error
+     */
+    private void flush() throws IOException {
+        ((Buffer) this.stage).flip();
+        while (this.stage.hasRemaining()) {
+            this.origin.write(this.stage);
+        }
+        ((Buffer) this.stage).clear();
+    }
+}
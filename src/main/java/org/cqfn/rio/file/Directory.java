@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import org.cqfn.rio.IoExecutor;
+import org.reactivestreams.Publisher;
+
+/**
+ * Reactive directory API.
+ * @since 0.4
+ */
+public final class Directory {
+
+    /**
+     * Directory path.
+     */
+    private final Path path;
+
+    /**
+     * IO executor for directory listings.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * New directory.
+     * @param path Path
+     */
+    public Directory(final Path path) {
+        this(path, IoExecutor.shared());
+    }
+
+    /**
+     * New directory.
+     * @param path Path
+     * @param exec Executor service
+     */
+    public Directory(final Path path, final ExecutorService exec) {
+        this.path = path;
+        this.exec = exec;
+    }
+
+    /**
+     * Walk directory tree listing as many directories in parallel as
+     * available processors.
+     * @return Publisher of paths
+     * @see #walk(int)
+     */
+    public Publisher<Path> walk() {
+        return this.walk(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Walk directory tree.
+     * <p>
+     * Publisher emits the starting path and all files and directories of the tree,
+     * directories are listed in parallel on IO executor, so the order of paths
+     * is not defined, except that each directory is emitted before its entries.
+     * Symbolic links are not followed, entries removed while walking are skipped.
+     * Directory listings are suspended when subscriber doesn't keep up
+     * and too many paths are buffered.
+     * </p>
+     * @param parallelism Max amount of directories listed at the same time
+     * @return Publisher of paths
+     */
+    public Publisher<Path> walk(final int parallelism) {
+        return new WalkPublisher(this.path, this.exec, parallelism);
+    }
+}
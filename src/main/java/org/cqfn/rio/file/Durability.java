@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Durability policy of file write.
+ * <p>
+ * It's a write option for {@link File#write(org.reactivestreams.Publisher, OpenOption...)},
+ * which is applied when all data was written: it should make written data durable,
+ * close the channel and complete the future.
+ * </p>
+ * @since 0.4
+ */
+public interface Durability extends OpenOption {
+
+    /**
+     * Commit written data.
+     * @param path Path of the file
+     * @param chan File channel with written data, should be closed by policy
+     * @return Future completed when data is durable and channel is closed
+     */
+    CompletionStage<Void> commit(Path path, FileChannel chan);
+
+    /**
+     * Standard durability policies.
+     * @since 0.4
+     */
+    enum Standard implements Durability {
+        /**
+         * Don't sync, just close the channel.
+         */
+        NONE(false),
+        /**
+         * Sync data and metadata to storage device on write completion.
+         */
+        FSYNC(true);
+
+        /**
+         * Force channel on commit.
+         */
+        private final boolean force;
+
+        /**
+         * New standard durability.
+         * @param force Force channel on commit
+         */
+        Standard(final boolean force) {
+            this.force = force;
+        }
+
+        @Override
+        public CompletionStage<Void> commit(final Path path, final FileChannel chan) {
+            final CompletableFuture<Void> res = new CompletableFuture<>();
+            try {
+                try {
+                    if (this.force) {
+                        chan.force(true);
+                    }
+                } finally {
+                    chan.close();
+                }
+                res.complete(null);
+            } catch (final IOException err) {
+                res.completeExceptionally(err);
+            }
+            return res;
+        }
+    }
+}
@@ -24,17 +24,29 @@
  */
 package org.cqfn.rio.file;
 
+import com.jcabi.log.Logger;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 import org.cqfn.rio.Buffers;
 import org.cqfn.rio.IoExecutor;
 import org.cqfn.rio.WriteGreed;
-import org.cqfn.rio.channel.ReadableChannel;
 import org.cqfn.rio.channel.WritableChannel;
 import org.reactivestreams.Publisher;
 
@@ -44,6 +56,11 @@ import org.reactivestreams.Publisher;
  */
 public final class File {
 
+    /**
+     * Max size of file to read at once.
+     */
+    private static final long SMALL = 16 * 1024;
+
     /**
      * File path.
      */
@@ -82,14 +99,34 @@ public final class File {
 
     /**
      * File's content.
+     * <p>
+     * Files up to {@code 16KB}, which fit into one buffer of buffers policy,
+     * are read at once into this buffer, other files are streamed using
+     * buffers policy.
+     * </p>
      * @param buf Buffers policy
      * @return Content publisher
      */
     public Publisher<ByteBuffer> content(final Buffers buf) {
-        return new ReadableChannel(
+        return new ContentPublisher(
             () -> FileChannel.open(this.path, StandardOpenOption.READ),
-            this.exec
-        ).read(buf);
+            buf, this.exec, File.SMALL
+        );
+    }
+
+    /**
+     * File's content read from shared channel of the cache.
+     * <p>
+     * Read doesn't open new file channel if cache has valid one, the content
+     * is read using positional reads, so the channel could be used by many
+     * readers at the same time.
+     * </p>
+     * @param buf Buffers policy
+     * @param cache Channel cache
+     * @return Content publisher
+     */
+    public Publisher<ByteBuffer> content(final Buffers buf, final ChannelCache cache) {
+        return new ContentPublisher(() -> cache.channel(this.path), buf, this.exec, File.SMALL);
     }
 
     /**
@@ -104,19 +141,209 @@ public final class File {
 
     /**
      * Write data to file.
+     * <p>
+     * Options could include {@link Preallocate} with expected size of data,
+     * to extend the file before writing, {@link Durability} policy to apply
+     * on completion, and {@link WriteOption#ATOMIC} to write via temporary file.
+     * </p>
      * @param data Data publisher
      * @param greed Greed level of consumer
      * @param opts Options
      * @return Future
      * @checkstyle ParameterNumberCheck (7 lines)
+     * @checkstyle ExecutableStatementCountCheck (80 lines)
      */
-    @SuppressWarnings("PMD.OnlyOneReturn")
+    @SuppressWarnings({"PMD.OnlyOneReturn", "PMD.NPathComplexity"})
     public CompletionStage<Void> write(final Publisher<ByteBuffer> data,
         final WriteGreed greed, final OpenOption... opts) {
-        return new WritableChannel(
-            () -> FileChannel.open(this.path, writeOpts(opts)),
+        final Optional<Preallocate> prealloc = File.option(Preallocate.class, opts);
+        final Optional<Durability> durability = File.option(Durability.class, opts);
+        final boolean atomic = Arrays.asList(opts).contains(WriteOption.ATOMIC);
+        final OpenOption[] fixed = writeOpts(
+            Arrays.stream(opts)
+                .filter(opt -> !(opt instanceof Preallocate || opt instanceof Durability))
+                .filter(opt -> opt != WriteOption.ATOMIC)
+                .toArray(OpenOption[]::new)
+        );
+        final boolean append = Arrays.asList(fixed).contains(StandardOpenOption.APPEND);
+        if (prealloc.isPresent() && append) {
+            throw new IllegalArgumentException("Preallocate can't be used with append option");
+        }
+        if (atomic && append) {
+            throw new IllegalArgumentException("Atomic write can't be used with append option");
+        }
+        final Path target;
+        final OpenOption[] topts;
+        if (atomic) {
+            target = File.temp(this.path);
+            topts = File.temporary(fixed);
+        } else {
+            target = this.path;
+            topts = fixed;
+        }
+        final AtomicReference<CommitChannel> commit = new AtomicReference<>();
+        final CompletableFuture<Void> written = new WritableChannel(
+            () -> {
+                final FileChannel chan = FileChannel.open(target, topts);
+                WritableByteChannel res = chan;
+                if (durability.isPresent()) {
+                    final CommitChannel cmt = new CommitChannel(target, chan, durability.get());
+                    commit.set(cmt);
+                    res = cmt;
+                }
+                if (prealloc.isPresent()) {
+                    res = prealloc.get().allocate(chan, res);
+                }
+                return res;
+            },
             this.exec
-        ).write(data, greed);
+        ).write(data, greed).toCompletableFuture();
+        if (!durability.isPresent() && !atomic) {
+            return written;
+        }
+        CompletableFuture<Void> res = written;
+        if (durability.isPresent()) {
+            res = res.thenCompose(none -> commit.get().committed());
+        }
+        if (atomic) {
+            final boolean sync = durability.isPresent()
+                && durability.get() != Durability.Standard.NONE;
+            final boolean create = Arrays.asList(fixed).contains(StandardOpenOption.CREATE);
+            res = res.thenCompose(none -> File.move(target, this.path, create, sync))
+                .handle(
+                    (none, err) -> {
+                        if (err != null) {
+                            File.delete(target);
+                        }
+                        return err;
+                    }
+                ).thenCompose(File::result);
+        }
+        final CompletableFuture<Void> result = res;
+        result.whenComplete(
+            (none, err) -> {
+                if (result.isCancelled()) {
+                    written.cancel(true);
+                }
+            }
+        );
+        return result;
+    }
+
+    /**
+     * Temporary sibling path for atomic write.
+     * @param path Target path
+     * @return Temporary path
+     */
+    private static Path temp(final Path path) {
+        return path.resolveSibling(
+            String.format(
+                ".%s.%016x.tmp", path.getFileName(), ThreadLocalRandom.current().nextLong()
+            )
+        );
+    }
+
+    /**
+     * Options of temporary file for atomic write.
+     * @param opts Options of target file
+     * @return Options of temporary file
+     */
+    private static OpenOption[] temporary(final OpenOption... opts) {
+        final List<OpenOption> res = new ArrayList<>(
+            Arrays.asList(StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)
+        );
+        for (final OpenOption opt : opts) {
+            if (opt == StandardOpenOption.CREATE_NEW
+                || opt == StandardOpenOption.DELETE_ON_CLOSE) {
+                throw new IllegalArgumentException(
+                    String.format("Atomic write can't be used with %s option", opt)
+                );
+            }
+            if (opt == StandardOpenOption.SYNC || opt == StandardOpenOption.DSYNC
+                || opt == StandardOpenOption.SPARSE) {
+                res.add(opt);
+            }
+        }
+        return res.toArray(new OpenOption[0]);
+    }
+
+    /**
+     * Move temporary file to target atomically.
+     * @param src Temporary file
+     * @param dst Target path
+     * @param create Create target if it doesn't exist, otherwise it should exist
+     * @param sync Sync parent directory after move
+     * @return Future
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static CompletableFuture<Void> move(final Path src, final Path dst,
+        final boolean create, final boolean sync) {
+        final CompletableFuture<Void> res = new CompletableFuture<>();
+        try {
+            if (!create && Files.notExists(dst)) {
+                throw new NoSuchFileException(dst.toString());
+            }
+            Files.move(src, dst, StandardCopyOption.ATOMIC_MOVE);
+            if (sync) {
+                File.syncDir(dst.toAbsolutePath().getParent());
+            }
+            res.complete(null);
+        } catch (final IOException err) {
+            res.completeExceptionally(err);
+        }
+        return res;
+    }
+
+    /**
+     * Future of write result.
+     * @param err Write error or null on success
+     * @return Completed future
+     */
+    private static CompletableFuture<Void> result(final Throwable err) {
+        final CompletableFuture<Void> res = new CompletableFuture<>();
+        if (err == null) {
+            res.complete(null);
+        } else {
+            res.completeExceptionally(err);
+        }
+        return res;
+    }
+
+    /**
+     * Sync directory to make rename durable, it's not supported on some
+     * platforms, e.g. directories can't be opened on Windows.
+     * @param dir Directory
+     */
+    private static void syncDir(final Path dir) {
+        try (FileChannel chan = FileChannel.open(dir, StandardOpenOption.READ)) {
+            chan.force(true);
+        } catch (final IOException err) {
+            Logger.debug(File.class, "Failed to sync directory %s: %[exception]s", dir, err);
+        }
+    }
+
+    /**
+     * Delete temporary file.
+     * @param tmp Temporary file
+     */
+    private static void delete(final Path tmp) {
+        try {
+            Files.deleteIfExists(tmp);
+        } catch (final IOException err) {
+            Logger.warn(File.class, "Failed to delete %s: %[exception]s", tmp, err);
+        }
+    }
+
+    /**
+     * Find option of type.
+     * @param type Option type
+     * @param opts Options
+     * @param <T> Option type
+     * @return Option if present
+     */
+    private static <T extends OpenOption> Optional<T> option(final Class<T> type,
+        final OpenOption... opts) {
+        return Arrays.stream(opts).filter(type::isInstance).map(type::cast).findFirst();
     }
 
     /**
@@ -0,0 +1,206 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.cqfn.rio.IoExecutor;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+
+/**
+ * Group commit durability policy.
+ * <p>
+ * Background committer collects completed writes and syncs them in a batch:
+ * writes to the same file are coalesced into one sync, since forcing
+ * one channel of the file makes data written through its other channels
+ * durable too. Different files are synced one by one, there is no way
+ * to sync many files with one call in Java, so the batch saves syncs only
+ * for concurrent writes to the same files (e.g. appends to shared log)
+ * and moves syncs off IO threads. While committer is syncing one batch,
+ * next commits are queued for the next batch, then futures of the batch
+ * are completed together. All writers using the same instance are committed
+ * together, so it's recommended to share one instance between writers to
+ * the same file store.
+ * </p>
+ * @since 0.4
+ */
+public final class GroupCommit implements Durability {
+
+    /**
+     * Pending commits queue.
+     */
+    private final Queue<Pending> queue;
+
+    /**
+     * Committer running flag.
+     */
+    private final AtomicBoolean running;
+
+    /**
+     * Executor for committer.
+     */
+    private final Executor exec;
+
+    /**
+     * New group commit with shared IO executor.
+     */
+    public GroupCommit() {
+        this(IoExecutor.shared());
+    }
+
+    /**
+     * New group commit.
+     * @param exec Executor for committer, it uses one thread at a time
+     * @checkstyle MagicNumberCheck (5 lines)
+     */
+    public GroupCommit(final Executor exec) {
+        this.queue = new MpscUnboundedArrayQueue<>(128);
+        this.running = new AtomicBoolean();
+        this.exec = exec;
+    }
+
+    @Override
+    public CompletionStage<Void> commit(final Path path, final FileChannel chan) {
+        final Pending pending = new Pending(path.toAbsolutePath().normalize(), chan);
+        this.queue.add(pending);
+        if (this.running.compareAndSet(false, true)) {
+            this.exec.execute(this::run);
+        }
+        return pending.future;
+    }
+
+    @Override
+    public String toString() {
+        return "GROUP_COMMIT";
+    }
+
+    /**
+     * Committer loop.
+     */
+    private void run() {
+        final List<Pending> batch = new ArrayList<>(0);
+        while (true) {
+            for (Pending next = this.queue.poll(); next != null; next = this.queue.poll()) {
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                this.running.set(false);
+                if (this.queue.isEmpty() || !this.running.compareAndSet(false, true)) {
+                    break;
+                }
+                continue;
+            }
+            GroupCommit.commit(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Sync each file of the batch once, close all channels, then complete futures.
+     * @param batch Pending commits
+     */
+    private static void commit(final List<Pending> batch) {
+        final Map<Path, Pending> synced = new HashMap<>(batch.size());
+        for (final Pending pending : batch) {
+            final Pending first = synced.putIfAbsent(pending.path, pending);
+            if (first == null) {
+                try {
+                    pending.chan.force(true);
+                } catch (final IOException err) {
+                    pending.error = err;
+                }
+            } else {
+                pending.error = first.error;
+            }
+        }
+        for (final Pending pending : batch) {
+            try {
+                pending.chan.close();
+            } catch (final IOException err) {
+                if (pending.error == null) {
+                    pending.error = err;
+                } else {
+                    Logger.warn(GroupCommit.class, "Failed to close channel: %[exception]s", err);
+                }
+            }
+        }
+        for (final Pending pending : batch) {
+            if (pending.error == null) {
+                pending.future.complete(null);
+            } else {
+                pending.future.completeExceptionally(pending.error);
+            }
+        }
+    }
+
+    /**
+     * Pending commit.
+     * @since 0.4
+     */
+    private static final class Pending {
+
+        /**
+         * Normalized file path.
+         */
+        private final Path path;
+
+        /**
+         * Channel to sync.
+         */
+        private final FileChannel chan;
+
+        /**
+         * Commit future.
+         */
+        private final CompletableFuture<Void> future;
+
+        /**
+         * Commit error.
+         */
+        private IOException error;
+
+        /**
+         * New pending commit.
+         * @param path Normalized file path
+         * @param chan Channel to sync
+         */
+        Pending(final Path path, final FileChannel chan) {
+            this.path = path;
+            this.chan = chan;
+            this.future = new CompletableFuture<>();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.reactivestreams.Publisher;
+
+/**
+ * Memory-mapped file.
+ * <p>
+ * Content is published as read-only buffer views of mapped memory, without
+ * reading into buffers on IO executor: pages are loaded when the subscriber
+ * accesses the buffers.
+ * </p>
+ * <p>
+ * Before Java 22 the file is mapped by {@link java.nio.MappedByteBuffer}
+ * windows up to 1GB, which are unmapped by garbage collector when all buffers
+ * are unreachable. On Java 22 and newer (multi-release JAR) whole file is
+ * mapped into one memory segment of shared arena without 2GB limit, and it's
+ * unmapped deterministically: when the subscription is cancelled or when this
+ * file is closed. Completed subscriptions keep the mapping, so asynchronous
+ * consumers, e.g. {@link File#write(org.reactivestreams.Publisher,
+ * java.nio.file.OpenOption...)}, could use the buffers after completion signal,
+ * and the file should be closed after consumers are done. Access to buffers
+ * after unmap fails with {@link IllegalStateException}.
+ * </p>
+ * <p>
+ * Usage example:
+ * <pre>{@code
+ * try (MappedFile src = new MappedFile(Paths.get("huge.bin"))) {
+ *     new File(Paths.get("copy.bin")).write(src.content()).toCompletableFuture().join();
+ * }
+ * }</pre>
+ * </p>
+ * @since 0.4
+ */
+public final class MappedFile implements AutoCloseable {
+
+    /**
+     * Default size of published buffers.
+     */
+    private static final int CHUNK = 1 << 20;
+
+    /**
+     * File path.
+     */
+    private final Path path;
+
+    /**
+     * Size of published buffers.
+     */
+    private final int chunk;
+
+    /**
+     * Active mappings.
+     */
+    private final Mappings mappings;
+
+    /**
+     * Mapped file with 1MB buffers.
+     * @param path File path
+     */
+    public MappedFile(final Path path) {
+        this(path, MappedFile.CHUNK);
+    }
+
+    /**
+     * Mapped file.
+     * @param path File path
+     * @param chunk Size of published buffers
+     */
+    public MappedFile(final Path path, final int chunk) {
+        if (chunk < 1) {
+            throw new IllegalArgumentException("Chunk size should be positive");
+        }
+        this.path = path;
+        this.chunk = chunk;
+        this.mappings = new Mappings();
+    }
+
+    /**
+     * File's content.
+     * @return Publisher of mapped buffers, it fails on subscribe if this file is closed
+     */
+    public Publisher<ByteBuffer> content() {
+        return new MappedPublisher(
+            () -> FileChannel.open(this.path, StandardOpenOption.READ),
+            this.chunk, this.mappings
+        );
+    }
+
+    /**
+     * Unmap all content mappings of this file, if they are not unmapped yet.
+     * Buffers of all subscriptions should not be accessed after that.
+     */
+    @Override
+    public void close() {
+        this.mappings.close();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+import org.cqfn.rio.channel.ChannelSource;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Publisher of mapped file content.
+ * @since 0.4
+ */
+final class MappedPublisher implements Publisher<ByteBuffer> {
+
+    /**
+     * Channel source.
+     */
+    private final ChannelSource<? extends FileChannel> src;
+
+    /**
+     * Size of published buffers.
+     */
+    private final int chunk;
+
+    /**
+     * Active mappings of the file.
+     */
+    private final Mappings mappings;
+
+    /**
+     * New publisher.
+     * @param src Channel source
+     * @param chunk Size of published buffers
+     * @param mappings Active mappings of the file
+     */
+    MappedPublisher(final ChannelSource<? extends FileChannel> src, final int chunk,
+        final Mappings mappings) {
+        this.src = src;
+        this.chunk = chunk;
+        this.mappings = mappings;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber can't be null");
+        final FileChannel chan;
+        try {
+            if (this.mappings.isClosed()) {
+                throw new ClosedChannelException();
+            }
+            chan = this.src.channel();
+        } catch (final IOException err) {
+            subscriber.onSubscribe(Subscriptions.DUMMY);
+            subscriber.onError(err);
+            return;
+        }
+        subscriber.onSubscribe(
+            new MappedSubscription(subscriber, chan, this.chunk, this.mappings)
+        );
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscription of mapped file content.
+ * <p>
+ * The file is mapped by windows up to 1GB, because {@link java.nio.MappedByteBuffer}
+ * can't be bigger than 2GB. Mapped windows are not unmapped explicitly, they are
+ * released by garbage collector when all buffer views are unreachable, so they are
+ * not registered in file mappings.
+ * Java 22 version of this class maps the file into memory segment instead.
+ * </p>
+ * @since 0.4
+ */
+final class MappedSubscription implements Subscription {
+
+    /**
+     * Max size of mapped window.
+     */
+    private static final long WINDOW = 1L << 30;
+
+    /**
+     * Subscriber.
+     */
+    private final Subscriber<? super ByteBuffer> sub;
+
+    /**
+     * File channel.
+     */
+    private final FileChannel chan;
+
+    /**
+     * Size of published buffers.
+     */
+    private final int chunk;
+
+    /**
+     * Downstream demand.
+     */
+    private final AtomicLong demand;
+
+    /**
+     * Drain loop work in progress counter.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * Cancelled by subscriber.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Rule violation error.
+     */
+    private volatile Throwable violation;
+
+    /**
+     * Terminated, drain loop only.
+     */
+    private boolean done;
+
+    /**
+     * File size, negative if unknown, drain loop only.
+     */
+    private long size;
+
+    /**
+     * Next position to publish, drain loop only.
+     */
+    private long pos;
+
+    /**
+     * Current mapped window, drain loop only.
+     */
+    private ByteBuffer window;
+
+    /**
+     * Position of current window, drain loop only.
+     */
+    private long start;
+
+    /**
+     * New subscription.
+     * @param sub Subscriber
+     * @param chan File channel
+     * @param chunk Size of published buffers
+     * @param mappings Active mappings of the file, not used by this version
+     */
+    @SuppressWarnings("PMD.UnusedFormalParameter")
+    MappedSubscription(final Subscriber<? super ByteBuffer> sub, final FileChannel chan,
+        final int chunk, final Mappings mappings) {
+        this.sub = sub;
+        this.chan = chan;
+        this.chunk = chunk;
+        this.demand = new AtomicLong();
+        this.wip = new AtomicInteger();
+        this.size = -1L;
+    }
+
+    @Override
+    public void request(final long count) {
+        if (count <= 0) {
+            this.violation = Subscriptions.violation(count);
+        } else {
+            Subscriptions.add(this.demand, count);
+        }
+        this.drain();
+    }
+
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+        this.drain();
+    }
+
+    /**
+     * Drain loop.
+     */
+    private void drain() {
+        if (this.wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            this.emit();
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Emit mapped buffers on demand.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private void emit() {
+        while (!this.done) {
+            if (this.cancelled) {
+                this.terminate();
+                break;
+            }
+            final Throwable err = this.violation;
+            if (err != null) {
+                this.terminate();
+                this.sub.onError(err);
+                break;
+            }
+            try {
+                if (this.size < 0) {
+                    this.size = this.chan.size();
+                }
+                if (this.pos >= this.size) {
+                    this.terminate();
+                    this.sub.onComplete();
+                    break;
+                }
+                if (this.demand.get() == 0) {
+                    break;
+                }
+                final ByteBuffer next = this.next();
+                this.demand.decrementAndGet();
+                this.sub.onNext(next);
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Throwable exx) {
+                this.terminate();
+                this.sub.onError(exx);
+            }
+        }
+    }
+
+    /**
+     * Next buffer view of mapped window, mapping new window if needed.
+     * @return Buffer
+     * @throws IOException On map error
+     */
+    private ByteBuffer next() throws IOException {
+        if (this.window == null || this.pos >= this.start + this.window.capacity()) {
+            this.start = this.pos;
+            this.window = this.chan.map(
+                FileChannel.MapMode.READ_ONLY, this.pos,
+                Math.min(MappedSubscription.WINDOW, this.size - this.pos)
+            );
+        }
+        final int off = (int) (this.pos - this.start);
+        final int len = Math.min(this.chunk, this.window.capacity() - off);
+        final ByteBuffer res = this.window.duplicate();
+        ((Buffer) res).position(off).limit(off + len);
+        this.pos += len;
+        return res;
+    }
+
+    /**
+     * Terminate the subscription and close the channel.
+     */
+    private void terminate() {
+        this.done = true;
+        this.window = null;
+        try {
+            this.chan.close();
+        } catch (final IOException err) {
+            Logger.warn(this, "Failed to close channel: %[exception]s", err);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Active mappings of {@link MappedFile}, which are unmapped when the file
+ * is closed.
+ * <p>
+ * Each mapping is registered by unmap action, which is executed once:
+ * either when the mapping is released by its subscription or when all
+ * mappings are closed.
+ * </p>
+ * @since 0.4
+ */
+final class Mappings {
+
+    /**
+     * Unmap actions of active mappings.
+     */
+    private final Set<Runnable> active;
+
+    /**
+     * Closed flag, guarded by this.
+     */
+    private boolean closed;
+
+    /**
+     * New mappings.
+     */
+    Mappings() {
+        this.active = new HashSet<>();
+    }
+
+    /**
+     * Register new mapping.
+     * @param unmap Unmap action
+     * @return False if mappings are closed, the action is not registered then
+     */
+    synchronized boolean register(final Runnable unmap) {
+        final boolean res = !this.closed;
+        if (res) {
+            this.active.add(unmap);
+        }
+        return res;
+    }
+
+    /**
+     * Unmap registered mapping if it's still active.
+     * @param unmap Unmap action
+     */
+    void release(final Runnable unmap) {
+        final boolean removed;
+        synchronized (this) {
+            removed = this.active.remove(unmap);
+        }
+        if (removed) {
+            unmap.run();
+        }
+    }
+
+    /**
+     * Check if mappings are closed.
+     * @return True if closed
+     */
+    synchronized boolean isClosed() {
+        return this.closed;
+    }
+
+    /**
+     * Unmap all active mappings and reject new ones.
+     */
+    void close() {
+        final List<Runnable> unmap;
+        synchronized (this) {
+            this.closed = true;
+            unmap = new ArrayList<>(this.active);
+            this.active.clear();
+        }
+        unmap.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Read-only channel view of shared file channel with own position.
+ * <p>
+ * It reads shared channel using positional reads, which don't change
+ * channel position and could be performed concurrently. Closing the view
+ * doesn't close shared channel, but runs release callback once.
+ * </p>
+ * @since 0.4
+ */
+final class PositionalChannel implements SeekableByteChannel {
+
+    /**
+     * Shared file channel.
+     */
+    private final FileChannel chan;
+
+    /**
+     * Release callback.
+     */
+    private final Runnable release;
+
+    /**
+     * Current position.
+     */
+    private long pos;
+
+    /**
+     * Open flag.
+     */
+    private boolean open;
+
+    /**
+     * New channel view.
+     * @param chan Shared file channel
+     * @param release Release callback
+     */
+    PositionalChannel(final FileChannel chan, final Runnable release) {
+        this.chan = chan;
+        this.release = release;
+        this.open = true;
+    }
+
+    @Override
+    public synchronized int read(final ByteBuffer dst) throws IOException {
+        this.check();
+        final int read = this.chan.read(dst, this.pos);
+        if (read > 0) {
+            this.pos += read;
+        }
+        return read;
+    }
+
+    @Override
+    public int write(final ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        this.check();
+        return this.pos;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel position(final long position) throws IOException {
+        this.check();
+        if (position < 0) {
+            throw new IllegalArgumentException("Negative position");
+        }
+        this.pos = position;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        this.check();
+        return this.chan.size();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(final long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return this.open;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.open) {
+            this.open = false;
+            this.release.run();
+        }
+    }
+
+    /**
+     * Check channel is open.
+     * @throws ClosedChannelException If closed
+     */
+    private synchronized void check() throws ClosedChannelException {
+        if (!this.open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
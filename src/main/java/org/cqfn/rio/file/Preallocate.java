@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.OpenOption;
+
+/**
+ * Write option with expected size of data.
+ * <p>
+ * When passed to {@link File#write(org.reactivestreams.Publisher, OpenOption...)},
+ * the file is extended to expected size before writing, instead of growing
+ * chunk by chunk, and truncated to the actual length of written data on completion
+ * if it's shorter than expected. It can't be used with
+ * {@link java.nio.file.StandardOpenOption#APPEND}.
+ * </p>
+ * <p>
+ * Java has no API for {@code fallocate}, and extending the file by writing
+ * its last byte creates a sparse hole without allocated blocks, so the region
+ * is filled with zeros, the same way as {@code posix_fallocate} does it on
+ * file systems without native support. It's a trade-off: every byte of
+ * the region is written twice, first zeros and then data, so the write itself
+ * is slower, e.g. about 1.5 times for 256MB file in page cache, and up to
+ * two times when disk bandwidth is the limit (see {@code PreallocateBenchmark}
+ * and {@code make bench_prealloc} in benchmarks). In return the file system
+ * allocates the blocks at once, in contiguous extents if possible, and
+ * out of space error is reported before any data is written. Use it for big
+ * files which are written slowly or concurrently with other files and read
+ * sequentially later, not to speed up the write.
+ * </p>
+ * @since 0.4
+ */
+public final class Preallocate implements OpenOption {
+
+    /**
+     * Size of zeros buffer.
+     */
+    private static final int ZEROS = 64 * 1024;
+
+    /**
+     * Expected size.
+     */
+    private final long size;
+
+    /**
+     * New preallocate option.
+     * @param size Expected size of data in bytes
+     */
+    public Preallocate(final long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size can't be negative");
+        }
+        this.size = size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PREALLOCATE(%d)", this.size);
+    }
+
+    /**
+     * Extend file channel to expected size, filling new region with zeros.
+     * @param chan File channel opened for write
+     * @param next Channel to write data to and close, backed by the file channel
+     * @return Channel which truncates file to actual size on close
+     * @throws IOException On IO error
+     */
+    WritableByteChannel allocate(final FileChannel chan, final WritableByteChannel next)
+        throws IOException {
+        final long orig = chan.size();
+        if (this.size > orig) {
+            try {
+                Preallocate.zeros(chan, orig, this.size);
+            } catch (final IOException err) {
+                chan.close();
+                throw err;
+            }
+        }
+        return new PreallocatedChannel(chan, next, orig, Math.max(orig, this.size));
+    }
+
+    /**
+     * Fill file region with zeros.
+     * @param chan File channel
+     * @param from Start position
+     * @param until End position
+     * @throws IOException On IO error
+     */
+    private static void zeros(final FileChannel chan, final long from, final long until)
+        throws IOException {
+        final ByteBuffer zeros = ByteBuffer.allocateDirect(
+            (int) Math.min(Preallocate.ZEROS, until - from)
+        );
+        long pos = from;
+        while (pos < until) {
+            ((Buffer) zeros).clear();
+            if (until - pos < zeros.capacity()) {
+                ((Buffer) zeros).limit((int) (until - pos));
+            }
+            while (zeros.hasRemaining()) {
+                pos += chan.write(zeros, pos);
+            }
+        }
+    }
+}
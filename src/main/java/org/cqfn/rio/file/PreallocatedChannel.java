@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import org.cqfn.rio.channel.AbortableChannel;
+
+/**
+ * Channel of preallocated file.
+ * <p>
+ * It truncates the file to the actual length of data on close if it's
+ * shorter than preallocated size, but not shorter than the original file
+ * size, to keep the same semantics as regular write. Aborted channel is
+ * truncated too, so zeros of preallocated region don't look like data.
+ * </p>
+ * @since 0.4
+ */
+final class PreallocatedChannel implements WritableByteChannel, AbortableChannel {
+
+    /**
+     * File channel.
+     */
+    private final FileChannel file;
+
+    /**
+     * Origin channel, backed by file channel.
+     */
+    private final WritableByteChannel origin;
+
+    /**
+     * Original file size.
+     */
+    private final long orig;
+
+    /**
+     * Preallocated file size.
+     */
+    private final long allocated;
+
+    /**
+     * Wrap channel.
+     * @param file Preallocated file channel
+     * @param origin Channel to write data to and close, backed by the file channel
+     * @param orig Original file size
+     * @param allocated Preallocated file size
+     */
+    PreallocatedChannel(final FileChannel file, final WritableByteChannel origin,
+        final long orig, final long allocated) {
+        this.file = file;
+        this.origin = origin;
+        this.orig = orig;
+        this.allocated = allocated;
+    }
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+        return this.origin.write(src);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return this.origin.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.origin.isOpen()) {
+            return;
+        }
+        try {
+            this.truncate();
+        } finally {
+            this.origin.close();
+        }
+    }
+
+    @Override
+    public void abort() throws IOException {
+        if (!this.origin.isOpen()) {
+            return;
+        }
+        try {
+            this.truncate();
+        } finally {
+            if (this.origin instanceof AbortableChannel) {
+                ((AbortableChannel) this.origin).abort();
+            } else {
+                this.origin.close();
+            }
+        }
+    }
+
+    /**
+     * Truncate the file to the end of written data, if it's shorter
+     * than preallocated size.
+     * @throws IOException On IO error
+     */
+    private void truncate() throws IOException {
+        final long end = Math.max(this.orig, this.file.position());
+        if (end < this.allocated) {
+            this.file.truncate(end);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscription which replays in-memory content chunks.
+ * <p>
+ * Chunks are emitted on requesting thread, all signals are serialized
+ * by drain loop.
+ * </p>
+ * @since 0.4
+ */
+final class ReplaySubscription implements Subscription {
+
+    /**
+     * Target subscriber.
+     */
+    private final Subscriber<? super ByteBuffer> sub;
+
+    /**
+     * Content chunks iterator, accessed from drain loop only.
+     */
+    private final Iterator<ByteBuffer> data;
+
+    /**
+     * Requested items.
+     */
+    private final AtomicLong demand;
+
+    /**
+     * Drain loop work-in-progress counter.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * Subscription was terminated, accessed from drain loop only.
+     */
+    private boolean done;
+
+    /**
+     * Cancellation flag.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Rule violation error.
+     */
+    private volatile Throwable violation;
+
+    /**
+     * New subscription.
+     * @param sub Subscriber
+     * @param data Content chunks
+     */
+    ReplaySubscription(final Subscriber<? super ByteBuffer> sub, final List<ByteBuffer> data) {
+        this.sub = sub;
+        this.data = data.iterator();
+        this.demand = new AtomicLong();
+        this.wip = new AtomicInteger();
+    }
+
+    @Override
+    public void request(final long count) {
+        if (count <= 0) {
+            this.violation = Subscriptions.violation(count);
+        } else {
+            Subscriptions.add(this.demand, count);
+        }
+        this.drain();
+    }
+
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+        this.drain();
+    }
+
+    /**
+     * Drain loop: emit chunks while requested.
+     */
+    private void drain() {
+        if (this.wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            this.emit();
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Emit chunks to subscriber.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private void emit() {
+        while (!this.done) {
+            if (this.cancelled) {
+                this.done = true;
+                break;
+            }
+            final Throwable err = this.violation;
+            if (err != null) {
+                this.done = true;
+                this.sub.onError(err);
+                break;
+            }
+            if (!this.data.hasNext()) {
+                this.done = true;
+                this.sub.onComplete();
+                break;
+            }
+            if (this.demand.get() == 0) {
+                break;
+            }
+            this.demand.decrementAndGet();
+            try {
+                this.sub.onNext(this.data.next());
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Throwable exx) {
+                this.done = true;
+                this.sub.onError(exx);
+            }
+        }
+    }
+}
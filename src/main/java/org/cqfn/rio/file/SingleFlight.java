@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.IoExecutor;
+import org.cqfn.rio.multicast.Flights;
+import org.reactivestreams.Publisher;
+
+/**
+ * Single-flight file reads.
+ * <p>
+ * Concurrent subscribers to the content of the same file share one underlying read:
+ * the file is read once and each buffer is emitted to all subscribers as
+ * read-only view. Each subscriber has own demand, the read goes ahead of the
+ * slowest subscriber for up to {@code window} buffers. Subscriber can join
+ * running read while its first buffer is retained, read buffers are retained
+ * until all subscribers received them and the window is full; otherwise
+ * new read is started, see {@link Flights}.
+ * </p>
+ * @since 0.4
+ */
+public final class SingleFlight {
+
+    /**
+     * Default window size.
+     */
+    private static final int WINDOW = 16;
+
+    /**
+     * Reads of file content by path and buffers policy.
+     */
+    private final BiFunction<Path, Buffers, Publisher<ByteBuffer>> reads;
+
+    /**
+     * Joinable reads by path.
+     */
+    private final Flights<Path> flights;
+
+    /**
+     * New single-flight reads with default window.
+     */
+    public SingleFlight() {
+        this(SingleFlight.WINDOW);
+    }
+
+    /**
+     * New single-flight reads.
+     * @param window Max amount of buffers read ahead of the slowest subscriber
+     */
+    public SingleFlight(final int window) {
+        this(window, IoExecutor.shared());
+    }
+
+    /**
+     * New single-flight reads.
+     * @param window Max amount of buffers read ahead of the slowest subscriber
+     * @param exec IO executor
+     */
+    public SingleFlight(final int window, final ExecutorService exec) {
+        this(window, (path, buf) -> new File(path, exec).content(buf));
+    }
+
+    /**
+     * New single-flight reads.
+     * @param window Max amount of buffers read ahead of the slowest subscriber
+     * @param reads Reads of file content by path and buffers policy
+     */
+    SingleFlight(final int window,
+        final BiFunction<Path, Buffers, Publisher<ByteBuffer>> reads) {
+        this.reads = reads;
+        this.flights = new Flights<>(window);
+    }
+
+    /**
+     * File's content.
+     * @param path File path
+     * @return Content publisher
+     */
+    public Publisher<ByteBuffer> content(final Path path) {
+        return this.content(path, Buffers.Standard.K8);
+    }
+
+    /**
+     * File's content.
+     * @param path File path
+     * @param buf Buffers policy, subscribers joining running read get buffers
+     *  allocated by the policy of the first subscriber
+     * @return Content publisher
+     */
+    public Publisher<ByteBuffer> content(final Path path, final Buffers buf) {
+        return this.flights.publisher(path, () -> this.reads.apply(path, buf));
+    }
+}
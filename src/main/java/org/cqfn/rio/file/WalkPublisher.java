@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Publisher of directory tree paths.
+ * @since 0.4
+ */
+final class WalkPublisher implements Publisher<Path> {
+
+    /**
+     * Starting path.
+     */
+    private final Path root;
+
+    /**
+     * IO executor for listings.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Max amount of parallel listings.
+     */
+    private final int parallelism;
+
+    /**
+     * New publisher.
+     * @param root Starting path
+     * @param exec IO executor
+     * @param parallelism Max amount of parallel listings
+     */
+    WalkPublisher(final Path root, final ExecutorService exec, final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism should be positive");
+        }
+        this.root = root;
+        this.exec = exec;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super Path> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber can't be null");
+        final BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(this.root, BasicFileAttributes.class);
+        } catch (final IOException err) {
+            subscriber.onSubscribe(Subscriptions.DUMMY);
+            subscriber.onError(err);
+            return;
+        }
+        subscriber.onSubscribe(
+            new WalkSubscription(
+                subscriber, this.root, attrs.isDirectory(), this.exec, this.parallelism
+            )
+        );
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscription for parallel directory tree walk.
+ * <p>
+ * Directories are listed by up to {@code parallelism} listing tasks on IO executor,
+ * each task puts entries into output queue and schedules found subdirectories
+ * for listing. When subscriber doesn't keep up and output queue is full, tasks
+ * are suspended with directory stream open, and resumed by drain loop when
+ * the subscriber requests more paths. All signals to subscriber are serialized
+ * by drain loop.
+ * </p>
+ * @since 0.4
+ * @checkstyle CyclomaticComplexityCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+final class WalkSubscription implements Subscription {
+
+    /**
+     * Max amount of buffered paths, listings are suspended when reached.
+     */
+    private static final int LIMIT = 1024;
+
+    /**
+     * Amount of paths listed before notifying drain loop.
+     */
+    private static final int BATCH = 64;
+
+    /**
+     * Target subscriber.
+     */
+    private final Subscriber<? super Path> sub;
+
+    /**
+     * IO executor for listings.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Max amount of parallel listings.
+     */
+    private final int parallelism;
+
+    /**
+     * Requested items.
+     */
+    private final AtomicLong demand;
+
+    /**
+     * Drain loop work-in-progress counter.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * Listed paths to emit.
+     */
+    private final Queue<Path> output;
+
+    /**
+     * Amount of paths in output queue.
+     */
+    private final AtomicInteger buffered;
+
+    /**
+     * Lock for listings state.
+     */
+    private final Object lock;
+
+    /**
+     * Directories to list, guarded by lock.
+     */
+    private final Queue<Path> dirs;
+
+    /**
+     * Suspended listings, guarded by lock.
+     */
+    private final Queue<Listing> suspended;
+
+    /**
+     * Amount of running listings, guarded by lock.
+     */
+    private int active;
+
+    /**
+     * Subscription was terminated, accessed from drain loop only.
+     */
+    private boolean done;
+
+    /**
+     * Cancellation flag, it stops listings too.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Listing error or rule violation.
+     */
+    private volatile Throwable error;
+
+    /**
+     * New subscription.
+     * @param sub Subscriber
+     * @param root Starting path
+     * @param dir Starting path is a directory
+     * @param exec IO executor
+     * @param parallelism Max amount of parallel listings
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    WalkSubscription(final Subscriber<? super Path> sub, final Path root, final boolean dir,
+        final ExecutorService exec, final int parallelism) {
+        this.sub = sub;
+        this.exec = exec;
+        this.parallelism = parallelism;
+        this.demand = new AtomicLong();
+        this.wip = new AtomicInteger();
+        this.output = new MpscUnboundedArrayQueue<>(WalkSubscription.BATCH);
+        this.buffered = new AtomicInteger(1);
+        this.lock = new Object();
+        this.dirs = new ArrayDeque<>();
+        this.suspended = new ArrayDeque<>();
+        this.output.add(root);
+        if (dir) {
+            this.dirs.add(root);
+        }
+    }
+
+    @Override
+    public void request(final long count) {
+        if (count <= 0) {
+            this.error = Subscriptions.violation(count);
+        } else {
+            Subscriptions.add(this.demand, count);
+        }
+        this.drain();
+    }
+
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+        this.drain();
+    }
+
+    /**
+     * Drain loop: emit listed paths and schedule listings.
+     */
+    private void drain() {
+        if (this.wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            this.emit();
+            if (!this.done) {
+                this.schedule();
+            }
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Emit listed paths to subscriber.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private void emit() {
+        while (!this.done) {
+            if (this.cancelled) {
+                this.terminate();
+                break;
+            }
+            final Throwable err = this.error;
+            if (err != null) {
+                this.terminate();
+                this.sub.onError(err);
+                break;
+            }
+            if (this.demand.get() > 0 && !this.output.isEmpty()) {
+                final Path next = this.output.poll();
+                this.buffered.decrementAndGet();
+                this.demand.decrementAndGet();
+                try {
+                    this.sub.onNext(next);
+                    // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final Throwable exx) {
+                    this.terminate();
+                    this.sub.onError(exx);
+                    break;
+                }
+            } else {
+                if (this.finished() && this.output.isEmpty()) {
+                    this.terminate();
+                    this.sub.onComplete();
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Start or resume listings if there are free slots and output is not full.
+     */
+    private void schedule() {
+        synchronized (this.lock) {
+            while (this.active < this.parallelism
+                && this.buffered.get() < WalkSubscription.LIMIT) {
+                Listing next = this.suspended.poll();
+                if (next == null) {
+                    final Path dir = this.dirs.poll();
+                    if (dir == null) {
+                        break;
+                    }
+                    next = new Listing(dir);
+                }
+                ++this.active;
+                try {
+                    this.exec.execute(next);
+                } catch (final RejectedExecutionException err) {
+                    --this.active;
+                    next.close();
+                    this.error = err;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Check all directories were listed.
+     * @return True if nothing to list
+     */
+    private boolean finished() {
+        synchronized (this.lock) {
+            return this.active == 0 && this.dirs.isEmpty() && this.suspended.isEmpty();
+        }
+    }
+
+    /**
+     * Terminate the subscription, stop and close listings.
+     */
+    private void terminate() {
+        this.done = true;
+        this.cancelled = true;
+        synchronized (this.lock) {
+            this.dirs.clear();
+            for (final Listing listing : this.suspended) {
+                listing.close();
+            }
+            this.suspended.clear();
+        }
+        this.output.clear();
+    }
+
+    /**
+     * Listing task of one directory.
+     * @since 0.4
+     */
+    private final class Listing implements Runnable {
+
+        /**
+         * Directory to list.
+         */
+        private final Path dir;
+
+        /**
+         * Directory stream, it's open on first run.
+         */
+        private DirectoryStream<Path> stream;
+
+        /**
+         * Directory entries iterator.
+         */
+        private Iterator<Path> iter;
+
+        /**
+         * New listing.
+         * @param dir Directory to list
+         */
+        Listing(final Path dir) {
+            this.dir = dir;
+        }
+
+        @Override
+        public void run() {
+            final WalkSubscription parent = WalkSubscription.this;
+            final List<Path> found = new ArrayList<>(0);
+            boolean more = false;
+            try {
+                if (this.stream == null) {
+                    this.stream = Files.newDirectoryStream(this.dir);
+                    this.iter = this.stream.iterator();
+                }
+                int count = 0;
+                while (!parent.cancelled && parent.buffered.get() < WalkSubscription.LIMIT
+                    && this.iter.hasNext()) {
+                    final Path path = this.iter.next();
+                    final BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(
+                            path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS
+                        );
+                    } catch (final NoSuchFileException ignored) {
+                        continue;
+                    }
+                    if (attrs.isDirectory()) {
+                        found.add(path);
+                    }
+                    parent.output.add(path);
+                    parent.buffered.incrementAndGet();
+                    if (++count % WalkSubscription.BATCH == 0) {
+                        parent.drain();
+                    }
+                }
+                more = !parent.cancelled && this.iter.hasNext();
+            } catch (final NoSuchFileException ignored) {
+                Logger.debug(this, "Directory %s was removed while walking", this.dir);
+            } catch (final IOException | DirectoryIteratorException | SecurityException err) {
+                parent.error = err;
+            }
+            synchronized (parent.lock) {
+                parent.dirs.addAll(found);
+                --parent.active;
+                if (more && !parent.cancelled) {
+                    parent.suspended.add(this);
+                } else {
+                    this.close();
+                }
+            }
+            parent.drain();
+        }
+
+        /**
+         * Close directory stream.
+         */
+        void close() {
+            if (this.stream != null) {
+                try {
+                    this.stream.close();
+                } catch (final IOException err) {
+                    Logger.warn(this, "Failed to close directory stream: %[exception]s", err);
+                }
+            }
+        }
+    }
+}
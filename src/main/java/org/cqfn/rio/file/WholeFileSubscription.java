@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscription which reads the whole file into one buffer.
+ * <p>
+ * On first request it reads file content of known size on IO executor
+ * into the buffer limited to file size, usually with a single read operation,
+ * and emits this buffer with completion signal, without reading until
+ * end of file.
+ * </p>
+ * @since 0.4
+ */
+final class WholeFileSubscription implements Subscription, Runnable {
+
+    /**
+     * Target subscriber.
+     */
+    private final Subscriber<? super ByteBuffer> sub;
+
+    /**
+     * File channel.
+     */
+    private final ReadableByteChannel chan;
+
+    /**
+     * Target buffer, its remaining space is the file size.
+     */
+    private final ByteBuffer buf;
+
+    /**
+     * IO executor.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Read was started or subscription was cancelled.
+     */
+    private final AtomicBoolean started;
+
+    /**
+     * Cancellation flag.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * New subscription.
+     * @param sub Subscriber
+     * @param chan File channel
+     * @param buf Target buffer limited to file size
+     * @param exec IO executor
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    WholeFileSubscription(final Subscriber<? super ByteBuffer> sub, final ReadableByteChannel chan,
+        final ByteBuffer buf, final ExecutorService exec) {
+        this.sub = sub;
+        this.chan = chan;
+        this.buf = buf;
+        this.exec = exec;
+        this.started = new AtomicBoolean();
+    }
+
+    @Override
+    @SuppressWarnings("PMD.OnlyOneReturn")
+    public void request(final long count) {
+        if (!this.started.compareAndSet(false, true)) {
+            return;
+        }
+        if (count <= 0) {
+            this.close();
+            this.sub.onError(Subscriptions.violation(count));
+            return;
+        }
+        try {
+            this.exec.execute(this);
+        } catch (final RejectedExecutionException err) {
+            this.close();
+            this.sub.onError(err);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+        if (this.started.compareAndSet(false, true)) {
+            this.close();
+        }
+    }
+
+    @Override
+    @SuppressWarnings({"PMD.AvoidCatchingThrowable", "PMD.OnlyOneReturn"})
+    public void run() {
+        final ByteBuffer buf = this.buf;
+        int read = 0;
+        try {
+            while (buf.hasRemaining() && read >= 0 && !this.cancelled) {
+                read = this.chan.read(buf);
+            }
+        } catch (final IOException err) {
+            this.close();
+            if (!this.cancelled) {
+                this.sub.onError(err);
+            }
+            return;
+        }
+        this.close();
+        if (this.cancelled) {
+            return;
+        }
+        ((Buffer) buf).flip();
+        try {
+            if (buf.hasRemaining()) {
+                this.sub.onNext(buf);
+            }
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Throwable exx) {
+            this.sub.onError(exx);
+            return;
+        }
+        if (!this.cancelled) {
+            this.sub.onComplete();
+        }
+    }
+
+    /**
+     * Close file channel.
+     */
+    private void close() {
+        try {
+            this.chan.close();
+        } catch (final IOException err) {
+            Logger.warn(this, "Failed to close channel: %[exception]s", err);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.nio.file.OpenOption;
+
+/**
+ * File write options in addition to standard open options.
+ * @since 0.4
+ */
+public enum WriteOption implements OpenOption {
+    /**
+     * Write atomically: data is written into sibling temporary file,
+     * which is moved to target path atomically on completion or deleted on
+     * error or cancellation, so readers never see partial content.
+     * Durability policy, if specified, is applied to temporary file before
+     * the move and to the parent directory after it. Without durability policy
+     * or with {@link Durability.Standard#NONE} the file is renamed without
+     * sync, so it's atomic only for readers: after OS crash the target may be
+     * empty or partial, since the rename could reach the storage before
+     * the data.
+     * <p>
+     * Target is replaced if it exists; if open options have no
+     * {@link java.nio.file.StandardOpenOption#CREATE}, the target should
+     * exist, otherwise write fails with {@link java.nio.file.NoSuchFileException}.
+     * {@link java.nio.file.StandardOpenOption#SYNC},
+     * {@link java.nio.file.StandardOpenOption#DSYNC} and
+     * {@link java.nio.file.StandardOpenOption#SPARSE} are applied to temporary file.
+     * Can't be used with {@link java.nio.file.StandardOpenOption#APPEND},
+     * {@link java.nio.file.StandardOpenOption#CREATE_NEW} and
+     * {@link java.nio.file.StandardOpenOption#DELETE_ON_CLOSE}.
+     * </p>
+     */
+    ATOMIC;
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.frame;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import org.cqfn.rio.stage.Stage;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Frames of source data separated by delimiters.
+ * <p>
+ * Each frame is emitted without delimiter. Frame which lies within one source
+ * buffer is emitted as a slice of this buffer without copying, so it's valid
+ * as long as the source doesn't reuse the buffer; only frames spanning several
+ * source buffers are copied. If several delimiters match at the same position,
+ * the longest one is used, e.g. {@code "\r\n"} and {@code "\n"} can be used to
+ * split lines with any line ending. Bytes after the last delimiter are emitted
+ * as the last frame. Frame longer than max length fails with {@link java.io.IOException}.
+ * </p>
+ * <p>
+ * Usage example, reading lines of log file:
+ * <pre>{@code
+ * Publisher<ByteBuffer> lines = new Delimited(new File(Paths.get("app.log")).content());
+ * }</pre>
+ * </p>
+ * @since 0.4
+ */
+public final class Delimited implements Publisher<ByteBuffer> {
+
+    /**
+     * Default max frame length.
+     */
+    private static final int MAX = 64 * 1024;
+
+    /**
+     * Source publisher.
+     */
+    private final Publisher<ByteBuffer> source;
+
+    /**
+     * Max frame length.
+     */
+    private final int max;
+
+    /**
+     * Delimiters.
+     */
+    private final byte[][] delims;
+
+    /**
+     * Frames separated by new line with max length of 64KB.
+     * @param source Source publisher
+     */
+    public Delimited(final Publisher<ByteBuffer> source) {
+        this(source, Delimited.MAX, new byte[]{'\n'});
+    }
+
+    /**
+     * Frames separated by delimiters.
+     * @param source Source publisher
+     * @param max Max frame length
+     * @param delims Delimiters
+     */
+    public Delimited(final Publisher<ByteBuffer> source, final int max,
+        final byte[]... delims) {
+        if (max < 0) {
+            throw new IllegalArgumentException("Max frame length can't be negative");
+        }
+        if (delims.length == 0) {
+            throw new IllegalArgumentException("At least one delimiter is required");
+        }
+        for (final byte[] delim : delims) {
+            if (delim.length == 0) {
+                throw new IllegalArgumentException("Delimiter can't be empty");
+            }
+        }
+        this.source = source;
+        this.max = max;
+        this.delims = delims.clone();
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber can't be null");
+        new Stage<>(
+            subscriber, new DelimiterFramer(this.delims, this.max)
+        ).start(this.source);
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.frame;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import org.cqfn.rio.stage.Step;
+
+/**
+ * Framer splitting data by delimiters.
+ * <p>
+ * Frame which lies within one source buffer is returned as a slice of this buffer;
+ * bytes of frame which spans source buffers are accumulated in heap buffer,
+ * which is returned as a frame. If several delimiters match at the same position,
+ * the longest one is used.
+ * </p>
+ * @since 0.4
+ */
+final class DelimiterFramer implements Step<ByteBuffer> {
+
+    /**
+     * Initial capacity of pending buffer.
+     */
+    private static final int INITIAL = 256;
+
+    /**
+     * Delimiters.
+     */
+    private final byte[][] delims;
+
+    /**
+     * Bytes which start any delimiter.
+     */
+    private final boolean[] first;
+
+    /**
+     * Max frame length.
+     */
+    private final int max;
+
+    /**
+     * Current source buffer or null.
+     */
+    private ByteBuffer cur;
+
+    /**
+     * Bytes of incomplete frame from previous buffers in read mode, or null.
+     */
+    private ByteBuffer pending;
+
+    /**
+     * Amount of scanned bytes of incomplete frame without delimiter.
+     */
+    private int scan;
+
+    /**
+     * New delimiter framer.
+     * @param delims Delimiters
+     * @param max Max frame length
+     */
+    DelimiterFramer(final byte[][] delims, final int max) {
+        this.delims = delims.clone();
+        this.first = new boolean[256];
+        for (final byte[] delim : this.delims) {
+            this.first[delim[0] & 0xff] = true;
+        }
+        this.max = max;
+    }
+
+    @Override
+    public void accept(final ByteBuffer buf) {
+        this.cur = buf;
+    }
+
+    @Override
+    public ByteBuffer next(final boolean last) throws IOException {
+        ByteBuffer res = this.find(last);
+        if (res == null) {
+            this.stash();
+            if (this.scan > this.max) {
+                throw this.tooLong();
+            }
+            if (last && this.pending != null && this.pending.hasRemaining()) {
+                res = this.pending;
+                this.pending = null;
+                this.scan = 0;
+                if (res.remaining() > this.max) {
+                    throw this.tooLong();
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Find next frame in received data.
+     * @param last No more data will be received
+     * @return Frame or null
+     * @throws IOException If frame is too long
+     */
+    private ByteBuffer find(final boolean last) throws IOException {
+        final int plen = this.pendingLength();
+        int total = plen;
+        if (this.cur != null) {
+            total += this.cur.remaining();
+        }
+        ByteBuffer res = null;
+        int pos = this.scan;
+        while (pos < total) {
+            if (this.first[this.at(pos, plen) & 0xff]) {
+                int len = 0;
+                int partial = 0;
+                for (final byte[] delim : this.delims) {
+                    int idx = 0;
+                    while (idx < delim.length && pos + idx < total
+                        && this.at(pos + idx, plen) == delim[idx]) {
+                        ++idx;
+                    }
+                    if (idx == delim.length) {
+                        len = Math.max(len, idx);
+                    } else if (pos + idx == total && !last) {
+                        partial = Math.max(partial, delim.length);
+                    }
+                }
+                if (partial > len) {
+                    break;
+                }
+                if (len > 0) {
+                    res = this.cut(pos, len, plen);
+                    break;
+                }
+            }
+            ++pos;
+        }
+        if (res == null) {
+            this.scan = pos;
+        }
+        return res;
+    }
+
+    /**
+     * Cut the frame and skip the delimiter.
+     * @param pos Delimiter position
+     * @param len Delimiter length
+     * @param plen Pending bytes length
+     * @return Frame
+     * @throws IOException If frame is too long
+     */
+    private ByteBuffer cut(final int pos, final int len, final int plen) throws IOException {
+        if (pos > this.max) {
+            throw this.tooLong();
+        }
+        final ByteBuffer res;
+        if (plen == 0) {
+            final ByteBuffer dup = this.cur.duplicate();
+            ((Buffer) dup).limit(dup.position() + pos);
+            res = dup.slice();
+            this.skip(pos + len);
+        } else if (pos >= plen) {
+            this.append(pos - plen);
+            res = this.pending;
+            this.pending = null;
+            this.skip(len);
+        } else {
+            res = ByteBuffer.allocate(pos);
+            final ByteBuffer dup = this.pending.duplicate();
+            ((Buffer) dup).limit(pos);
+            res.put(dup);
+            ((Buffer) res).flip();
+            final int rest = pos + len - plen;
+            if (rest < 0) {
+                ((Buffer) this.pending).position(pos + len);
+                this.pending.compact();
+                ((Buffer) this.pending).flip();
+            } else {
+                ((Buffer) this.pending).clear().limit(0);
+                if (rest > 0) {
+                    this.skip(rest);
+                }
+            }
+        }
+        this.scan = 0;
+        return res;
+    }
+
+    /**
+     * Move the rest of current buffer to pending bytes.
+     */
+    private void stash() {
+        if (this.cur != null) {
+            this.append(this.cur.remaining());
+            this.cur = null;
+        }
+    }
+
+    /**
+     * Append bytes of current buffer to pending bytes.
+     * @param len Amount of bytes
+     */
+    private void append(final int len) {
+        final int plen = this.pendingLength();
+        if (this.pending == null || this.pending.capacity() < plen + len) {
+            final ByteBuffer grown = ByteBuffer.allocate(
+                Math.max(plen + len, Math.max(DelimiterFramer.INITIAL, plen * 2))
+            );
+            if (this.pending != null) {
+                grown.put(this.pending);
+            }
+            ((Buffer) grown).flip();
+            this.pending = grown;
+        }
+        final ByteBuffer src = this.cur.duplicate();
+        ((Buffer) src).limit(src.position() + len);
+        ((Buffer) this.pending).position(plen).limit(plen + len);
+        this.pending.put(src);
+        ((Buffer) this.pending).flip();
+        this.skip(len);
+    }
+
+    /**
+     * Skip bytes of current buffer.
+     * @param len Amount of bytes
+     */
+    private void skip(final int len) {
+        ((Buffer) this.cur).position(this.cur.position() + len);
+    }
+
+    /**
+     * Byte at position of received data.
+     * @param pos Position
+     * @param plen Pending bytes length
+     * @return Byte
+     */
+    private byte at(final int pos, final int plen) {
+        final byte res;
+        if (pos < plen) {
+            res = this.pending.get(pos);
+        } else {
+            res = this.cur.get(this.cur.position() + pos - plen);
+        }
+        return res;
+    }
+
+    /**
+     * Length of pending bytes.
+     * @return Length
+     */
+    private int pendingLength() {
+        final int res;
+        if (this.pending == null) {
+            res = 0;
+        } else {
+            res = this.pending.remaining();
+        }
+        return res;
+    }
+
+    /**
+     * Frame too long error.
+     * @return Error
+     */
+    private IOException tooLong() {
+        return new IOException(String.format("Frame is longer than %d bytes", this.max));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.frame;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.cqfn.rio.stage.Step;
+
+/**
+ * Framer of fixed size records.
+ * @since 0.4
+ */
+final class FixedFramer implements Step<ByteBuffer> {
+
+    /**
+     * Record size.
+     */
+    private final int size;
+
+    /**
+     * Source slicer.
+     */
+    private final Slicer slicer;
+
+    /**
+     * New fixed size framer.
+     * @param size Record size
+     */
+    FixedFramer(final int size) {
+        this.size = size;
+        this.slicer = new Slicer();
+    }
+
+    @Override
+    public void accept(final ByteBuffer buf) {
+        this.slicer.accept(buf);
+    }
+
+    @Override
+    public ByteBuffer next(final boolean last) throws IOException {
+        ByteBuffer res = null;
+        if (this.slicer.hasRemaining() || this.slicer.partial()) {
+            res = this.slicer.take(this.size);
+            if (res == null && last) {
+                throw new EOFException("Truncated fixed size record");
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.frame;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import org.cqfn.rio.stage.Stage;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Fixed size records of source data.
+ * <p>
+ * Record which lies within one source buffer is emitted as a slice of this
+ * buffer without copying, so it's valid as long as the source doesn't reuse
+ * the buffer; only records spanning several source buffers are copied.
+ * Incomplete last record fails with {@link java.io.EOFException}.
+ * </p>
+ * @since 0.4
+ */
+public final class FixedSize implements Publisher<ByteBuffer> {
+
+    /**
+     * Source publisher.
+     */
+    private final Publisher<ByteBuffer> source;
+
+    /**
+     * Record size.
+     */
+    private final int size;
+
+    /**
+     * Records.
+     * @param source Source publisher
+     * @param size Record size
+     */
+    public FixedSize(final Publisher<ByteBuffer> source, final int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Record size should be positive");
+        }
+        this.source = source;
+        this.size = size;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber can't be null");
+        new Stage<>(subscriber, new FixedFramer(this.size)).start(this.source);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.frame;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.cqfn.rio.stage.Step;
+
+/**
+ * Framer of length-prefixed records.
+ * @since 0.4
+ */
+final class LengthFramer implements Step<ByteBuffer> {
+
+    /**
+     * Length header format.
+     */
+    private final LengthHeader header;
+
+    /**
+     * Max record length.
+     */
+    private final int max;
+
+    /**
+     * Source slicer.
+     */
+    private final Slicer slicer;
+
+    /**
+     * Decoded header value.
+     */
+    private long value;
+
+    /**
+     * Amount of decoded header bytes.
+     */
+    private int count;
+
+    /**
+     * Length of current record or -1 if header is not decoded yet.
+     */
+    private int length;
+
+    /**
+     * New length-prefixed framer.
+     * @param header Length header format
+     * @param max Max record length
+     */
+    LengthFramer(final LengthHeader header, final int max) {
+        this.header = header;
+        this.max = max;
+        this.slicer = new Slicer();
+        this.length = -1;
+    }
+
+    @Override
+    public void accept(final ByteBuffer buf) {
+        this.slicer.accept(buf);
+    }
+
+    @Override
+    public ByteBuffer next(final boolean last) throws IOException {
+        if (this.length < 0) {
+            this.decode();
+        }
+        ByteBuffer res = null;
+        if (this.length >= 0) {
+            res = this.slicer.take(this.length);
+            if (res != null) {
+                this.length = -1;
+            }
+        }
+        if (res == null && last && (this.count > 0 || this.length >= 0)) {
+            throw new EOFException("Truncated length-prefixed record");
+        }
+        return res;
+    }
+
+    /**
+     * Decode length header from available bytes.
+     * @throws IOException If header is malformed or length is too big
+     */
+    private void decode() throws IOException {
+        while (this.slicer.hasRemaining()) {
+            final byte next = this.slicer.get();
+            this.value = this.header.decode(this.value, this.count, next);
+            ++this.count;
+            if (this.header.complete(this.count, next)) {
+                if (this.value > this.max) {
+                    throw new IOException(
+                        String.format(
+                            "Record length %d is longer than %d bytes", this.value, this.max
+                        )
+                    );
+                }
+                this.length = (int) this.value;
+                this.value = 0;
+                this.count = 0;
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.frame;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * Record length header format.
+ * <p>
+ * Fixed width headers are unsigned big-endian integers, {@link #VARINT} is
+ * unsigned base 128 varint of protobuf encoding.
+ * </p>
+ * @since 0.4
+ */
+public enum LengthHeader {
+    /**
+     * One byte length up to 255.
+     */
+    UINT8(1),
+    /**
+     * Two bytes length up to 65535.
+     */
+    UINT16(2),
+    /**
+     * Four bytes length up to 2^31 - 1.
+     */
+    INT32(4),
+    /**
+     * Varint of one to five bytes, seven bits in each byte.
+     */
+    VARINT(5);
+
+    /**
+     * Max header width.
+     */
+    private final int width;
+
+    /**
+     * Header format.
+     * @param width Max header width
+     */
+    LengthHeader(final int width) {
+        this.width = width;
+    }
+
+    /**
+     * Encode record length.
+     * @param length Record length
+     * @return Header buffer
+     */
+    ByteBuffer encode(final int length) {
+        final ByteBuffer res = ByteBuffer.allocate(this.width);
+        if (this == LengthHeader.VARINT) {
+            int rest = length;
+            while ((rest & ~0x7f) != 0) {
+                res.put((byte) (rest & 0x7f | 0x80));
+                rest >>>= 7;
+            }
+            res.put((byte) rest);
+        } else {
+            if (this.width < 4 && length >>> this.width * 8 != 0) {
+                throw new IllegalArgumentException(
+                    String.format("Record length %d doesn't fit %s header", length, this)
+                );
+            }
+            for (int shift = (this.width - 1) * 8; shift >= 0; shift -= 8) {
+                res.put((byte) (length >>> shift));
+            }
+        }
+        ((Buffer) res).flip();
+        return res;
+    }
+
+    /**
+     * Decode next header byte.
+     * @param value Decoded value of previous bytes
+     * @param count Amount of previous bytes
+     * @param next Next byte
+     * @return Decoded value
+     * @throws IOException If header is malformed
+     */
+    long decode(final long value, final int count, final byte next) throws IOException {
+        final long res;
+        if (this == LengthHeader.VARINT) {
+            if (count == this.width - 1 && (next & 0xf0) != 0) {
+                throw new IOException("Malformed varint length header");
+            }
+            res = value | (long) (next & 0x7f) << 7 * count;
+        } else {
+            res = value << 8 | next & 0xff;
+        }
+        return res;
+    }
+
+    /**
+     * Check header is complete.
+     * @param count Amount of header bytes
+     * @param last Last header byte
+     * @return True if complete
+     */
+    boolean complete(final int count, final byte last) {
+        final boolean res;
+        if (this == LengthHeader.VARINT) {
+            res = last >= 0;
+        } else {
+            res = count == this.width;
+        }
+        return res;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.frame;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import org.cqfn.rio.stage.Stage;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Records of length-prefixed source data.
+ * <p>
+ * Each record is prefixed with its length in {@link LengthHeader} format,
+ * records are emitted without headers. Record which lies within one source
+ * buffer is emitted as a slice of this buffer without copying, so it's valid
+ * as long as the source doesn't reuse the buffer; only records spanning several
+ * source buffers are copied. Record length greater than max length fails
+ * with {@link java.io.IOException}, truncated record fails with
+ * {@link java.io.EOFException}. It's the reverse of {@link PrefixLength}.
+ * </p>
+ * <p>
+ * Usage example, reading records from channel:
+ * <pre>{@code
+ * Publisher<ByteBuffer> records = new LengthPrefixed(
+ *     new ReadableChannel(() -> chan).read(Buffers.Standard.K16), LengthHeader.VARINT
+ * );
+ * }</pre>
+ * </p>
+ * @since 0.4
+ */
+public final class LengthPrefixed implements Publisher<ByteBuffer> {
+
+    /**
+     * Default max record length.
+     */
+    private static final int MAX = 16 * 1024 * 1024;
+
+    /**
+     * Source publisher.
+     */
+    private final Publisher<ByteBuffer> source;
+
+    /**
+     * Length header format.
+     */
+    private final LengthHeader header;
+
+    /**
+     * Max record length.
+     */
+    private final int max;
+
+    /**
+     * Records with max length of 16MB.
+     * @param source Source publisher
+     * @param header Length header format
+     */
+    public LengthPrefixed(final Publisher<ByteBuffer> source, final LengthHeader header) {
+        this(source, header, LengthPrefixed.MAX);
+    }
+
+    /**
+     * Records.
+     * @param source Source publisher
+     * @param header Length header format
+     * @param max Max record length
+     */
+    public LengthPrefixed(final Publisher<ByteBuffer> source, final LengthHeader header,
+        final int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("Max record length can't be negative");
+        }
+        this.source = source;
+        this.header = header;
+        this.max = max;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber can't be null");
+        new Stage<>(
+            subscriber, new LengthFramer(this.header, this.max)
+        ).start(this.source);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.frame;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import org.cqfn.rio.stage.Stage;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Length-prefixed records.
+ * <p>
+ * Each source buffer is a record, it's emitted as is after a buffer with
+ * record length in {@link LengthHeader} format, so records are not copied.
+ * Record longer than header format supports fails with
+ * {@link IllegalArgumentException}. It's the reverse of {@link LengthPrefixed}.
+ * </p>
+ * <p>
+ * Usage example, writing records to file:
+ * <pre>{@code
+ * new File(Paths.get("events.bin")).write(new PrefixLength(records, LengthHeader.VARINT));
+ * }</pre>
+ * </p>
+ * @since 0.4
+ */
+public final class PrefixLength implements Publisher<ByteBuffer> {
+
+    /**
+     * Source records.
+     */
+    private final Publisher<ByteBuffer> source;
+
+    /**
+     * Length header format.
+     */
+    private final LengthHeader header;
+
+    /**
+     * Length-prefixed records.
+     * @param source Source records
+     * @param header Length header format
+     */
+    public PrefixLength(final Publisher<ByteBuffer> source, final LengthHeader header) {
+        this.source = source;
+        this.header = header;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber can't be null");
+        new Stage<>(subscriber, new PrefixFramer(this.header)).start(this.source);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.frame;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * Slicer of source buffers into chunks of requested size.
+ * <p>
+ * Chunk which lies within one source buffer is a slice of this buffer;
+ * chunk which spans source buffers is accumulated in heap buffer.
+ * </p>
+ * @since 0.4
+ */
+final class Slicer {
+
+    /**
+     * Empty chunk.
+     */
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    /**
+     * Current source buffer or null.
+     */
+    private ByteBuffer cur;
+
+    /**
+     * Incomplete chunk in write mode or null.
+     */
+    private ByteBuffer pending;
+
+    /**
+     * Accept next source buffer.
+     * @param buf Source buffer
+     */
+    void accept(final ByteBuffer buf) {
+        this.cur = buf;
+    }
+
+    /**
+     * Check current source buffer has remaining bytes.
+     * @return True if has
+     */
+    boolean hasRemaining() {
+        return this.cur != null && this.cur.hasRemaining();
+    }
+
+    /**
+     * Read next byte of current source buffer, it should have remaining bytes.
+     * @return Byte
+     */
+    byte get() {
+        return this.cur.get();
+    }
+
+    /**
+     * Check there is incomplete chunk.
+     * @return True if chunk is incomplete
+     */
+    boolean partial() {
+        return this.pending != null;
+    }
+
+    /**
+     * Take next chunk.
+     * @param size Chunk size
+     * @return Chunk or null if more source buffers are needed
+     */
+    ByteBuffer take(final int size) {
+        ByteBuffer res = null;
+        if (this.pending == null && size == 0) {
+            res = Slicer.EMPTY.duplicate();
+        } else if (this.pending == null && this.hasRemaining() && this.cur.remaining() >= size) {
+            final ByteBuffer dup = this.cur.duplicate();
+            ((Buffer) dup).limit(dup.position() + size);
+            res = dup.slice();
+            ((Buffer) this.cur).position(this.cur.position() + size);
+        } else {
+            if (this.pending == null) {
+                this.pending = ByteBuffer.allocate(size);
+            }
+            if (this.hasRemaining()) {
+                final int len = Math.min(this.pending.remaining(), this.cur.remaining());
+                final ByteBuffer dup = this.cur.duplicate();
+                ((Buffer) dup).limit(dup.position() + len);
+                this.pending.put(dup);
+                ((Buffer) this.cur).position(this.cur.position() + len);
+            }
+            if (!this.pending.hasRemaining()) {
+                res = this.pending;
+                ((Buffer) res).flip();
+                this.pending = null;
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,451 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.multicast;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+import org.jctools.queues.SpscUnboundedArrayQueue;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Shared read of one source for many members.
+ * <p>
+ * It's a subscriber of the source, which emits its buffers to all members as
+ * read-only views, each member has own demand and position. The source is
+ * requested ahead of the slowest member for up to {@code window} buffers.
+ * While the flight is joinable, source buffers are retained until all members
+ * received them and there are {@code window} retained buffers, so new members
+ * can join while the first buffer is retained; after {@link #seal()} buffers are
+ * released as soon as all members received them. All signals are serialized by
+ * drain loop, which reads completion flag before polling received buffers, so
+ * buffers emitted before completion are never lost.
+ * </p>
+ * <p>
+ * It's the core of {@link Multicast} and {@link Flights}.
+ * </p>
+ * @since 0.4
+ * @checkstyle CyclomaticComplexityCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+final class Flight implements Subscriber<ByteBuffer> {
+
+    /**
+     * Max amount of buffers read ahead of the slowest member.
+     */
+    private final int window;
+
+    /**
+     * Detach callback, it's called when members can't join anymore.
+     */
+    private final Consumer<Flight> detach;
+
+    /**
+     * Drain loop work-in-progress counter.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * Received source buffers.
+     */
+    private final Queue<ByteBuffer> incoming;
+
+    /**
+     * Joined members not yet seen by drain loop.
+     */
+    private final Queue<Member> joins;
+
+    /**
+     * Members, accessed from drain loop only.
+     */
+    private final List<Member> members;
+
+    /**
+     * Retained buffers, accessed from drain loop only.
+     */
+    private final List<ByteBuffer> items;
+
+    /**
+     * Index of the first retained buffer, accessed from drain loop only.
+     */
+    private long base;
+
+    /**
+     * Amount of requested but not received buffers, accessed from drain loop only.
+     */
+    private long outstanding;
+
+    /**
+     * Flight is finished, accessed from drain loop only.
+     */
+    private boolean done;
+
+    /**
+     * Source was cancelled, accessed from drain loop only.
+     */
+    private boolean stopped;
+
+    /**
+     * New members can join, it's changed under lock of this.
+     */
+    private volatile boolean joinable;
+
+    /**
+     * Source subscription.
+     */
+    private volatile Subscription upstream;
+
+    /**
+     * Source completed.
+     */
+    private volatile boolean completed;
+
+    /**
+     * Source error.
+     */
+    private volatile Throwable error;
+
+    /**
+     * New flight, which is not detached from anywhere.
+     * @param window Max amount of buffers read ahead of the slowest member
+     */
+    Flight(final int window) {
+        this(
+            window,
+            self -> {
+            }
+        );
+    }
+
+    /**
+     * New flight.
+     * @param window Max amount of buffers read ahead of the slowest member
+     * @param detach Detach callback, it's called once when members can't join anymore
+     */
+    Flight(final int window, final Consumer<Flight> detach) {
+        this.window = window;
+        this.detach = detach;
+        this.wip = new AtomicInteger();
+        this.incoming = new SpscUnboundedArrayQueue<>(window);
+        this.joins = new MpscUnboundedArrayQueue<>(Math.max(window, 2));
+        this.members = new ArrayList<>(1);
+        this.items = new ArrayList<>(window);
+        this.joinable = true;
+    }
+
+    /**
+     * Try to join the flight. It doesn't drain the flight, so it's safe
+     * to call under caller's lock, but the caller should {@link #drain()}
+     * the flight after joining.
+     * @param member New member
+     * @return True if joined
+     */
+    boolean join(final Member member) {
+        final boolean joined;
+        synchronized (this) {
+            joined = this.joinable;
+            if (joined) {
+                member.attach(this);
+                this.joins.add(member);
+            }
+        }
+        return joined;
+    }
+
+    /**
+     * Forbid joining, so buffers are released as soon as all members received them.
+     */
+    void seal() {
+        this.close();
+    }
+
+    @Override
+    public void onSubscribe(final Subscription subscription) {
+        this.upstream = subscription;
+        this.drain();
+    }
+
+    @Override
+    public void onNext(final ByteBuffer buf) {
+        this.incoming.add(buf);
+        this.drain();
+    }
+
+    @Override
+    public void onError(final Throwable err) {
+        this.error = err;
+        this.completed = true;
+        this.drain();
+    }
+
+    @Override
+    public void onComplete() {
+        this.completed = true;
+        this.drain();
+    }
+
+    /**
+     * Drain loop: deliver buffers to members, release and request source buffers.
+     */
+    void drain() {
+        if (this.wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            if (this.done) {
+                this.stop();
+            } else {
+                this.process();
+            }
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * One drain loop iteration.
+     */
+    private void process() {
+        final boolean end = this.completed;
+        this.accept();
+        for (ByteBuffer buf = this.incoming.poll(); buf != null; buf = this.incoming.poll()) {
+            this.items.add(buf);
+            --this.outstanding;
+        }
+        if (end) {
+            this.close();
+        }
+        final long head = this.base + this.items.size();
+        long min = head;
+        final Iterator<Member> iter = this.members.iterator();
+        while (iter.hasNext()) {
+            final Member member = iter.next();
+            if (!this.deliver(member, head, end)) {
+                iter.remove();
+            } else if (member.index < min) {
+                min = member.index;
+            }
+        }
+        if (this.members.isEmpty() && this.joins.isEmpty()) {
+            this.close();
+            this.accept();
+            if (this.members.isEmpty()) {
+                this.done = true;
+                this.items.clear();
+                this.stop();
+                return;
+            }
+            min = this.base;
+        }
+        if (min > this.base && (!this.joinable || this.items.size() >= this.window)) {
+            this.close();
+            final int before = this.members.size();
+            this.accept();
+            if (this.members.size() > before) {
+                min = this.base;
+            }
+            if (min > this.base) {
+                this.items.subList(0, (int) (min - this.base)).clear();
+                this.base = min;
+            }
+        }
+        final Subscription sub = this.upstream;
+        if (sub != null && !end) {
+            final long ahead = head - min + this.outstanding;
+            if (ahead < this.window) {
+                this.outstanding += this.window - ahead;
+                sub.request(this.window - ahead);
+            }
+        }
+    }
+
+    /**
+     * Deliver buffers and terminal signal to member.
+     * @param member Member
+     * @param head Index after the last received buffer
+     * @param end Source was completed before received buffers were polled
+     * @return False if member is finished
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private boolean deliver(final Member member, final long head, final boolean end) {
+        boolean alive = true;
+        while (alive) {
+            final Throwable violation = member.violation;
+            if (member.cancelled) {
+                alive = false;
+            } else if (violation != null || end && this.error != null) {
+                if (violation == null) {
+                    member.sub.onError(this.error);
+                } else {
+                    member.sub.onError(violation);
+                }
+                alive = false;
+            } else if (member.index < head) {
+                if (member.demand.get() == 0) {
+                    break;
+                }
+                member.demand.decrementAndGet();
+                final ByteBuffer buf = this.items.get((int) (member.index - this.base));
+                ++member.index;
+                try {
+                    member.sub.onNext(buf.asReadOnlyBuffer());
+                    // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final Throwable exx) {
+                    member.sub.onError(exx);
+                    alive = false;
+                }
+            } else if (end) {
+                member.sub.onComplete();
+                alive = false;
+            } else {
+                break;
+            }
+        }
+        return alive;
+    }
+
+    /**
+     * Cancel the source once, if it's subscribed and not completed.
+     */
+    private void stop() {
+        final Subscription sub = this.upstream;
+        if (!this.stopped && sub != null && !this.completed) {
+            this.stopped = true;
+            sub.cancel();
+        }
+    }
+
+    /**
+     * Accept joined members.
+     */
+    private void accept() {
+        for (Member member = this.joins.poll(); member != null; member = this.joins.poll()) {
+            member.index = this.base;
+            this.members.add(member);
+        }
+    }
+
+    /**
+     * Forbid joining and detach the flight.
+     */
+    private void close() {
+        final boolean detached;
+        synchronized (this) {
+            detached = this.joinable;
+            this.joinable = false;
+        }
+        if (detached) {
+            this.detach.accept(this);
+        }
+    }
+
+    /**
+     * Flight member subscription.
+     * @since 0.4
+     */
+    static final class Member implements Subscription {
+
+        /**
+         * Member subscriber.
+         */
+        private final Subscriber<? super ByteBuffer> sub;
+
+        /**
+         * Requested items.
+         */
+        private final AtomicLong demand;
+
+        /**
+         * Index of the next buffer, accessed from drain loop only.
+         */
+        private long index;
+
+        /**
+         * Rule violation error.
+         */
+        private volatile Throwable violation;
+
+        /**
+         * Joined flight.
+         */
+        private volatile Flight flight;
+
+        /**
+         * Cancellation flag.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * New member.
+         * @param sub Member subscriber
+         */
+        Member(final Subscriber<? super ByteBuffer> sub) {
+            this.sub = sub;
+            this.demand = new AtomicLong();
+        }
+
+        @Override
+        public void request(final long count) {
+            if (count <= 0) {
+                this.violation = Subscriptions.violation(count);
+            } else {
+                Subscriptions.add(this.demand, count);
+            }
+            this.notifyFlight();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.notifyFlight();
+        }
+
+        /**
+         * Attach member to the flight.
+         * @param target Flight
+         */
+        void attach(final Flight target) {
+            this.flight = target;
+        }
+
+        /**
+         * Trigger drain loop of the flight.
+         */
+        private void notifyFlight() {
+            final Flight target = this.flight;
+            if (target != null) {
+                target.drain();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.multicast;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
+
+/**
+ * Joinable shared reads by key.
+ * <p>
+ * Subscribers of the same key share one subscription to the source while
+ * they can join it: the source is subscribed for the first subscriber, and
+ * each buffer is emitted to all joined subscribers as read-only view. Each
+ * subscriber has own demand, the source is requested ahead of the slowest
+ * subscriber for up to {@code window} buffers. Subscriber can join running
+ * read while its first buffer is retained, read buffers are retained until
+ * all subscribers received them and the window is full; otherwise new source
+ * is subscribed.
+ * </p>
+ * @param <K> Key type
+ * @since 0.4
+ */
+public final class Flights<K> {
+
+    /**
+     * Max amount of buffers read ahead of the slowest subscriber.
+     */
+    private final int window;
+
+    /**
+     * Joinable flights by key, guarded by itself.
+     */
+    private final Map<K, Flight> flights;
+
+    /**
+     * New shared reads.
+     * @param window Max amount of buffers read ahead of the slowest subscriber
+     */
+    public Flights(final int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window should be positive");
+        }
+        this.window = window;
+        this.flights = new HashMap<>();
+    }
+
+    /**
+     * Shared publisher of the key.
+     * @param key Key
+     * @param source Source of the key, it's subscribed when subscriber can't
+     *  join running read
+     * @return Publisher of buffers
+     */
+    public Publisher<ByteBuffer> publisher(final K key,
+        final Supplier<? extends Publisher<ByteBuffer>> source) {
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "Subscriber can't be null");
+            final Flight.Member member = new Flight.Member(subscriber);
+            subscriber.onSubscribe(member);
+            Flight flight;
+            boolean fresh = false;
+            synchronized (this.flights) {
+                flight = this.flights.get(key);
+                if (flight == null || !flight.join(member)) {
+                    flight = new Flight(this.window, self -> this.detach(key, self));
+                    flight.join(member);
+                    this.flights.put(key, flight);
+                    fresh = true;
+                }
+            }
+            if (fresh) {
+                source.get().subscribe(flight);
+            } else {
+                flight.drain();
+            }
+        };
+    }
+
+    /**
+     * Remove read from joinable reads.
+     * @param key Key
+     * @param flight Read
+     */
+    private void detach(final K key, final Flight flight) {
+        synchronized (this.flights) {
+            this.flights.remove(key, flight);
+        }
+    }
+}
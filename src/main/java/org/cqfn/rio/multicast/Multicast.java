@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.multicast;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Multicast of one source publisher to fixed amount of subscribers.
+ * <p>
+ * It's a single use publisher, which accepts exactly {@code subscribers}
+ * subscribers and subscribes to the source when the last one subscribed.
+ * Each source buffer is emitted to all subscribers as read-only view without
+ * copying the content, so subscribers can't change it or position of each other.
+ * Each subscriber has own demand, the source is requested ahead of the slowest
+ * subscriber for up to {@code window} buffers, and the buffer is released as soon
+ * as all subscribers received it, see {@link Flight}. Subscriber may cancel its subscription
+ * without affecting others, the source is cancelled when all subscribers cancelled.
+ * </p>
+ * <p>
+ * Usage example, writing data to file and computing its hash at the same time:
+ * <pre>{@code
+ * Multicast tee = new Multicast(data, 2);
+ * file.write(tee);
+ * Flowable.fromPublisher(tee).reduceWith(...);
+ * }</pre>
+ * </p>
+ * @since 0.4
+ */
+public final class Multicast implements Publisher<ByteBuffer> {
+
+    /**
+     * Default window size.
+     */
+    private static final int WINDOW = 4;
+
+    /**
+     * Source publisher.
+     */
+    private final Publisher<ByteBuffer> source;
+
+    /**
+     * Amount of subscribers.
+     */
+    private final int count;
+
+    /**
+     * Shared read of the source.
+     */
+    private final Flight flight;
+
+    /**
+     * Members, guarded by itself.
+     */
+    private final List<Flight.Member> members;
+
+    /**
+     * New multicast with default window.
+     * @param source Source publisher
+     * @param subscribers Amount of subscribers
+     */
+    public Multicast(final Publisher<ByteBuffer> source, final int subscribers) {
+        this(source, subscribers, Multicast.WINDOW);
+    }
+
+    /**
+     * New multicast.
+     * @param source Source publisher
+     * @param subscribers Amount of subscribers
+     * @param window Max amount of buffers requested ahead of the slowest subscriber
+     */
+    public Multicast(final Publisher<ByteBuffer> source, final int subscribers,
+        final int window) {
+        if (subscribers < 1) {
+            throw new IllegalArgumentException("Subscribers amount should be positive");
+        }
+        if (window < 1) {
+            throw new IllegalArgumentException("Window should be positive");
+        }
+        this.source = source;
+        this.count = subscribers;
+        this.flight = new Flight(window);
+        this.members = new ArrayList<>(subscribers);
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber can't be null");
+        final Flight.Member member = new Flight.Member(subscriber);
+        final boolean accepted;
+        final boolean last;
+        synchronized (this.members) {
+            accepted = this.members.size() < this.count;
+            if (accepted) {
+                this.members.add(member);
+            }
+            last = this.members.size() == this.count;
+        }
+        if (accepted) {
+            subscriber.onSubscribe(member);
+            if (last) {
+                for (final Flight.Member item : this.members) {
+                    this.flight.join(item);
+                }
+                this.flight.seal();
+                this.source.subscribe(this.flight);
+            }
+        } else {
+            subscriber.onSubscribe(Subscriptions.DUMMY);
+            subscriber.onError(
+                new IllegalStateException(
+                    String.format("Multicast accepts only %d subscribers", this.count)
+                )
+            );
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.reactive;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscription helpers.
+ * <p>
+ * Publishers signal {@link #DUMMY} subscription before an error, if they
+ * failed before creating real subscription. Subscriptions add requested items
+ * to their demand with {@link #add(AtomicLong, long)} and fail with
+ * {@link #violation(long)} error on non-positive request, as required by rule
+ * 3.9 of reactive streams specification.
+ * </p>
+ * @since 0.4
+ */
+public final class Subscriptions {
+
+    /**
+     * Dummy subscription which does nothing.
+     */
+    public static final Subscription DUMMY = new Subscription() {
+        @Override
+        public void request(final long count) {
+            // nothing
+        }
+
+        @Override
+        public void cancel() {
+            // nothing
+        }
+    };
+
+    /**
+     * Ctor.
+     */
+    private Subscriptions() {
+    }
+
+    /**
+     * Add requested amount to demand, saturating at {@code Long.MAX_VALUE},
+     * which means unbounded demand.
+     * @param demand Demand
+     * @param amount Requested amount, positive
+     */
+    public static void add(final AtomicLong demand, final long amount) {
+        demand.getAndUpdate(
+            cur -> {
+                final long sum = cur + amount;
+                final long res;
+                if (sum < 0) {
+                    res = Long.MAX_VALUE;
+                } else {
+                    res = sum;
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Error of non-positive request.
+     * @param amount Requested amount
+     * @return Error to signal to subscriber
+     */
+    public static IllegalArgumentException violation(final long amount) {
+        return new IllegalArgumentException(String.format("Requested %d items", amount));
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.jctools.queues.SpscArrayQueue;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscription of transformation stage.
+ * <p>
+ * Items are produced by {@link Step} only on downstream demand. The source
+ * is requested with prefetch window of {@code 4} buffers, which is replenished
+ * when {@code 3} of them were accepted by the step, so next buffer is usually
+ * received when the step needs it. Received buffers are kept in bounded
+ * single-producer single-consumer queue. Step is closed on any terminal signal
+ * or cancellation.
+ * </p>
+ * <p>
+ * Usage example, in {@link Publisher#subscribe(Subscriber)} of stage publisher:
+ * <pre>{@code
+ * new Stage<>(subscriber, step).start(source);
+ * }</pre>
+ * </p>
+ * @param <T> Item type
+ * @since 0.4
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public final class Stage<T> implements Subscription {
+
+    /**
+     * Prefetch window of source buffers.
+     */
+    private static final int PREFETCH = 4;
+
+    /**
+     * Amount of accepted buffers to replenish the window.
+     */
+    private static final int LIMIT = Stage.PREFETCH - (Stage.PREFETCH >> 2);
+
+    /**
+     * Downstream subscriber.
+     */
+    private final Subscriber<? super T> downstream;
+
+    /**
+     * Step.
+     */
+    private final Step<T> step;
+
+    /**
+     * Drain loop work-in-progress counter.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * Requested items.
+     */
+    private final AtomicLong demand;
+
+    /**
+     * Received source buffers.
+     */
+    private final Queue<ByteBuffer> queue;
+
+    /**
+     * Prefetch window was requested, accessed from drain loop only.
+     */
+    private boolean started;
+
+    /**
+     * Step needs next source buffer, accessed from drain loop only.
+     */
+    private boolean hungry;
+
+    /**
+     * Accepted buffers since last request, accessed from drain loop only.
+     */
+    private int consumed;
+
+    /**
+     * Subscription is finished, accessed from drain loop only.
+     */
+    private boolean done;
+
+    /**
+     * Source subscription.
+     */
+    private volatile Subscription upstream;
+
+    /**
+     * Source completed.
+     */
+    private volatile boolean completed;
+
+    /**
+     * Source error.
+     */
+    private volatile Throwable error;
+
+    /**
+     * Cancellation flag.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Rule violation error.
+     */
+    private volatile Throwable violation;
+
+    /**
+     * New stage subscription.
+     * @param downstream Downstream subscriber
+     * @param step Transformation step
+     */
+    public Stage(final Subscriber<? super T> downstream, final Step<T> step) {
+        this.downstream = downstream;
+        this.step = step;
+        this.wip = new AtomicInteger();
+        this.demand = new AtomicLong();
+        this.queue = new SpscArrayQueue<>(Stage.PREFETCH);
+    }
+
+    /**
+     * Subscribe downstream and connect to the source.
+     * @param source Source publisher
+     */
+    public void start(final Publisher<ByteBuffer> source) {
+        this.downstream.onSubscribe(this);
+        source.subscribe(new Upstream());
+    }
+
+    @Override
+    public void request(final long amount) {
+        if (amount <= 0) {
+            this.violation = Subscriptions.violation(amount);
+        } else {
+            Subscriptions.add(this.demand, amount);
+        }
+        this.drain();
+    }
+
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+        this.drain();
+    }
+
+    /**
+     * Drain loop: produce and emit items, request source buffers.
+     */
+    private void drain() {
+        if (this.wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            if (!this.done) {
+                this.process();
+            }
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * One drain loop iteration.
+     * @checkstyle CyclomaticComplexityCheck (70 lines)
+     */
+    private void process() {
+        while (!this.done) {
+            final Throwable violation = this.violation;
+            final Throwable err = this.error;
+            if (this.cancelled) {
+                this.terminate(true);
+                break;
+            }
+            if (violation != null) {
+                this.terminate(true);
+                this.downstream.onError(violation);
+                break;
+            }
+            if (err != null) {
+                this.terminate(false);
+                this.downstream.onError(err);
+                break;
+            }
+            final Subscription sub = this.upstream;
+            if (!this.started && sub != null) {
+                this.started = true;
+                sub.request(Stage.PREFETCH);
+            }
+            if (this.demand.get() == 0) {
+                break;
+            }
+            final boolean end = this.completed;
+            final T item;
+            try {
+                if (this.hungry) {
+                    final ByteBuffer buf = this.queue.poll();
+                    if (buf != null) {
+                        this.hungry = false;
+                        this.replenish();
+                        this.step.accept(buf);
+                    } else if (!end) {
+                        break;
+                    }
+                }
+                item = this.step.next(end && this.queue.isEmpty());
+            } catch (final IOException | RuntimeException exx) {
+                this.terminate(true);
+                this.downstream.onError(exx);
+                break;
+            }
+            if (item != null) {
+                this.demand.decrementAndGet();
+                this.downstream.onNext(item);
+                continue;
+            }
+            if ((end && this.queue.isEmpty()) || this.step.finished()) {
+                this.terminate(true);
+                this.downstream.onComplete();
+                break;
+            }
+            this.hungry = true;
+        }
+    }
+
+    /**
+     * Request more source buffers if enough buffers were accepted.
+     */
+    private void replenish() {
+        ++this.consumed;
+        if (this.consumed == Stage.LIMIT) {
+            this.consumed = 0;
+            this.upstream.request(Stage.LIMIT);
+        }
+    }
+
+    /**
+     * Finish subscription and close the step.
+     * @param cancel Cancel the source if it's not completed
+     */
+    private void terminate(final boolean cancel) {
+        this.done = true;
+        this.queue.clear();
+        this.step.close();
+        final Subscription sub = this.upstream;
+        if (cancel && sub != null && !this.completed) {
+            sub.cancel();
+        }
+    }
+
+    /**
+     * Source subscriber.
+     * @since 0.4
+     */
+    private final class Upstream implements Subscriber<ByteBuffer> {
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            Stage.this.upstream = subscription;
+            if (Stage.this.cancelled) {
+                subscription.cancel();
+            }
+            Stage.this.drain();
+        }
+
+        @Override
+        public void onNext(final ByteBuffer buf) {
+            if (!Stage.this.queue.offer(buf)) {
+                Stage.this.error = new IllegalStateException(
+                    "Source published more buffers than requested"
+                );
+            }
+            Stage.this.drain();
+        }
+
+        @Override
+        public void onError(final Throwable err) {
+            Stage.this.error = err;
+            Stage.this.drain();
+        }
+
+        @Override
+        public void onComplete() {
+            Stage.this.completed = true;
+            Stage.this.drain();
+        }
+    }
+}
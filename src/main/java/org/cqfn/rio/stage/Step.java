@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Stateful transformation step of byte stream into items, e.g. frames,
+ * compressed buffers or decoded characters.
+ * <p>
+ * All methods are called from drain loop of {@link Stage}, so step
+ * implementations don't need to be thread safe.
+ * </p>
+ * @param <T> Item type
+ * @since 0.4
+ */
+public interface Step<T> {
+
+    /**
+     * Accept next source buffer, it's called only after {@link #next(boolean)}
+     * returned null without end of input.
+     * @param buf Source buffer
+     */
+    void accept(ByteBuffer buf);
+
+    /**
+     * Next item, it's called only when downstream requested it.
+     * @param last No more source buffers will be accepted
+     * @return Item or null if more input is needed or there are no more items at the end
+     * @throws IOException On invalid input
+     */
+    T next(boolean last) throws IOException;
+
+    /**
+     * Check the step can't produce more items regardless of input,
+     * e.g. end of compressed stream was reached.
+     * @return True if finished
+     */
+    default boolean finished() {
+        return false;
+    }
+
+    /**
+     * Release step resources, it's called once on any terminal signal or cancellation.
+     */
+    default void close() {
+        // nothing to release
+    }
+}
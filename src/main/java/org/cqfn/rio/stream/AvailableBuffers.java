@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.cqfn.rio.Buffers;
+
+/**
+ * Heap buffers sized by available bytes of input stream.
+ * @since 0.4
+ */
+final class AvailableBuffers implements Buffers {
+
+    /**
+     * Min buffer size.
+     */
+    private static final int MIN = 1024;
+
+    /**
+     * Buffer size if stream doesn't know available bytes.
+     */
+    private static final int DEFAULT = 8 * 1024;
+
+    /**
+     * Max buffer size.
+     */
+    private static final int MAX = 64 * 1024;
+
+    /**
+     * Input stream.
+     */
+    private final InputStream src;
+
+    /**
+     * New buffers.
+     * @param src Input stream
+     */
+    AvailableBuffers(final InputStream src) {
+        this.src = src;
+    }
+
+    @Override
+    public ByteBuffer create() {
+        int size;
+        try {
+            size = this.src.available();
+        } catch (final IOException ignored) {
+            size = 0;
+        }
+        if (size <= 0) {
+            size = AvailableBuffers.DEFAULT;
+        }
+        return ByteBuffer.allocate(
+            Math.min(Math.max(size, AvailableBuffers.MIN), AvailableBuffers.MAX)
+        );
+    }
+}
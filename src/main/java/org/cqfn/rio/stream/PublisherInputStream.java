@@ -0,0 +1,405 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.jctools.queues.SpscArrayQueue;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Input stream of publisher bytes.
+ * <p>
+ * It subscribes to the publisher on first access and requests up to {@code prefetch}
+ * buffers ahead of the reader, then replenishes the window when three quarters of it
+ * were consumed. Read methods block until data is available, bytes are copied directly
+ * from received buffers into read arrays; {@link #skip(long)} just moves buffer position
+ * and {@code transferTo} writes heap buffers without intermediate copy. Publisher error
+ * is thrown from read methods as {@link IOException} after all received bytes were read,
+ * {@link #close()} cancels the subscription. Like other input streams it's not thread-safe,
+ * it should be read by one thread at a time.
+ * </p>
+ * <p>
+ * Usage example:
+ * <pre>{@code
+ * try (InputStream src = new PublisherInputStream(new File(path).content())) {
+ *     properties.load(src);
+ * }
+ * }</pre>
+ * </p>
+ * @since 0.4
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class PublisherInputStream extends InputStream {
+
+    /**
+     * Default prefetch window.
+     */
+    private static final int PREFETCH = 4;
+
+    /**
+     * Transfer chunk size for direct buffers.
+     */
+    private static final int CHUNK = 8192;
+
+    /**
+     * Source publisher.
+     */
+    private final Publisher<ByteBuffer> source;
+
+    /**
+     * Prefetch window.
+     */
+    private final int prefetch;
+
+    /**
+     * Amount of consumed buffers to replenish the window.
+     */
+    private final int limit;
+
+    /**
+     * Received buffers.
+     */
+    private final Queue<ByteBuffer> queue;
+
+    /**
+     * Fence counter: its value is never read, the increment is used only as full
+     * (StoreLoad) memory fence after publisher signal, because queue offer is
+     * a lazy store, which could be reordered with the following read of the
+     * waiter, and the reader could park after checking the queue without being
+     * unparked. Java 8 has no public fence API.
+     */
+    private final AtomicLong fence;
+
+    /**
+     * Current buffer, accessed by reader only.
+     */
+    private ByteBuffer cur;
+
+    /**
+     * Consumed buffers since last request, accessed by reader only.
+     */
+    private int consumed;
+
+    /**
+     * Subscribed to the publisher, accessed by reader only.
+     */
+    private boolean subscribed;
+
+    /**
+     * Stream was closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Publisher subscription.
+     */
+    private volatile Subscription upstream;
+
+    /**
+     * Publisher completed.
+     */
+    private volatile boolean completed;
+
+    /**
+     * Publisher error.
+     */
+    private volatile Throwable error;
+
+    /**
+     * Reader thread waiting for data.
+     */
+    private volatile Thread waiter;
+
+    /**
+     * Input stream with default prefetch window.
+     * @param source Source publisher
+     */
+    public PublisherInputStream(final Publisher<ByteBuffer> source) {
+        this(source, PublisherInputStream.PREFETCH);
+    }
+
+    /**
+     * Input stream.
+     * @param source Source publisher
+     * @param prefetch Max amount of buffers requested ahead of the reader
+     */
+    public PublisherInputStream(final Publisher<ByteBuffer> source, final int prefetch) {
+        super();
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("Prefetch should be positive");
+        }
+        this.source = source;
+        this.prefetch = prefetch;
+        this.limit = Math.max(1, prefetch - (prefetch >> 2));
+        this.queue = new SpscArrayQueue<>(prefetch);
+        this.fence = new AtomicLong();
+    }
+
+    @Override
+    public int read() throws IOException {
+        final ByteBuffer buf = this.next(true);
+        final int res;
+        if (buf == null) {
+            res = -1;
+        } else {
+            res = buf.get() & 0xff;
+        }
+        return res;
+    }
+
+    @Override
+    public int read(final byte[] dst, final int off, final int len) throws IOException {
+        if (off < 0 || len < 0 || len > dst.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        int res = 0;
+        if (len > 0) {
+            ByteBuffer buf = this.next(true);
+            if (buf == null) {
+                res = -1;
+            }
+            while (buf != null && res < len) {
+                final int chunk = Math.min(len - res, buf.remaining());
+                buf.get(dst, off + res, chunk);
+                res += chunk;
+                if (res < len) {
+                    buf = this.next(false);
+                }
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public long skip(final long amount) throws IOException {
+        long res = 0;
+        if (amount > 0) {
+            ByteBuffer buf = this.next(true);
+            while (buf != null && res < amount) {
+                final int chunk = (int) Math.min(amount - res, buf.remaining());
+                ((Buffer) buf).position(buf.position() + chunk);
+                res += chunk;
+                if (res < amount) {
+                    buf = this.next(false);
+                }
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public int available() throws IOException {
+        final ByteBuffer buf = this.next(false);
+        final int res;
+        if (buf == null) {
+            res = 0;
+        } else {
+            res = buf.remaining();
+        }
+        return res;
+    }
+
+    /**
+     * Write all remaining bytes to output stream, it overrides
+     * {@code InputStream.transferTo} on Java 9 and newer.
+     * @param out Output stream
+     * @return Amount of transferred bytes
+     * @throws IOException On error
+     */
+    public long transferTo(final OutputStream out) throws IOException {
+        long res = 0;
+        byte[] chunk = null;
+        for (ByteBuffer buf = this.next(true); buf != null; buf = this.next(true)) {
+            final int len = buf.remaining();
+            if (buf.hasArray()) {
+                out.write(buf.array(), buf.arrayOffset() + buf.position(), len);
+                ((Buffer) buf).position(buf.limit());
+            } else {
+                if (chunk == null) {
+                    chunk = new byte[PublisherInputStream.CHUNK];
+                }
+                while (buf.hasRemaining()) {
+                    final int part = Math.min(chunk.length, buf.remaining());
+                    buf.get(chunk, 0, part);
+                    out.write(chunk, 0, part);
+                }
+            }
+            res += len;
+        }
+        return res;
+    }
+
+    @Override
+    public void close() {
+        if (!this.closed) {
+            this.closed = true;
+            final Subscription sub = this.upstream;
+            if (sub != null) {
+                sub.cancel();
+            }
+            this.signal();
+        }
+    }
+
+    /**
+     * Buffer with remaining bytes.
+     * @param block Wait for data if not available
+     * @return Buffer or null on end of stream or if not available without blocking
+     * @throws IOException On publisher error when blocking or if closed
+     */
+    private ByteBuffer next(final boolean block) throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+        if (!this.subscribed) {
+            this.subscribed = true;
+            this.source.subscribe(new Upstream());
+        }
+        while (this.cur == null || !this.cur.hasRemaining()) {
+            this.cur = null;
+            final boolean done = this.completed;
+            final ByteBuffer buf = this.queue.poll();
+            if (buf != null) {
+                this.cur = buf;
+                this.replenish();
+            } else if (done) {
+                if (block) {
+                    this.fail();
+                }
+                break;
+            } else if (block) {
+                this.await();
+            } else {
+                break;
+            }
+        }
+        return this.cur;
+    }
+
+    /**
+     * Request more buffers if enough buffers were consumed.
+     */
+    private void replenish() {
+        ++this.consumed;
+        if (this.consumed == this.limit) {
+            this.consumed = 0;
+            this.upstream.request(this.limit);
+        }
+    }
+
+    /**
+     * Throw publisher error if any.
+     * @throws IOException Publisher error
+     */
+    private void fail() throws IOException {
+        final Throwable err = this.error;
+        if (err != null) {
+            throw new IOException("Publisher failed", err);
+        }
+    }
+
+    /**
+     * Wait for publisher signal.
+     * @throws IOException If interrupted or closed
+     */
+    private void await() throws IOException {
+        this.waiter = Thread.currentThread();
+        if (this.queue.isEmpty() && !this.completed && !this.closed) {
+            LockSupport.park(this);
+        }
+        this.waiter = null;
+        if (Thread.interrupted()) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for data");
+        }
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * Wake up waiting reader.
+     */
+    private void signal() {
+        this.fence.incrementAndGet();
+        final Thread thread = this.waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Publisher subscriber.
+     * @since 0.4
+     */
+    private final class Upstream implements Subscriber<ByteBuffer> {
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            PublisherInputStream.this.upstream = subscription;
+            if (PublisherInputStream.this.closed) {
+                subscription.cancel();
+            } else {
+                subscription.request(PublisherInputStream.this.prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(final ByteBuffer buf) {
+            if (!PublisherInputStream.this.queue.offer(buf)
+                && !PublisherInputStream.this.completed) {
+                PublisherInputStream.this.upstream.cancel();
+                PublisherInputStream.this.error = new IllegalStateException(
+                    "Publisher emitted more buffers than requested"
+                );
+                PublisherInputStream.this.completed = true;
+            }
+            PublisherInputStream.this.signal();
+        }
+
+        @Override
+        public void onError(final Throwable err) {
+            PublisherInputStream.this.error = err;
+            PublisherInputStream.this.completed = true;
+            PublisherInputStream.this.signal();
+        }
+
+        @Override
+        public void onComplete() {
+            PublisherInputStream.this.completed = true;
+            PublisherInputStream.this.signal();
+        }
+    }
+}
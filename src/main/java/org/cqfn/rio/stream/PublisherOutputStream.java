@@ -0,0 +1,386 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stream;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Output stream which publishes written bytes.
+ * <p>
+ * Written bytes are collected into buffers from {@link Buffers}, each buffer
+ * is emitted to the subscriber when it's full or on {@link #flush()}. The writer
+ * is blocked only while the subscriber has no demand, or until it subscribed.
+ * {@link #close()} emits the rest of bytes and completes the publisher,
+ * {@link #fail(Throwable)} terminates it with an error instead, e.g. if serialization
+ * failed. If the subscriber cancelled, writes fail with {@link IOException}.
+ * It accepts only one subscriber, and like other output streams it's not thread-safe,
+ * it should be written by one thread at a time.
+ * </p>
+ * <p>
+ * Usage example:
+ * <pre>{@code
+ * PublisherOutputStream out = new PublisherOutputStream();
+ * CompletionStage<Void> written = new File(path).write(out);
+ * try {
+ *     mapper.writeValue(out, value);
+ *     out.close();
+ * } catch (IOException err) {
+ *     out.fail(err);
+ * }
+ * }</pre>
+ * </p>
+ * @since 0.4
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class PublisherOutputStream extends OutputStream implements Publisher<ByteBuffer> {
+
+    /**
+     * Buffers allocation strategy.
+     */
+    private final Buffers buffers;
+
+    /**
+     * Requested items.
+     */
+    private final AtomicLong demand;
+
+    /**
+     * Subscriber state lock.
+     */
+    private final Object lock;
+
+    /**
+     * Current buffer, accessed by writer only.
+     */
+    private ByteBuffer cur;
+
+    /**
+     * Stream was closed or failed, accessed by writer only.
+     */
+    private boolean closed;
+
+    /**
+     * Subscriber, guarded by lock.
+     */
+    private Subscriber<? super ByteBuffer> subscriber;
+
+    /**
+     * Subscriber received subscription, guarded by lock.
+     */
+    private boolean ready;
+
+    /**
+     * Terminal signal to deliver on subscribe, guarded by lock.
+     */
+    private boolean terminated;
+
+    /**
+     * Error to deliver on subscribe or null, guarded by lock.
+     */
+    private Throwable terminal;
+
+    /**
+     * Subscriber can receive signals.
+     */
+    private volatile boolean active;
+
+    /**
+     * Subscription was cancelled.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Rule violation error.
+     */
+    private volatile Throwable violation;
+
+    /**
+     * Writer thread waiting for demand.
+     */
+    private volatile Thread waiter;
+
+    /**
+     * Output stream with 8KB buffers.
+     */
+    public PublisherOutputStream() {
+        this(Buffers.Standard.K8);
+    }
+
+    /**
+     * Output stream.
+     * @param buffers Buffers allocation strategy
+     */
+    public PublisherOutputStream(final Buffers buffers) {
+        super();
+        this.buffers = buffers;
+        this.demand = new AtomicLong();
+        this.lock = new Object();
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> sub) {
+        Objects.requireNonNull(sub, "Subscriber can't be null");
+        final boolean accepted;
+        synchronized (this.lock) {
+            accepted = this.subscriber == null;
+            if (accepted) {
+                this.subscriber = sub;
+            }
+        }
+        if (accepted) {
+            sub.onSubscribe(new Demand());
+            final boolean term;
+            final Throwable err;
+            synchronized (this.lock) {
+                this.ready = true;
+                term = this.terminated;
+                err = this.terminal;
+            }
+            if (term) {
+                PublisherOutputStream.deliver(sub, err);
+            } else {
+                this.active = true;
+                this.wakeup();
+            }
+        } else {
+            sub.onSubscribe(Subscriptions.DUMMY);
+            sub.onError(new IllegalStateException("Output stream accepts only one subscriber"));
+        }
+    }
+
+    @Override
+    public void write(final int value) throws IOException {
+        this.buffer().put((byte) value);
+        if (!this.cur.hasRemaining()) {
+            this.emit();
+        }
+    }
+
+    @Override
+    public void write(final byte[] src, final int off, final int len) throws IOException {
+        if (off < 0 || len < 0 || len > src.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        int pos = off;
+        final int end = off + len;
+        while (pos < end) {
+            final ByteBuffer buf = this.buffer();
+            final int chunk = Math.min(end - pos, buf.remaining());
+            buf.put(src, pos, chunk);
+            pos += chunk;
+            if (!buf.hasRemaining()) {
+                this.emit();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.check();
+        if (this.cur != null && this.cur.position() > 0) {
+            this.emit();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            try {
+                if (this.cancelled) {
+                    this.report();
+                } else {
+                    this.flush();
+                    this.terminate(null);
+                }
+            } finally {
+                this.closed = true;
+            }
+        }
+    }
+
+    /**
+     * Terminate the publisher with error instead of completion, buffered bytes
+     * are discarded. It does nothing if the stream was already closed.
+     * @param err Error
+     */
+    public void fail(final Throwable err) {
+        Objects.requireNonNull(err, "Error can't be null");
+        if (!this.closed) {
+            this.cur = null;
+            if (this.cancelled) {
+                this.report();
+            } else {
+                this.terminate(err);
+            }
+        }
+        this.closed = true;
+    }
+
+    /**
+     * Current buffer with remaining space. Full buffer is left pending
+     * if previous emit was interrupted, it's emitted first then.
+     * @return Buffer
+     * @throws IOException If closed, cancelled or interrupted
+     */
+    private ByteBuffer buffer() throws IOException {
+        this.check();
+        if (this.cur != null && !this.cur.hasRemaining()) {
+            this.emit();
+        }
+        if (this.cur == null) {
+            this.cur = this.buffers.create();
+        }
+        return this.cur;
+    }
+
+    /**
+     * Emit current buffer, waiting for demand.
+     * @throws IOException If cancelled or interrupted
+     */
+    private void emit() throws IOException {
+        while (!this.active || this.demand.get() == 0) {
+            this.check();
+            this.waiter = Thread.currentThread();
+            if ((!this.active || this.demand.get() == 0) && !this.cancelled) {
+                LockSupport.park(this);
+            }
+            this.waiter = null;
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for demand");
+            }
+        }
+        this.check();
+        this.demand.decrementAndGet();
+        final ByteBuffer buf = this.cur;
+        this.cur = null;
+        ((Buffer) buf).flip();
+        this.subscriber.onNext(buf);
+    }
+
+    /**
+     * Deliver terminal signal now or on subscribe.
+     * @param err Error or null for completion
+     */
+    private void terminate(final Throwable err) {
+        final Subscriber<? super ByteBuffer> sub;
+        synchronized (this.lock) {
+            if (this.ready) {
+                sub = this.subscriber;
+            } else {
+                sub = null;
+                this.terminated = true;
+                this.terminal = err;
+            }
+        }
+        if (sub != null) {
+            PublisherOutputStream.deliver(sub, err);
+        }
+    }
+
+    /**
+     * Check the stream can be written.
+     * @throws IOException If closed or cancelled
+     */
+    private void check() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+        if (this.cancelled) {
+            this.report();
+            throw new IOException("Subscriber cancelled");
+        }
+    }
+
+    /**
+     * Report rule violation to the subscriber from writer thread.
+     */
+    private void report() {
+        final Throwable err = this.violation;
+        if (err != null) {
+            this.violation = null;
+            this.subscriber.onError(err);
+        }
+    }
+
+    /**
+     * Wake up waiting writer.
+     */
+    private void wakeup() {
+        final Thread thread = this.waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Deliver terminal signal.
+     * @param sub Subscriber
+     * @param err Error or null for completion
+     */
+    private static void deliver(final Subscriber<? super ByteBuffer> sub, final Throwable err) {
+        if (err == null) {
+            sub.onComplete();
+        } else {
+            sub.onError(err);
+        }
+    }
+
+    /**
+     * Subscriber demand.
+     * @since 0.4
+     */
+    private final class Demand implements Subscription {
+
+        @Override
+        public void request(final long amount) {
+            if (amount <= 0) {
+                PublisherOutputStream.this.violation = Subscriptions.violation(amount);
+                this.cancel();
+            } else {
+                Subscriptions.add(PublisherOutputStream.this.demand, amount);
+                PublisherOutputStream.this.wakeup();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            PublisherOutputStream.this.cancelled = true;
+            PublisherOutputStream.this.wakeup();
+        }
+    }
+}
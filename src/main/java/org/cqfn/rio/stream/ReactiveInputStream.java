@@ -27,13 +27,20 @@ package org.cqfn.rio.stream;
 
 import java.io.InputStream;
 import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
+import java.util.concurrent.ExecutorService;
 import org.cqfn.rio.Buffers;
-import org.cqfn.rio.channel.ReadableChannel;
+import org.cqfn.rio.IoExecutor;
 import org.reactivestreams.Publisher;
 
 /**
  * Reactive read methods for {@link InputStream}.
+ * <p>
+ * Stream is read with blocking reads on executor, which is
+ * {@link IoExecutor#blocking()} by default, since streams like sockets
+ * or process outputs may block reading thread for a long time.
+ * The stream is closed when the publisher completes, fails or is cancelled,
+ * and it can be subscribed only once.
+ * </p>
  * @since 0.2
  */
 public final class ReactiveInputStream {
@@ -44,19 +51,45 @@ public final class ReactiveInputStream {
     private final InputStream src;
 
     /**
-     * Extend {@link InputStream} with reactive read methods.
+     * Executor for blocking reads.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Extend {@link InputStream} with reactive read methods, reading
+     * on shared blocking IO executor.
      * @param src Input stream
      */
     public ReactiveInputStream(final InputStream src) {
+        this(src, IoExecutor.blocking());
+    }
+
+    /**
+     * Extend {@link InputStream} with reactive read methods.
+     * @param src Input stream
+     * @param exec Executor for blocking reads
+     */
+    public ReactiveInputStream(final InputStream src, final ExecutorService exec) {
         this.src = src;
+        this.exec = exec;
     }
 
     /**
-     * Read input stream as a publisher of byte buffers.
+     * Read input stream as a publisher of byte buffers. Heap buffers are
+     * read directly, direct buffers are filled through heap array.
      * @param buf Buffer allocation strategy
      * @return Publisher of bute buffers
      */
     public Publisher<ByteBuffer> read(final Buffers buf) {
-        return new ReadableChannel(() -> Channels.newChannel(this.src)).read(buf);
+        return new StreamReadPublisher(this.src, buf, this.exec);
+    }
+
+    /**
+     * Read input stream as a publisher of heap byte buffers, which are sized
+     * by available bytes of the stream from 1KB to 64KB.
+     * @return Publisher of byte buffers
+     */
+    public Publisher<ByteBuffer> read() {
+        return new StreamReadPublisher(this.src, new AvailableBuffers(this.src), this.exec);
     }
 }
@@ -0,0 +1,305 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.IoExecutor;
+import org.cqfn.rio.WriteGreed;
+import org.cqfn.rio.channel.AbortableChannel;
+import org.cqfn.rio.channel.WritableChannel;
+import org.reactivestreams.Publisher;
+
+/**
+ * Reactive standard streams of child process.
+ * <p>
+ * Output and error streams of the process are publishers of byte buffers,
+ * which are read on executor only when subscriber requested data, so slow
+ * subscriber blocks the process on full pipe instead of buffering its output.
+ * Input stream accepts a publisher, which is written on the same executor, and
+ * the input is closed when the publisher completes. If the publisher fails,
+ * the process is destroyed, since closed input would look like a normal end
+ * of data to it.
+ * </p>
+ * <p>
+ * Pipe reads and writes are blocking, and the process may wait until its
+ * output is consumed before reading more input, so each pending read or write
+ * holds executor thread until the pipe is ready. Fixed size executor, like
+ * {@link IoExecutor#shared()}, may deadlock when all its threads are blocked
+ * on writes, that's why default executor is {@link IoExecutor#blocking()}.
+ * Its pool grows by one thread per blocked stream, so each process may occupy
+ * up to three threads while its stdin, stdout and stderr are all waiting for
+ * the pipe; idle threads are reused across processes.
+ * </p>
+ * <p>
+ * Usage example, compressing data with external tool:
+ * <pre>{@code
+ * ReactiveProcess gzip = new ReactiveProcess(new ProcessBuilder("gzip", "-c").start());
+ * gzip.stdin(data);
+ * CompletionStage<Void> written = new File(Paths.get("data.gz")).write(gzip.stdout());
+ * }</pre>
+ * </p>
+ * @since 0.4
+ */
+public final class ReactiveProcess {
+
+    /**
+     * Process on exit method handle, null if not supported.
+     */
+    private static final MethodHandle ON_EXIT = ReactiveProcess.onExit();
+
+    /**
+     * Process.
+     */
+    private final Process proc;
+
+    /**
+     * Executor for blocking reads and writes.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Reactive process with shared blocking IO executor.
+     * @param proc Process
+     */
+    public ReactiveProcess(final Process proc) {
+        this(proc, IoExecutor.blocking());
+    }
+
+    /**
+     * Reactive process.
+     * @param proc Process
+     * @param exec Executor for blocking reads and writes, it should not
+     *  limit number of threads less than number of concurrent process streams
+     */
+    public ReactiveProcess(final Process proc, final ExecutorService exec) {
+        this.proc = proc;
+        this.exec = exec;
+    }
+
+    /**
+     * Process output as heap buffers sized by available bytes.
+     * @return Publisher of byte buffers
+     */
+    public Publisher<ByteBuffer> stdout() {
+        return new ReactiveInputStream(this.proc.getInputStream(), this.exec).read();
+    }
+
+    /**
+     * Process output.
+     * @param buffers Buffers allocation strategy
+     * @return Publisher of byte buffers
+     */
+    public Publisher<ByteBuffer> stdout(final Buffers buffers) {
+        return new ReactiveInputStream(this.proc.getInputStream(), this.exec).read(buffers);
+    }
+
+    /**
+     * Process error output as heap buffers sized by available bytes.
+     * @return Publisher of byte buffers
+     */
+    public Publisher<ByteBuffer> stderr() {
+        return new ReactiveInputStream(this.proc.getErrorStream(), this.exec).read();
+    }
+
+    /**
+     * Process error output.
+     * @param buffers Buffers allocation strategy
+     * @return Publisher of byte buffers
+     */
+    public Publisher<ByteBuffer> stderr(final Buffers buffers) {
+        return new ReactiveInputStream(this.proc.getErrorStream(), this.exec).read(buffers);
+    }
+
+    /**
+     * Write data to process input and close it when data completes.
+     * The process is destroyed if data publisher fails.
+     * @param data Publisher of data
+     * @return Future completed when data was written and input was closed
+     */
+    public CompletionStage<Void> stdin(final Publisher<ByteBuffer> data) {
+        return this.stdin(data, WriteGreed.SYSTEM);
+    }
+
+    /**
+     * Write data to process input and close it when data completes.
+     * The process is destroyed if data publisher fails.
+     * @param data Publisher of data
+     * @param greed Write greed
+     * @return Future completed when data was written and input was closed
+     */
+    public CompletionStage<Void> stdin(final Publisher<ByteBuffer> data,
+        final WriteGreed greed) {
+        return new WritableChannel(() -> new Input(this.proc), this.exec).write(data, greed);
+    }
+
+    /**
+     * Exit code of the process. On Java 9 and newer it's completed by
+     * process reaper of JVM, on Java 8 it waits for the process on executor.
+     * @return Future of exit code
+     */
+    @SuppressWarnings({"unchecked", "PMD.AvoidCatchingThrowable"})
+    public CompletionStage<Integer> exit() {
+        CompletionStage<Integer> res;
+        if (ReactiveProcess.ON_EXIT == null) {
+            res = CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return this.proc.waitFor();
+                    } catch (final InterruptedException err) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted", err);
+                    }
+                },
+                this.exec
+            );
+        } else {
+            try {
+                res = ((CompletableFuture<Process>) ReactiveProcess.ON_EXIT.invoke(this.proc))
+                    .thenApply(Process::exitValue);
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Throwable err) {
+                final CompletableFuture<Integer> failed = new CompletableFuture<>();
+                failed.completeExceptionally(err);
+                res = failed;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Find process on exit method.
+     * @return Method handle or null if not supported
+     */
+    private static MethodHandle onExit() {
+        MethodHandle res;
+        try {
+            res = MethodHandles.publicLookup().findVirtual(
+                Process.class, "onExit", MethodType.methodType(CompletableFuture.class)
+            );
+        } catch (final NoSuchMethodException | IllegalAccessException err) {
+            res = null;
+        }
+        return res;
+    }
+
+    /**
+     * Process input channel, which destroys the process on abort
+     * before closing the input.
+     * <p>
+     * Heap buffers are written to the input stream directly from their arrays,
+     * direct buffers are copied through one reused heap chunk of up to {@code 64KB}.
+     * </p>
+     * @since 0.4
+     */
+    private static final class Input implements WritableByteChannel, AbortableChannel {
+
+        /**
+         * Max size of heap array for direct buffers.
+         */
+        private static final int CHUNK = 64 * 1024;
+
+        /**
+         * Process.
+         */
+        private final Process proc;
+
+        /**
+         * Process input stream.
+         */
+        private final OutputStream out;
+
+        /**
+         * Heap chunk to copy direct buffers, it grows up to max size.
+         */
+        private byte[] chunk;
+
+        /**
+         * Channel is open.
+         */
+        private volatile boolean open;
+
+        /**
+         * New process input.
+         * @param proc Process
+         */
+        Input(final Process proc) {
+            this.proc = proc;
+            this.out = proc.getOutputStream();
+            this.open = true;
+        }
+
+        @Override
+        public int write(final ByteBuffer src) throws IOException {
+            if (!this.open) {
+                throw new ClosedChannelException();
+            }
+            final int len = src.remaining();
+            if (src.hasArray()) {
+                this.out.write(src.array(), src.arrayOffset() + src.position(), len);
+                ((Buffer) src).position(src.limit());
+            } else {
+                final int size = Math.min(len, Input.CHUNK);
+                if (this.chunk == null || this.chunk.length < size) {
+                    this.chunk = new byte[size];
+                }
+                while (src.hasRemaining()) {
+                    final int part = Math.min(this.chunk.length, src.remaining());
+                    src.get(this.chunk, 0, part);
+                    this.out.write(this.chunk, 0, part);
+                }
+            }
+            return len;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return this.open;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.open = false;
+            this.out.close();
+        }
+
+        @Override
+        public void abort() throws IOException {
+            this.proc.destroy();
+            this.close();
+        }
+    }
+}
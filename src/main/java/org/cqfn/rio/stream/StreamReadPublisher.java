@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stream;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Publisher of input stream bytes.
+ * @since 0.4
+ */
+final class StreamReadPublisher implements Publisher<ByteBuffer> {
+
+    /**
+     * Input stream.
+     */
+    private final InputStream src;
+
+    /**
+     * Buffers allocation strategy.
+     */
+    private final Buffers buffers;
+
+    /**
+     * Executor for blocking reads.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Stream was subscribed.
+     */
+    private final AtomicBoolean subscribed;
+
+    /**
+     * New publisher.
+     * @param src Input stream
+     * @param buffers Buffers allocation strategy
+     * @param exec Executor for blocking reads
+     */
+    StreamReadPublisher(final InputStream src, final Buffers buffers,
+        final ExecutorService exec) {
+        this.src = src;
+        this.buffers = buffers;
+        this.exec = exec;
+        this.subscribed = new AtomicBoolean();
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> sub) {
+        Objects.requireNonNull(sub, "Subscriber can't be null");
+        if (this.subscribed.compareAndSet(false, true)) {
+            sub.onSubscribe(new StreamReadSubscription(sub, this.src, this.buffers, this.exec));
+        } else {
+            sub.onSubscribe(Subscriptions.DUMMY);
+            sub.onError(new IllegalStateException("Input stream can be read only once"));
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stream;
+
+import com.jcabi.log.Logger;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscription reading input stream.
+ * <p>
+ * Reads are performed on executor while subscriber has demand. Heap buffers
+ * are filled directly from the stream, direct buffers are filled through
+ * reused heap array, except file input stream which reads direct buffers
+ * with its channel. Each buffer is filled with one blocking read, so it's
+ * emitted as soon as the stream returns some data, buffers without space
+ * to read are rejected with error. The stream is closed on completion,
+ * error or cancellation.
+ * </p>
+ * @since 0.4
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+final class StreamReadSubscription implements Subscription {
+
+    /**
+     * Max size of heap array for direct buffers.
+     */
+    private static final int CHUNK = 64 * 1024;
+
+    /**
+     * Subscriber.
+     */
+    private final Subscriber<? super ByteBuffer> sub;
+
+    /**
+     * Input stream.
+     */
+    private final InputStream src;
+
+    /**
+     * Buffers allocation strategy.
+     */
+    private final Buffers buffers;
+
+    /**
+     * Executor for blocking reads.
+     */
+    private final ExecutorService exec;
+
+    /**
+     * Drain loop work-in-progress counter.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * Requested items.
+     */
+    private final AtomicLong demand;
+
+    /**
+     * Heap array for direct buffers, accessed from drain loop only.
+     */
+    private byte[] chunk;
+
+    /**
+     * End of stream was reached, accessed from drain loop only.
+     */
+    private boolean eof;
+
+    /**
+     * Subscription is finished, accessed from drain loop only.
+     */
+    private boolean done;
+
+    /**
+     * Cancellation flag.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Rule violation error.
+     */
+    private volatile Throwable violation;
+
+    /**
+     * New subscription.
+     * @param sub Subscriber
+     * @param src Input stream
+     * @param buffers Buffers allocation strategy
+     * @param exec Executor for blocking reads
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    StreamReadSubscription(final Subscriber<? super ByteBuffer> sub, final InputStream src,
+        final Buffers buffers, final ExecutorService exec) {
+        this.sub = sub;
+        this.src = src;
+        this.buffers = buffers;
+        this.exec = exec;
+        this.wip = new AtomicInteger();
+        this.demand = new AtomicLong();
+    }
+
+    @Override
+    public void request(final long amount) {
+        if (amount <= 0) {
+            this.violation = Subscriptions.violation(amount);
+        } else {
+            Subscriptions.add(this.demand, amount);
+        }
+        this.schedule();
+    }
+
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+        this.schedule();
+    }
+
+    /**
+     * Schedule drain loop on executor.
+     */
+    private void schedule() {
+        if (this.wip.getAndIncrement() == 0) {
+            try {
+                this.exec.execute(this::drain);
+            } catch (final RejectedExecutionException err) {
+                this.done = true;
+                this.close();
+                this.sub.onError(err);
+            }
+        }
+    }
+
+    /**
+     * Drain loop: read and emit buffers while there is demand.
+     */
+    private void drain() {
+        int missed = 1;
+        do {
+            if (!this.done) {
+                this.process();
+            }
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * One drain loop iteration.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private void process() {
+        while (!this.done) {
+            final Throwable err = this.violation;
+            if (this.cancelled) {
+                this.done = true;
+                this.close();
+                break;
+            }
+            if (err != null) {
+                this.done = true;
+                this.close();
+                this.sub.onError(err);
+                break;
+            }
+            if (this.eof) {
+                this.done = true;
+                this.close();
+                this.sub.onComplete();
+                break;
+            }
+            if (this.demand.get() == 0) {
+                break;
+            }
+            final ByteBuffer buf;
+            try {
+                buf = this.read();
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Throwable exx) {
+                this.done = true;
+                this.close();
+                this.sub.onError(exx);
+                break;
+            }
+            if (buf.hasRemaining()) {
+                this.demand.decrementAndGet();
+                this.sub.onNext(buf);
+            }
+        }
+    }
+
+    /**
+     * Read next buffer with one read call, so it's emitted as soon as
+     * the stream returns some data.
+     * @return Buffer in read mode, empty on end of stream
+     * @throws IOException On read error
+     */
+    private ByteBuffer read() throws IOException {
+        final ByteBuffer buf = this.buffers.create();
+        if (!buf.hasRemaining()) {
+            throw new IllegalStateException("Buffers created buffer without space to read");
+        }
+        final int len;
+        if (buf.hasArray()) {
+            len = this.src.read(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+            if (len > 0) {
+                ((Buffer) buf).position(buf.position() + len);
+            }
+        } else if (this.src.getClass() == FileInputStream.class) {
+            len = ((FileInputStream) this.src).getChannel().read(buf);
+        } else {
+            if (this.chunk == null) {
+                this.chunk = new byte[Math.min(buf.capacity(), StreamReadSubscription.CHUNK)];
+            }
+            len = this.src.read(this.chunk, 0, Math.min(this.chunk.length, buf.remaining()));
+            if (len > 0) {
+                buf.put(this.chunk, 0, len);
+            }
+        }
+        if (len < 0) {
+            this.eof = true;
+        }
+        ((Buffer) buf).flip();
+        return buf;
+    }
+
+    /**
+     * Close input stream.
+     */
+    private void close() {
+        try {
+            this.src.close();
+        } catch (final IOException err) {
+            Logger.warn(this, "Failed to close input stream: %[exception]s", err);
+        }
+    }
+}
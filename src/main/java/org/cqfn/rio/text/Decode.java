@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.text;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Objects;
+import org.cqfn.rio.stage.Stage;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Characters of decoded source bytes.
+ * <p>
+ * Source buffers are decoded one by one with the same decoder, so multibyte
+ * sequences split between buffers are decoded correctly: incomplete sequence
+ * at the end of buffer is kept until the next buffer. Each char buffer contains
+ * characters of one or more source buffers, buffers without complete characters
+ * are not emitted. Direct source buffers are copied into reused heap buffer
+ * before decoding, since charset decoders have fast array-based paths
+ * (e.g. for ASCII bytes in UTF-8) but decode direct buffers byte by byte.
+ * Malformed input is replaced by default, with {@link CodingErrorAction#REPORT}
+ * it fails with {@link java.nio.charset.CharacterCodingException}.
+ * </p>
+ * <p>
+ * Usage example:
+ * <pre>{@code
+ * Publisher<CharBuffer> text = new Decode(
+ *     new File(Paths.get("data.txt")).content(), StandardCharsets.UTF_8
+ * );
+ * }</pre>
+ * </p>
+ * @since 0.4
+ */
+public final class Decode implements Publisher<CharBuffer> {
+
+    /**
+     * Source publisher.
+     */
+    private final Publisher<ByteBuffer> source;
+
+    /**
+     * Charset.
+     */
+    private final Charset charset;
+
+    /**
+     * Malformed and unmappable input action.
+     */
+    private final CodingErrorAction action;
+
+    /**
+     * Decode with replacement of malformed input.
+     * @param source Source publisher
+     * @param charset Charset
+     */
+    public Decode(final Publisher<ByteBuffer> source, final Charset charset) {
+        this(source, charset, CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Decode.
+     * @param source Source publisher
+     * @param charset Charset
+     * @param action Malformed and unmappable input action
+     */
+    public Decode(final Publisher<ByteBuffer> source, final Charset charset,
+        final CodingErrorAction action) {
+        this.source = source;
+        this.charset = charset;
+        this.action = action;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super CharBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber can't be null");
+        final CharsetDecoder decoder = this.charset.newDecoder()
+            .onMalformedInput(this.action)
+            .onUnmappableCharacter(this.action);
+        new Stage<>(subscriber, new DecodeStep(new Decoder(decoder))).start(this.source);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.text;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import org.cqfn.rio.stage.Step;
+
+/**
+ * Decoding transformation step.
+ * <p>
+ * Each source buffer is decoded into one char buffer, source buffers
+ * without complete characters don't produce items, so they don't
+ * consume downstream demand. Decoder is flushed at the end of input.
+ * </p>
+ * @since 0.4
+ */
+final class DecodeStep implements Step<CharBuffer> {
+
+    /**
+     * Decoder.
+     */
+    private final Decoder decoder;
+
+    /**
+     * Accepted source buffer or null.
+     */
+    private ByteBuffer input;
+
+    /**
+     * Decoder was flushed at the end of input.
+     */
+    private boolean flushed;
+
+    /**
+     * New decode step.
+     * @param decoder Decoder
+     */
+    DecodeStep(final Decoder decoder) {
+        this.decoder = decoder;
+    }
+
+    @Override
+    public void accept(final ByteBuffer buf) {
+        this.input = buf;
+    }
+
+    @Override
+    public CharBuffer next(final boolean last) throws CharacterCodingException {
+        CharBuffer res = null;
+        if (this.input != null) {
+            final ByteBuffer buf = this.input;
+            this.input = null;
+            res = DecodeStep.nonEmpty(this.decoder.decode(buf));
+        }
+        if (res == null && last && !this.flushed) {
+            this.flushed = true;
+            res = DecodeStep.nonEmpty(this.decoder.finish());
+        }
+        return res;
+    }
+
+    @Override
+    public void close() {
+        this.input = null;
+    }
+
+    /**
+     * Characters if there are any.
+     * @param chars Decoded characters
+     * @return Same characters or null if empty
+     */
+    private static CharBuffer nonEmpty(final CharBuffer chars) {
+        CharBuffer res = null;
+        if (chars.hasRemaining()) {
+            res = chars;
+        }
+        return res;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.text;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+
+/**
+ * Incremental decoder of byte buffers.
+ * @since 0.4
+ */
+final class Decoder {
+
+    /**
+     * Initial capacity of staging buffer.
+     */
+    private static final int INITIAL = 1024;
+
+    /**
+     * Charset decoder.
+     */
+    private final CharsetDecoder decoder;
+
+    /**
+     * Staging heap buffer with undecoded bytes in read mode.
+     */
+    private ByteBuffer staging;
+
+    /**
+     * New decoder.
+     * @param decoder Charset decoder
+     */
+    Decoder(final CharsetDecoder decoder) {
+        this.decoder = decoder;
+        this.staging = ByteBuffer.allocate(Decoder.INITIAL);
+        ((Buffer) this.staging).limit(0);
+    }
+
+    /**
+     * Decode next source buffer.
+     * @param buf Source buffer
+     * @return Decoded characters, may be empty
+     * @throws CharacterCodingException On malformed input if errors are reported
+     */
+    CharBuffer decode(final ByteBuffer buf) throws CharacterCodingException {
+        final CharBuffer res;
+        if (!this.staging.hasRemaining() && buf.hasArray()) {
+            res = this.decode(buf, false);
+            if (buf.hasRemaining()) {
+                this.stage(buf);
+            }
+        } else {
+            this.stage(buf);
+            res = this.decode(this.staging, false);
+        }
+        ((Buffer) res).flip();
+        return res;
+    }
+
+    /**
+     * Decode remaining bytes and flush the decoder.
+     * @return Decoded characters, may be empty
+     * @throws CharacterCodingException On malformed input if errors are reported
+     */
+    CharBuffer finish() throws CharacterCodingException {
+        CharBuffer res = this.decode(this.staging, true);
+        CoderResult result = this.decoder.flush(res);
+        while (result.isOverflow()) {
+            res = Decoder.grow(res);
+            result = this.decoder.flush(res);
+        }
+        ((Buffer) res).flip();
+        return res;
+    }
+
+    /**
+     * Append bytes to staging buffer.
+     * @param buf Source buffer
+     */
+    private void stage(final ByteBuffer buf) {
+        final int len = this.staging.remaining() + buf.remaining();
+        if (this.staging.capacity() < len) {
+            final ByteBuffer grown = ByteBuffer.allocate(
+                Math.max(len, this.staging.capacity() * 2)
+            );
+            grown.put(this.staging);
+            this.staging = grown;
+        } else {
+            this.staging.compact();
+        }
+        this.staging.put(buf);
+        ((Buffer) this.staging).flip();
+    }
+
+    /**
+     * Decode input.
+     * @param input Input bytes
+     * @param end No more input
+     * @return Decoded characters in write mode
+     * @throws CharacterCodingException On malformed input if errors are reported
+     */
+    private CharBuffer decode(final ByteBuffer input, final boolean end)
+        throws CharacterCodingException {
+        CharBuffer res = CharBuffer.allocate(
+            (int) Math.ceil(input.remaining() * this.decoder.maxCharsPerByte()) + 1
+        );
+        CoderResult result = this.decoder.decode(input, res, end);
+        while (!result.isUnderflow()) {
+            if (result.isOverflow()) {
+                res = Decoder.grow(res);
+            } else {
+                result.throwException();
+            }
+            result = this.decoder.decode(input, res, end);
+        }
+        return res;
+    }
+
+    /**
+     * Grow char buffer.
+     * @param buf Char buffer in write mode
+     * @return Bigger buffer with the same content in write mode
+     */
+    private static CharBuffer grow(final CharBuffer buf) {
+        final CharBuffer res = CharBuffer.allocate(buf.capacity() * 2 + 1);
+        ((Buffer) buf).flip();
+        res.put(buf);
+        return res;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.zip;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Stateful buffer transformation.
+ * @since 0.4
+ */
+interface Codec {
+
+    /**
+     * Accept next input buffer, codec keeps it until it's consumed.
+     * @param input Input buffer
+     */
+    void accept(ByteBuffer input);
+
+    /**
+     * Check codec can't produce output without new input.
+     * @return True if input is required
+     */
+    boolean needsInput();
+
+    /**
+     * Signal end of input.
+     */
+    void finish();
+
+    /**
+     * Produce output into the buffer.
+     * @param output Output buffer
+     * @throws IOException On invalid input
+     */
+    void produce(ByteBuffer output) throws IOException;
+
+    /**
+     * Check all output was produced.
+     * @return True if finished
+     */
+    boolean finished();
+
+    /**
+     * Release codec resources.
+     */
+    void close();
+}
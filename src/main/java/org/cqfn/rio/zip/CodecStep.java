@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.zip;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.stage.Step;
+
+/**
+ * Codec transformation step.
+ * <p>
+ * Output is produced into buffers from {@link Buffers} only when downstream
+ * requested it, and new input is required only when the codec can't produce
+ * more output without it. Output buffer is emitted when it's full or when
+ * the codec finished, so small outputs of several input buffers are packed
+ * into one output buffer.
+ * </p>
+ * @since 0.4
+ */
+final class CodecStep implements Step<ByteBuffer> {
+
+    /**
+     * Codec.
+     */
+    private final Codec codec;
+
+    /**
+     * Output buffers.
+     */
+    private final Buffers buffers;
+
+    /**
+     * Current output buffer.
+     */
+    private ByteBuffer out;
+
+    /**
+     * End of input was signaled to codec.
+     */
+    private boolean finishing;
+
+    /**
+     * New codec step.
+     * @param codec Codec
+     * @param buffers Output buffers
+     */
+    CodecStep(final Codec codec, final Buffers buffers) {
+        this.codec = codec;
+        this.buffers = buffers;
+    }
+
+    @Override
+    public void accept(final ByteBuffer buf) {
+        this.codec.accept(buf);
+    }
+
+    @Override
+    public ByteBuffer next(final boolean last) throws IOException {
+        ByteBuffer res = null;
+        while (res == null) {
+            if (this.out != null && (!this.out.hasRemaining() || this.codec.finished())) {
+                if (this.out.position() > 0) {
+                    res = this.out;
+                    ((Buffer) res).flip();
+                }
+                this.out = null;
+                continue;
+            }
+            if (this.codec.finished()) {
+                break;
+            }
+            if (!this.finishing && this.codec.needsInput()) {
+                if (!last) {
+                    break;
+                }
+                this.codec.finish();
+                this.finishing = true;
+            }
+            if (this.out == null) {
+                this.out = this.buffers.create();
+            }
+            this.codec.produce(this.out);
+        }
+        return res;
+    }
+
+    @Override
+    public boolean finished() {
+        return this.codec.finished();
+    }
+
+    @Override
+    public void close() {
+        this.out = null;
+        this.codec.close();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.zip;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.stage.Stage;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Compressed publisher.
+ * <p>
+ * It compresses source buffers on the fly with backpressure: the source
+ * is requested only when compressor needs more input, and output buffers are
+ * allocated only when downstream requested them. On Java 11 and newer
+ * compressor reads and writes direct buffers without copying to heap.
+ * </p>
+ * <p>
+ * Usage example, writing compressed file:
+ * <pre>{@code
+ * new File(Paths.get("data.gz")).write(
+ *     new Compress(new File(Paths.get("data")).content(), ZipFormat.GZIP)
+ * );
+ * }</pre>
+ * </p>
+ * @since 0.4
+ */
+public final class Compress implements Publisher<ByteBuffer> {
+
+    /**
+     * Source publisher.
+     */
+    private final Publisher<ByteBuffer> source;
+
+    /**
+     * Data format.
+     */
+    private final ZipFormat format;
+
+    /**
+     * Compression level.
+     */
+    private final int level;
+
+    /**
+     * Output buffers.
+     */
+    private final Buffers buffers;
+
+    /**
+     * Compress with default level.
+     * @param source Source publisher
+     * @param format Data format
+     */
+    public Compress(final Publisher<ByteBuffer> source, final ZipFormat format) {
+        this(source, format, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Compress with default output buffers.
+     * @param source Source publisher
+     * @param format Data format
+     * @param level Compression level from 0 to 9, or -1 for default
+     */
+    public Compress(final Publisher<ByteBuffer> source, final ZipFormat format,
+        final int level) {
+        this(source, format, level, Buffers.Standard.K8);
+    }
+
+    /**
+     * Compress.
+     * @param source Source publisher
+     * @param format Data format
+     * @param level Compression level from 0 to 9, or -1 for default
+     * @param buffers Output buffers
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public Compress(final Publisher<ByteBuffer> source, final ZipFormat format,
+        final int level, final Buffers buffers) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException(
+                String.format("Invalid compression level %d", level)
+            );
+        }
+        this.source = source;
+        this.format = format;
+        this.level = level;
+        this.buffers = buffers;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber can't be null");
+        new Stage<>(
+            subscriber,
+            new CodecStep(new DeflateCodec(this.format, this.level), this.buffers)
+        ).start(this.source);
+    }
+}
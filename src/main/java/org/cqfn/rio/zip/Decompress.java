@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.zip;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.stage.Stage;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Decompressed publisher.
+ * <p>
+ * It decompresses source buffers on the fly with backpressure: the source
+ * is requested only when decompressor needs more input, and output buffers are
+ * allocated only when downstream requested them. Corrupted data is signaled as
+ * {@link java.util.zip.ZipException} and truncated data as
+ * {@link java.io.EOFException}. On Java 11 and newer decompressor reads and
+ * writes direct buffers without copying to heap.
+ * </p>
+ * <p>
+ * Usage example, reading compressed file:
+ * <pre>{@code
+ * Publisher<ByteBuffer> data = new Decompress(
+ *     new File(Paths.get("data.gz")).content(), ZipFormat.GZIP
+ * );
+ * }</pre>
+ * </p>
+ * @since 0.4
+ */
+public final class Decompress implements Publisher<ByteBuffer> {
+
+    /**
+     * Source publisher.
+     */
+    private final Publisher<ByteBuffer> source;
+
+    /**
+     * Data format.
+     */
+    private final ZipFormat format;
+
+    /**
+     * Output buffers.
+     */
+    private final Buffers buffers;
+
+    /**
+     * Decompress with default output buffers.
+     * @param source Source publisher
+     * @param format Data format
+     */
+    public Decompress(final Publisher<ByteBuffer> source, final ZipFormat format) {
+        this(source, format, Buffers.Standard.K8);
+    }
+
+    /**
+     * Decompress.
+     * @param source Source publisher
+     * @param format Data format
+     * @param buffers Output buffers
+     */
+    public Decompress(final Publisher<ByteBuffer> source, final ZipFormat format,
+        final Buffers buffers) {
+        this.source = source;
+        this.format = format;
+        this.buffers = buffers;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber can't be null");
+        new Stage<>(
+            subscriber, new CodecStep(new InflateCodec(this.format), this.buffers)
+        ).start(this.source);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.zip;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compression codec.
+ * @since 0.4
+ */
+final class DeflateCodec implements Codec {
+
+    /**
+     * GZIP header: magic, deflate method, no flags, no time, no extra flags, unknown OS.
+     */
+    private static final byte[] GZIP_HEADER = {
+        (byte) 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff,
+    };
+
+    /**
+     * GZIP trailer size.
+     */
+    private static final int TRAILER = 8;
+
+    /**
+     * Deflater.
+     */
+    private final Deflater def;
+
+    /**
+     * Input checksum for GZIP format or null.
+     */
+    private final CRC32 crc;
+
+    /**
+     * Header bytes to write.
+     */
+    private final ByteBuffer header;
+
+    /**
+     * Trailer bytes to write, it's written when deflater finished.
+     */
+    private ByteBuffer trailer;
+
+    /**
+     * Current input.
+     */
+    private ByteBuffer input;
+
+    /**
+     * Last output buffer was filled completely, so deflater may have more output.
+     */
+    private boolean full;
+
+    /**
+     * New compression codec.
+     * @param format Data format
+     * @param level Compression level
+     */
+    DeflateCodec(final ZipFormat format, final int level) {
+        this.def = new Deflater(level, format != ZipFormat.ZLIB);
+        if (format == ZipFormat.GZIP) {
+            this.crc = new CRC32();
+            this.header = ByteBuffer.wrap(DeflateCodec.GZIP_HEADER);
+        } else {
+            this.crc = null;
+            this.header = ByteBuffer.allocate(0);
+        }
+    }
+
+    @Override
+    public void accept(final ByteBuffer buf) {
+        if (this.crc != null) {
+            this.crc.update(buf.duplicate());
+        }
+        this.input = Zlib.input(buf);
+    }
+
+    @Override
+    public boolean needsInput() {
+        return !this.full && !this.header.hasRemaining()
+            && (this.input == null || !this.input.hasRemaining()) && !this.def.finished();
+    }
+
+    @Override
+    public void finish() {
+        this.def.finish();
+    }
+
+    @Override
+    public void produce(final ByteBuffer output) {
+        DeflateCodec.transfer(this.header, output);
+        if (!this.def.finished() && output.hasRemaining()) {
+            Zlib.deflate(this.def, this.input, output);
+        }
+        if (this.def.finished() && this.crc != null) {
+            if (this.trailer == null) {
+                this.trailer = ByteBuffer.allocate(DeflateCodec.TRAILER)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+                this.trailer.putInt((int) this.crc.getValue())
+                    .putInt((int) this.def.getBytesRead());
+                ((Buffer) this.trailer).flip();
+            }
+            DeflateCodec.transfer(this.trailer, output);
+        }
+        this.full = !output.hasRemaining();
+    }
+
+    @Override
+    public boolean finished() {
+        return this.def.finished() && (this.crc == null
+            || this.trailer != null && !this.trailer.hasRemaining());
+    }
+
+    @Override
+    public void close() {
+        this.def.end();
+    }
+
+    /**
+     * Transfer as many bytes as possible.
+     * @param src Source
+     * @param dst Destination
+     */
+    private static void transfer(final ByteBuffer src, final ByteBuffer dst) {
+        final int len = Math.min(src.remaining(), dst.remaining());
+        final ByteBuffer part = src.duplicate();
+        ((Buffer) part).limit(part.position() + len);
+        dst.put(part);
+        ((Buffer) src).position(src.position() + len);
+    }
+}
@@ -0,0 +1,417 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.zip;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompression codec.
+ * <p>
+ * GZIP headers and trailers are parsed by the state machine, since they
+ * can be split across input buffers. Header CRC is skipped without
+ * verification, data CRC and size are verified for each member.
+ * </p>
+ * @since 0.4
+ * @checkstyle CyclomaticComplexityCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class InflateCodec implements Codec {
+
+    /**
+     * GZIP magic number.
+     */
+    private static final int MAGIC = 0x8b1f;
+
+    /**
+     * GZIP fixed header size.
+     */
+    private static final int HEADER = 10;
+
+    /**
+     * GZIP trailer size.
+     */
+    private static final int TRAILER = 8;
+
+    /**
+     * Header CRC flag.
+     */
+    private static final int FHCRC = 2;
+
+    /**
+     * Extra field flag.
+     */
+    private static final int FEXTRA = 4;
+
+    /**
+     * File name flag.
+     */
+    private static final int FNAME = 8;
+
+    /**
+     * Comment flag.
+     */
+    private static final int FCOMMENT = 16;
+
+    /**
+     * Inflater.
+     */
+    private final Inflater inf;
+
+    /**
+     * Output checksum for GZIP format or null.
+     */
+    private final CRC32 crc;
+
+    /**
+     * Header and trailer fields accumulator.
+     */
+    private final ByteBuffer acc;
+
+    /**
+     * Current state.
+     */
+    private State state;
+
+    /**
+     * Current GZIP header flags.
+     */
+    private int flags;
+
+    /**
+     * Bytes to skip in extra field.
+     */
+    private int skip;
+
+    /**
+     * Current input.
+     */
+    private ByteBuffer input;
+
+    /**
+     * Last output buffer was filled completely, so inflater may have more output.
+     */
+    private boolean full;
+
+    /**
+     * End of input.
+     */
+    private boolean eof;
+
+    /**
+     * New decompression codec.
+     * @param format Data format
+     */
+    InflateCodec(final ZipFormat format) {
+        this.inf = new Inflater(format != ZipFormat.ZLIB);
+        this.acc = ByteBuffer.allocate(InflateCodec.HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        if (format == ZipFormat.GZIP) {
+            this.crc = new CRC32();
+            this.expect(InflateCodec.HEADER);
+            this.state = State.HEADER;
+        } else {
+            this.crc = null;
+            this.state = State.BODY;
+        }
+    }
+
+    @Override
+    public void accept(final ByteBuffer buf) {
+        this.input = Zlib.input(buf);
+    }
+
+    @Override
+    public boolean needsInput() {
+        return !this.full && this.state != State.DONE && !this.available();
+    }
+
+    @Override
+    public void finish() {
+        this.eof = true;
+    }
+
+    @Override
+    public void produce(final ByteBuffer output) throws IOException {
+        while (output.hasRemaining() && this.step(output)) {
+            continue;
+        }
+        this.full = !output.hasRemaining();
+        if (this.state == State.DONE && this.available()) {
+            throw new ZipException("Trailing data after end of compressed stream");
+        }
+        if (this.eof && !this.full && this.state != State.DONE && !this.available()) {
+            throw new EOFException("Unexpected end of compressed stream");
+        }
+    }
+
+    @Override
+    public boolean finished() {
+        return this.state == State.DONE;
+    }
+
+    @Override
+    public void close() {
+        this.inf.end();
+    }
+
+    /**
+     * Make a step of decompression.
+     * @param output Output buffer
+     * @return True if made progress and can continue
+     * @throws IOException On invalid data
+     * @checkstyle ExecutableStatementCountCheck (100 lines)
+     */
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    private boolean step(final ByteBuffer output) throws IOException {
+        boolean more = true;
+        switch (this.state) {
+            case HEADER:
+                if (this.fill()) {
+                    if ((this.acc.getShort(0) & 0xffff) != InflateCodec.MAGIC
+                        || this.acc.get(2) != 8) {
+                        throw new ZipException("Not in GZIP format");
+                    }
+                    this.flags = this.acc.get(3);
+                    this.expect(2);
+                    this.state = State.EXTRA_LEN;
+                } else {
+                    more = false;
+                }
+                break;
+            case EXTRA_LEN:
+                if ((this.flags & InflateCodec.FEXTRA) == 0) {
+                    this.state = State.NAME;
+                } else if (this.fill()) {
+                    this.skip = this.acc.getShort(0) & 0xffff;
+                    this.state = State.EXTRA;
+                } else {
+                    more = false;
+                }
+                break;
+            case EXTRA:
+                if (this.available()) {
+                    final int len = Math.min(this.skip, this.input.remaining());
+                    ((Buffer) this.input).position(this.input.position() + len);
+                    this.skip -= len;
+                }
+                if (this.skip == 0) {
+                    this.state = State.NAME;
+                } else {
+                    more = false;
+                }
+                break;
+            case NAME:
+                if ((this.flags & InflateCodec.FNAME) == 0 || this.zero()) {
+                    this.state = State.COMMENT;
+                } else {
+                    more = false;
+                }
+                break;
+            case COMMENT:
+                if ((this.flags & InflateCodec.FCOMMENT) == 0 || this.zero()) {
+                    this.expect(2);
+                    this.state = State.HCRC;
+                } else {
+                    more = false;
+                }
+                break;
+            case HCRC:
+                if ((this.flags & InflateCodec.FHCRC) == 0 || this.fill()) {
+                    this.state = State.BODY;
+                } else {
+                    more = false;
+                }
+                break;
+            case BODY:
+                more = this.inflate(output);
+                break;
+            case TRAILER:
+                if (this.fill()) {
+                    if ((this.acc.getInt(0) & 0xffff_ffffL) != this.crc.getValue()) {
+                        throw new ZipException("Corrupt GZIP trailer: CRC mismatch");
+                    }
+                    if ((this.acc.getInt(4) & 0xffff_ffffL)
+                        != (this.inf.getBytesWritten() & 0xffff_ffffL)) {
+                        throw new ZipException("Corrupt GZIP trailer: size mismatch");
+                    }
+                    this.inf.reset();
+                    this.crc.reset();
+                    this.state = State.MEMBER;
+                } else {
+                    more = false;
+                }
+                break;
+            case MEMBER:
+                if (this.available()) {
+                    this.expect(InflateCodec.HEADER);
+                    this.state = State.HEADER;
+                } else if (this.eof) {
+                    this.state = State.DONE;
+                } else {
+                    more = false;
+                }
+                break;
+            default:
+                more = false;
+                break;
+        }
+        return more;
+    }
+
+    /**
+     * Inflate input into output.
+     * @param output Output buffer
+     * @return True if made progress and can continue
+     * @throws IOException On invalid data
+     */
+    private boolean inflate(final ByteBuffer output) throws IOException {
+        final int start = output.position();
+        final int len;
+        try {
+            len = Zlib.inflate(this.inf, this.input, output);
+        } catch (final DataFormatException err) {
+            throw new ZipException(err.getMessage());
+        }
+        if (this.crc != null && len > 0) {
+            final ByteBuffer out = output.duplicate();
+            ((Buffer) out).limit(out.position()).position(start);
+            this.crc.update(out);
+        }
+        if (this.inf.needsDictionary()) {
+            throw new ZipException("Preset dictionary is not supported");
+        }
+        final boolean more;
+        if (this.inf.finished()) {
+            if (this.crc == null) {
+                this.state = State.DONE;
+            } else {
+                this.expect(InflateCodec.TRAILER);
+                this.state = State.TRAILER;
+            }
+            more = true;
+        } else {
+            more = len > 0;
+        }
+        return more;
+    }
+
+    /**
+     * Prepare accumulator to read fixed size field.
+     * @param size Field size
+     */
+    private void expect(final int size) {
+        ((Buffer) this.acc).clear();
+        ((Buffer) this.acc).limit(size);
+    }
+
+    /**
+     * Fill accumulator from input.
+     * @return True if field is complete
+     */
+    private boolean fill() {
+        if (this.available()) {
+            final int len = Math.min(this.acc.remaining(), this.input.remaining());
+            final ByteBuffer part = this.input.duplicate();
+            ((Buffer) part).limit(part.position() + len);
+            this.acc.put(part);
+            ((Buffer) this.input).position(this.input.position() + len);
+        }
+        return !this.acc.hasRemaining();
+    }
+
+    /**
+     * Skip input until zero byte inclusive.
+     * @return True if zero byte was found
+     */
+    private boolean zero() {
+        boolean found = false;
+        while (!found && this.available()) {
+            found = this.input.get() == 0;
+        }
+        return found;
+    }
+
+    /**
+     * Check input has remaining bytes.
+     * @return True if available
+     */
+    private boolean available() {
+        return this.input != null && this.input.hasRemaining();
+    }
+
+    /**
+     * Decompression state.
+     * @since 0.4
+     */
+    private enum State {
+        /**
+         * GZIP fixed header.
+         */
+        HEADER,
+        /**
+         * GZIP extra field length.
+         */
+        EXTRA_LEN,
+        /**
+         * GZIP extra field.
+         */
+        EXTRA,
+        /**
+         * GZIP file name.
+         */
+        NAME,
+        /**
+         * GZIP comment.
+         */
+        COMMENT,
+        /**
+         * GZIP header CRC.
+         */
+        HCRC,
+        /**
+         * Compressed data.
+         */
+        BODY,
+        /**
+         * GZIP trailer.
+         */
+        TRAILER,
+        /**
+         * Next GZIP member or end.
+         */
+        MEMBER,
+        /**
+         * End of stream.
+         */
+        DONE;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.zip;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Buffer operations of deflater and inflater.
+ * <p>
+ * Java 11 added {@link ByteBuffer} methods to deflater and inflater, which
+ * work with direct buffers without copying, they are used if available;
+ * on older versions direct input is copied to heap buffer and output
+ * is produced into heap array.
+ * </p>
+ * @since 0.4
+ */
+final class Zlib {
+
+    /**
+     * Deflater set input method handle, null if not supported.
+     */
+    private static final MethodHandle DEF_INPUT = Zlib.handle(
+        Deflater.class, "setInput", MethodType.methodType(void.class, ByteBuffer.class)
+    );
+
+    /**
+     * Deflate method handle, null if not supported.
+     */
+    private static final MethodHandle DEFLATE = Zlib.handle(
+        Deflater.class, "deflate", MethodType.methodType(int.class, ByteBuffer.class, int.class)
+    );
+
+    /**
+     * Inflater set input method handle, null if not supported.
+     */
+    private static final MethodHandle INF_INPUT = Zlib.handle(
+        Inflater.class, "setInput", MethodType.methodType(void.class, ByteBuffer.class)
+    );
+
+    /**
+     * Inflate method handle, null if not supported.
+     */
+    private static final MethodHandle INFLATE = Zlib.handle(
+        Inflater.class, "inflate", MethodType.methodType(int.class, ByteBuffer.class)
+    );
+
+    /**
+     * Buffer methods are supported.
+     */
+    private static final boolean SUPPORTED = Zlib.DEF_INPUT != null && Zlib.DEFLATE != null
+        && Zlib.INF_INPUT != null && Zlib.INFLATE != null;
+
+    /**
+     * Empty input.
+     */
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    /**
+     * Utility class.
+     */
+    private Zlib() {
+    }
+
+    /**
+     * Prepare input buffer for deflater or inflater.
+     * @param input Input buffer
+     * @return The same buffer or heap copy if buffer methods are not supported
+     */
+    static ByteBuffer input(final ByteBuffer input) {
+        final ByteBuffer res;
+        if (Zlib.SUPPORTED || input.hasArray()) {
+            res = input;
+        } else {
+            res = ByteBuffer.allocate(input.remaining());
+            res.put(input.duplicate());
+            ((Buffer) res).flip();
+        }
+        return res;
+    }
+
+    /**
+     * Deflate input into output buffer, advancing positions of both buffers.
+     * @param def Deflater
+     * @param input Input or null
+     * @param output Output
+     * @return Amount of produced bytes
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    static int deflate(final Deflater def, final ByteBuffer input, final ByteBuffer output) {
+        final ByteBuffer src = Zlib.orEmpty(input);
+        final int res;
+        if (Zlib.SUPPORTED) {
+            try {
+                Zlib.DEF_INPUT.invoke(def, src);
+                res = (int) Zlib.DEFLATE.invoke(def, output, Deflater.NO_FLUSH);
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Throwable err) {
+                throw new IllegalStateException("Failed to deflate", err);
+            }
+        } else {
+            final long before = def.getBytesRead();
+            def.setInput(src.array(), src.arrayOffset() + src.position(), src.remaining());
+            if (output.hasArray()) {
+                res = def.deflate(
+                    output.array(), output.arrayOffset() + output.position(), output.remaining(),
+                    Deflater.NO_FLUSH
+                );
+                ((Buffer) output).position(output.position() + res);
+            } else {
+                final byte[] chunk = new byte[output.remaining()];
+                res = def.deflate(chunk, 0, chunk.length, Deflater.NO_FLUSH);
+                output.put(chunk, 0, res);
+            }
+            ((Buffer) src).position(src.position() + (int) (def.getBytesRead() - before));
+        }
+        return res;
+    }
+
+    /**
+     * Inflate input into output buffer, advancing positions of both buffers.
+     * @param inf Inflater
+     * @param input Input or null
+     * @param output Output
+     * @return Amount of produced bytes
+     * @throws DataFormatException If input is invalid
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    static int inflate(final Inflater inf, final ByteBuffer input, final ByteBuffer output)
+        throws DataFormatException {
+        final ByteBuffer src = Zlib.orEmpty(input);
+        final int res;
+        if (Zlib.SUPPORTED) {
+            try {
+                Zlib.INF_INPUT.invoke(inf, src);
+                res = (int) Zlib.INFLATE.invoke(inf, output);
+            } catch (final DataFormatException err) {
+                throw err;
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Throwable err) {
+                throw new IllegalStateException("Failed to inflate", err);
+            }
+        } else {
+            final int len = src.remaining();
+            inf.setInput(src.array(), src.arrayOffset() + src.position(), len);
+            if (output.hasArray()) {
+                res = inf.inflate(
+                    output.array(), output.arrayOffset() + output.position(), output.remaining()
+                );
+                ((Buffer) output).position(output.position() + res);
+            } else {
+                final byte[] chunk = new byte[output.remaining()];
+                res = inf.inflate(chunk, 0, chunk.length);
+                output.put(chunk, 0, res);
+            }
+            ((Buffer) src).position(src.position() + len - inf.getRemaining());
+        }
+        return res;
+    }
+
+    /**
+     * Input buffer or empty buffer.
+     * @param input Input or null
+     * @return Input buffer
+     */
+    private static ByteBuffer orEmpty(final ByteBuffer input) {
+        final ByteBuffer res;
+        if (input == null) {
+            res = Zlib.EMPTY;
+        } else {
+            res = input;
+        }
+        return res;
+    }
+
+    /**
+     * Find method handle.
+     * @param cls Class
+     * @param name Method name
+     * @param type Method type
+     * @return Method handle or null if not found
+     */
+    private static MethodHandle handle(final Class<?> cls, final String name,
+        final MethodType type) {
+        MethodHandle res;
+        try {
+            res = MethodHandles.publicLookup().findVirtual(cls, name, type);
+        } catch (final NoSuchMethodException | IllegalAccessException err) {
+            res = null;
+        }
+        return res;
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.cqfn.rio.reactive.Subscriptions;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscription of mapped file content.
+ * <p>
+ * Java 22 version: whole file is mapped into one memory segment of shared arena,
+ * so files bigger than 2GB are mapped once. The arena is registered in file
+ * mappings and closed when the subscription is cancelled or the file is closed,
+ * which unmaps the file deterministically. Cancel tries to close the arena once
+ * and never waits: if its memory is used by IO call on another thread, the arena
+ * stays registered and it's closed by {@link MappedFile#close()}. Terminal signals
+ * don't close the arena, because asynchronous subscriber may still hold
+ * published buffers.
+ * </p>
+ * @since 0.4
+ */
+final class MappedSubscription implements Subscription {
+
+    /**
+     * Max attempts to close the arena which is in use.
+     */
+    private static final int ATTEMPTS = 100;
+
+    /**
+     * Delay between attempts to close the arena, nanoseconds.
+     */
+    private static final long BACKOFF = 1_000_000L;
+
+    /**
+     * Subscriber.
+     */
+    private final Subscriber<? super ByteBuffer> sub;
+
+    /**
+     * File channel.
+     */
+    private final FileChannel chan;
+
+    /**
+     * Size of published buffers.
+     */
+    private final int chunk;
+
+    /**
+     * Active mappings of the file.
+     */
+    private final Mappings mappings;
+
+    /**
+     * Downstream demand.
+     */
+    private final AtomicLong demand;
+
+    /**
+     * Drain loop work in progress counter.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * Cancelled by subscriber.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Rule violation error.
+     */
+    private volatile Throwable violation;
+
+    /**
+     * Terminated, drain loop only.
+     */
+    private boolean done;
+
+    /**
+     * Unmap action of mapped segment, drain loop only.
+     */
+    private Runnable unmap;
+
+    /**
+     * Arena of mapped segment, drain loop only.
+     */
+    private Arena arena;
+
+    /**
+     * Mapped file segment, drain loop only.
+     */
+    private MemorySegment segment;
+
+    /**
+     * Next position to publish, drain loop only.
+     */
+    private long pos;
+
+    /**
+     * New subscription.
+     * @param sub Subscriber
+     * @param chan File channel
+     * @param chunk Size of published buffers
+     * @param mappings Active mappings of the file
+     */
+    MappedSubscription(final Subscriber<? super ByteBuffer> sub, final FileChannel chan,
+        final int chunk, final Mappings mappings) {
+        this.sub = sub;
+        this.chan = chan;
+        this.chunk = chunk;
+        this.mappings = mappings;
+        this.demand = new AtomicLong();
+        this.wip = new AtomicInteger();
+    }
+
+    @Override
+    public void request(final long count) {
+        if (count <= 0) {
+            this.violation = Subscriptions.violation(count);
+        } else {
+            Subscriptions.add(this.demand, count);
+        }
+        this.drain();
+    }
+
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+        this.drain();
+    }
+
+    /**
+     * Drain loop.
+     */
+    private void drain() {
+        if (this.wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            this.emit();
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Emit mapped buffers on demand.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private void emit() {
+        while (!this.done) {
+            if (this.cancelled) {
+                this.done = true;
+                this.close();
+                this.unmap();
+                break;
+            }
+            final Throwable err = this.violation;
+            if (err != null) {
+                this.done = true;
+                this.close();
+                this.sub.onError(err);
+                break;
+            }
+            try {
+                if (this.segment == null) {
+                    this.map();
+                }
+                if (this.pos >= this.segment.byteSize()) {
+                    this.done = true;
+                    this.sub.onComplete();
+                    break;
+                }
+                if (this.demand.get() == 0) {
+                    break;
+                }
+                final long len = Math.min(this.chunk, this.segment.byteSize() - this.pos);
+                final ByteBuffer next = this.segment.asSlice(this.pos, len).asByteBuffer();
+                this.pos += len;
+                this.demand.decrementAndGet();
+                this.sub.onNext(next);
+                // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Throwable exx) {
+                this.done = true;
+                this.close();
+                this.sub.onError(exx);
+            }
+        }
+    }
+
+    /**
+     * Map the file into new arena registered in file mappings and close
+     * the channel, the mapping stays valid until the arena is closed.
+     * @throws IOException On map error or if the file is closed
+     */
+    private void map() throws IOException {
+        final long size = this.chan.size();
+        if (size == 0) {
+            this.segment = MemorySegment.NULL;
+        } else {
+            final Arena arena = Arena.ofShared();
+            final Runnable action = () -> MappedSubscription.free(arena);
+            if (!this.mappings.register(action)) {
+                arena.close();
+                throw new ClosedChannelException();
+            }
+            this.unmap = action;
+            this.arena = arena;
+            try {
+                this.segment = this.chan.map(FileChannel.MapMode.READ_ONLY, 0L, size, arena);
+            } catch (final IOException err) {
+                this.unmap();
+                throw err;
+            }
+        }
+        this.chan.close();
+    }
+
+    /**
+     * Unmap the segment of this subscription if it's still mapped and not used
+     * by IO call on another thread, otherwise leave it to file close.
+     */
+    private void unmap() {
+        this.segment = null;
+        if (this.unmap != null) {
+            try {
+                this.arena.close();
+            } catch (final IllegalStateException err) {
+                Logger.debug(this, "Mapping is in use or closed: %s", err);
+            }
+            if (!this.arena.scope().isAlive()) {
+                this.mappings.release(this.unmap);
+            }
+            this.unmap = null;
+            this.arena = null;
+        }
+    }
+
+    /**
+     * Close the channel if the file was not mapped yet.
+     */
+    private void close() {
+        try {
+            this.chan.close();
+        } catch (final IOException err) {
+            Logger.warn(this, "Failed to close channel: %[exception]s", err);
+        }
+    }
+
+    /**
+     * Close the arena on file close. Shared arena can't be closed while
+     * its memory is used by IO call on another thread, so it's retried for
+     * a while, then the file stays mapped. It's not called on cancel.
+     * @param arena Arena of mapped segment
+     */
+    private static void free(final Arena arena) {
+        for (int attempt = 0; arena.scope().isAlive(); ++attempt) {
+            try {
+                arena.close();
+            } catch (final IllegalStateException err) {
+                if (attempt >= MappedSubscription.ATTEMPTS) {
+                    Logger.warn(
+                        MappedSubscription.class,
+                        "Failed to unmap file, it's still in use: %[exception]s", err
+                    );
+                    break;
+                }
+                LockSupport.parkNanos(MappedSubscription.BACKOFF);
+            }
+        }
+    }
+}
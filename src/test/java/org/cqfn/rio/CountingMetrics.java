@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics which count bytes and calls, registered as service provider
+ * in {@code metrics} test resource, see {@link MetricsTest}.
+ * @since 0.4
+ */
+public final class CountingMetrics implements Metrics {
+
+    /**
+     * Bytes by operation.
+     */
+    private final Map<Metrics.Op, LongAdder> bts;
+
+    /**
+     * Calls by operation.
+     */
+    private final Map<Metrics.Op, LongAdder> calls;
+
+    /**
+     * Requested by write greed.
+     */
+    private final LongAdder requested;
+
+    /**
+     * Executor tasks.
+     */
+    private final LongAdder tasks;
+
+    /**
+     * New counting metrics.
+     */
+    public CountingMetrics() {
+        this.bts = new EnumMap<>(Metrics.Op.class);
+        this.calls = new EnumMap<>(Metrics.Op.class);
+        for (final Metrics.Op op : Metrics.Op.values()) {
+            this.bts.put(op, new LongAdder());
+            this.calls.put(op, new LongAdder());
+        }
+        this.requested = new LongAdder();
+        this.tasks = new LongAdder();
+    }
+
+    @Override
+    public void io(final Op op, final long bytes, final long nanos) {
+        this.bts.get(op).add(bytes);
+        this.calls.get(op).increment();
+    }
+
+    @Override
+    public void greed(final long amount) {
+        this.requested.add(amount);
+    }
+
+    @Override
+    public void task(final int depth, final long wait, final long run) {
+        this.tasks.increment();
+    }
+
+    /**
+     * Bytes transferred by operation.
+     * @param op Operation
+     * @return Amount of bytes
+     */
+    public long bytes(final Metrics.Op op) {
+        return this.bts.get(op).sum();
+    }
+
+    /**
+     * Calls of operation.
+     * @param op Operation
+     * @return Amount of calls
+     */
+    public long calls(final Metrics.Op op) {
+        return this.calls.get(op).sum();
+    }
+
+    /**
+     * Amount requested by write greed.
+     * @return Amount of buffers
+     */
+    public long requested() {
+        return this.requested.sum();
+    }
+
+    /**
+     * Executor tasks finished.
+     * @return Amount of tasks
+     */
+    public long tasks() {
+        return this.tasks.sum();
+    }
+}
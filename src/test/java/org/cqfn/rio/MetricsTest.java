@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import org.cqfn.rio.channel.ReadableChannel;
+import org.cqfn.rio.channel.WritableChannel;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Metrics}.
+ * <p>
+ * Test suite runs with default no-op metrics, service provider is tested
+ * in isolated class loader, which loads library classes again with
+ * {@link CountingMetrics} registered from {@code metrics} test resource.
+ * </p>
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class MetricsTest {
+
+    @Test
+    void noopMetricsAreDisabled() {
+        MatcherAssert.assertThat(Metrics.NOOP.enabled(), Matchers.is(false));
+    }
+
+    @Test
+    void usesNoopMetricsWithoutProvider() {
+        MatcherAssert.assertThat(Metrics.SYSTEM, Matchers.sameInstance(Metrics.NOOP));
+    }
+
+    @Test
+    void loadsServiceProvider() throws Exception {
+        try (URLClassLoader loader = MetricsTest.isolated()) {
+            MatcherAssert.assertThat(
+                MetricsTest.call(loader, Provider.class, null),
+                Matchers.equalTo(CountingMetrics.class.getName())
+            );
+        }
+    }
+
+    @Test
+    void countsCopiedBytes(@TempDir final Path tmp) throws Exception {
+        final byte[] data = new byte[100_000];
+        new Random(data.length).nextBytes(data);
+        final Path src = tmp.resolve("src");
+        Files.write(src, data);
+        final long[] counts;
+        try (URLClassLoader loader = MetricsTest.isolated()) {
+            counts = MetricsTest.call(loader, Copy.class, tmp);
+        }
+        MatcherAssert.assertThat("Read bytes", counts[0], Matchers.equalTo(100_000L));
+        MatcherAssert.assertThat("Written bytes", counts[1], Matchers.equalTo(100_000L));
+        MatcherAssert.assertThat("Read calls", counts[2], Matchers.greaterThanOrEqualTo(98L));
+        MatcherAssert.assertThat(
+            "Requested by greed", counts[3], Matchers.greaterThanOrEqualTo(98L)
+        );
+        MatcherAssert.assertThat(Files.readAllBytes(tmp.resolve("dst")), Matchers.equalTo(data));
+    }
+
+    /**
+     * Class loader which loads classes of test class path again, delegating
+     * only to platform class loader, and finds metrics service provider.
+     * @return Class loader
+     * @throws Exception On error
+     */
+    private static URLClassLoader isolated() throws Exception {
+        final List<URL> urls = new ArrayList<>(0);
+        urls.add(MetricsTest.class.getResource("/metrics/"));
+        for (final String entry
+            : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            urls.add(Paths.get(entry).toUri().toURL());
+        }
+        return new URLClassLoader(
+            urls.toArray(new URL[0]), ClassLoader.getSystemClassLoader().getParent()
+        );
+    }
+
+    /**
+     * Call task in class loader, which is also context class loader of
+     * the call, so service loader finds the provider.
+     * @param loader Class loader
+     * @param task Task class
+     * @param tmp Temporary directory or null
+     * @param <T> Result type
+     * @return Result
+     * @throws Exception On error
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T call(final ClassLoader loader,
+        final Class<? extends Callable<T>> task, final Path tmp) throws Exception {
+        final Class<?> cls = loader.loadClass(task.getName());
+        final Callable<T> res;
+        if (tmp == null) {
+            res = (Callable<T>) cls.getConstructor().newInstance();
+        } else {
+            res = (Callable<T>) cls.getConstructor(Path.class).newInstance(tmp);
+        }
+        final Thread thread = Thread.currentThread();
+        final ClassLoader context = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            return res.call();
+        } finally {
+            thread.setContextClassLoader(context);
+        }
+    }
+
+    /**
+     * Name of system metrics class.
+     * @since 0.4
+     */
+    public static final class Provider implements Callable<String> {
+
+        @Override
+        public String call() {
+            return Metrics.SYSTEM.getClass().getName();
+        }
+    }
+
+    /**
+     * Copy file from {@code src} to {@code dst} of directory and return
+     * counters of system metrics: read bytes, written bytes, read calls and
+     * amount requested by write greed.
+     * @since 0.4
+     */
+    public static final class Copy implements Callable<long[]> {
+
+        /**
+         * Directory.
+         */
+        private final Path dir;
+
+        /**
+         * New copy.
+         * @param dir Directory
+         */
+        public Copy(final Path dir) {
+            this.dir = dir;
+        }
+
+        @Override
+        public long[] call() throws Exception {
+            final Path dst = this.dir.resolve("dst");
+            new WritableChannel(
+                () -> FileChannel.open(dst, StandardOpenOption.CREATE, StandardOpenOption.WRITE)
+            ).write(
+                new ReadableChannel(
+                    () -> FileChannel.open(this.dir.resolve("src"))
+                ).read(Buffers.Standard.K1)
+            ).toCompletableFuture().get();
+            final CountingMetrics metrics = (CountingMetrics) Metrics.SYSTEM;
+            return new long[] {
+                metrics.bytes(Metrics.Op.READ),
+                metrics.bytes(Metrics.Op.WRITE),
+                metrics.calls(Metrics.Op.READ),
+                metrics.requested(),
+            };
+        }
+    }
+}
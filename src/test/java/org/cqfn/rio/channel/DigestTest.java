@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.channel;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.zip.CRC32;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.WriteGreed;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Digest}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class DigestTest {
+
+    /**
+     * Test data.
+     */
+    private static final byte[] DATA =
+        "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void computesDigestOfReadData(@TempDir final Path tmp) throws Exception {
+        final Path path = tmp.resolve("data.txt");
+        Files.write(path, DigestTest.DATA);
+        final Digest digest = new Digest.Message("SHA-256");
+        Flowable.fromPublisher(
+            new ReadableChannel(() -> FileChannel.open(path)).read(Buffers.Standard.MIN, digest)
+        ).blockingSubscribe();
+        MatcherAssert.assertThat(
+            digest.value(),
+            Matchers.equalTo(MessageDigest.getInstance("SHA-256").digest(DigestTest.DATA))
+        );
+    }
+
+    @Test
+    void computesChecksumOfWrittenData(@TempDir final Path tmp) throws Exception {
+        final Path path = tmp.resolve("out.txt");
+        final Digest digest = new Digest.Checksum(new CRC32());
+        new WritableChannel(
+            () -> FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)
+        ).write(
+            Flowable.just(ByteBuffer.wrap(DigestTest.DATA)), WriteGreed.SINGLE, digest
+        ).toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            ByteBuffer.wrap(digest.value()).getInt() & 0xFFFF_FFFFL,
+            Matchers.equalTo(0x414FA339L)
+        );
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.channel;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import org.cqfn.rio.Buffers;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ReactivePipe}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class ReactivePipeTest {
+
+    @Test
+    void transfersDataThroughPipe() throws Exception {
+        final byte[] data = new byte[1024 * 1024];
+        new Random(data.length).nextBytes(data);
+        final ReactivePipe pipe = new ReactivePipe(Pipe.open());
+        final CompletableFuture<Void> write = pipe.write(
+            Flowable.range(0, 16).map(
+                pos -> ByteBuffer.wrap(data, pos * 65_536, 65_536)
+            )
+        ).toCompletableFuture();
+        final byte[] res = Flowable.fromPublisher(pipe.read(Buffers.Standard.K16)).reduce(
+            new byte[0],
+            (acc, buf) -> {
+                final byte[] next = new byte[acc.length + buf.remaining()];
+                System.arraycopy(acc, 0, next, 0, acc.length);
+                buf.get(next, acc.length, buf.remaining());
+                return next;
+            }
+        ).blockingGet();
+        write.get();
+        MatcherAssert.assertThat(res, Matchers.equalTo(data));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.channel;
+
+import io.reactivex.Flowable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.cqfn.rio.Buffers;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link ReactiveSocket} and {@link UnixSocket}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class ReactiveSocketTest {
+
+    @Test
+    void readsEchoOfWrittenData() throws Exception {
+        try (ServerSocketChannel srv = ServerSocketChannel.open()) {
+            srv.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            final CompletableFuture<Void> echo = ReactiveSocketTest.echo(srv);
+            ReactiveSocketTest.verify(
+                new ReactiveSocket(SocketChannel.open(srv.getLocalAddress()))
+            );
+            echo.get();
+        }
+    }
+
+    @Test
+    void readsEchoOfUnixSocket(@TempDir final Path tmp) throws Exception {
+        Assumptions.assumeTrue(
+            ReactiveSocketTest.class.getClassLoader().getResource(
+                "java/net/UnixDomainSocketAddress.class"
+            ) != null,
+            "Unix domain socket channels require Java 16"
+        );
+        final UnixSocket sock = new UnixSocket(tmp.resolve("test.sock"));
+        try (ServerSocketChannel srv = sock.bind()) {
+            final CompletableFuture<Void> echo = ReactiveSocketTest.echo(srv);
+            ReactiveSocketTest.verify(new ReactiveSocket(sock.channel()));
+            echo.get();
+        }
+    }
+
+    @Test
+    void resetsConnectionOnWriteError() throws Exception {
+        try (ServerSocketChannel srv = ServerSocketChannel.open()) {
+            srv.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            final CompletableFuture<Void> echo = ReactiveSocketTest.echo(srv);
+            final ReactiveSocket sock = new ReactiveSocket(
+                SocketChannel.open(srv.getLocalAddress())
+            );
+            Assertions.assertThrows(
+                ExecutionException.class,
+                () -> sock.write(
+                    Flowable.just(ByteBuffer.wrap(new byte[]{1, 2, 3}))
+                        .concatWith(Flowable.error(new IOException("failed")))
+                ).toCompletableFuture().get()
+            );
+            final ExecutionException err = Assertions.assertThrows(
+                ExecutionException.class, echo::get
+            );
+            MatcherAssert.assertThat(
+                err.getCause(), Matchers.instanceOf(UncheckedIOException.class)
+            );
+        }
+    }
+
+    /**
+     * Write random data to the socket and verify the echo.
+     * @param sock Socket
+     * @throws Exception On error
+     */
+    private static void verify(final ReactiveSocket sock) throws Exception {
+        final byte[] data = new byte[512 * 1024];
+        new Random(data.length).nextBytes(data);
+        final CompletableFuture<Void> write = sock.write(
+            Flowable.range(0, 8).map(pos -> ByteBuffer.wrap(data, pos * 65_536, 65_536))
+        ).toCompletableFuture();
+        final byte[] res = Flowable.fromPublisher(sock.read(Buffers.Standard.K16)).reduce(
+            new byte[0],
+            (acc, buf) -> {
+                final byte[] next = new byte[acc.length + buf.remaining()];
+                System.arraycopy(acc, 0, next, 0, acc.length);
+                buf.get(next, acc.length, buf.remaining());
+                return next;
+            }
+        ).blockingGet();
+        write.get();
+        MatcherAssert.assertThat(res, Matchers.equalTo(data));
+    }
+
+    /**
+     * Accept one connection and echo its data until end of stream.
+     * @param srv Server channel
+     * @return Future completed when echo finished
+     */
+    private static CompletableFuture<Void> echo(final ServerSocketChannel srv) {
+        return CompletableFuture.runAsync(
+            () -> {
+                try (SocketChannel chan = srv.accept()) {
+                    final ByteBuffer buf = ByteBuffer.allocate(8192);
+                    while (chan.read(buf) >= 0) {
+                        buf.flip();
+                        while (buf.hasRemaining()) {
+                            chan.write(buf);
+                        }
+                        buf.clear();
+                    }
+                    chan.shutdownOutput();
+                } catch (final IOException err) {
+                    throw new UncheckedIOException(err);
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link AppendLog}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class AppendLogTest {
+
+    @Test
+    void appendsRecordsConcurrently(@TempDir final Path tmp) throws Exception {
+        final Path path = tmp.resolve("journal");
+        final AppendLog log = new AppendLog(path);
+        final String[] records = new String[100];
+        final CompletableFuture<?>[] offsets = new CompletableFuture<?>[records.length];
+        for (int idx = 0; idx < records.length; ++idx) {
+            records[idx] = String.format("record-%d;", idx);
+            offsets[idx] = log.append(
+                Flowable.fromArray(records[idx].split("-")).map(
+                    str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8))
+                )
+            ).toCompletableFuture();
+        }
+        CompletableFuture.allOf(offsets).get();
+        log.close().toCompletableFuture().get();
+        final String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        for (int idx = 0; idx < records.length; ++idx) {
+            final int offset = ((Long) offsets[idx].get()).intValue();
+            MatcherAssert.assertThat(
+                content.substring(offset, offset + records[idx].length() - 1),
+                Matchers.equalTo(records[idx].replace("-", ""))
+            );
+        }
+    }
+
+    @Test
+    void appendsToExistingFile(@TempDir final Path tmp) throws Exception {
+        final Path path = tmp.resolve("existing");
+        Files.write(path, "head;".getBytes(StandardCharsets.UTF_8));
+        final AppendLog log = new AppendLog(path);
+        MatcherAssert.assertThat(
+            log.append(Flowable.just(ByteBuffer.wrap("tail".getBytes(StandardCharsets.UTF_8))))
+                .toCompletableFuture().get(),
+            Matchers.equalTo(5L)
+        );
+        log.close().toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            new String(Files.readAllBytes(path), StandardCharsets.UTF_8),
+            Matchers.equalTo("head;tail")
+        );
+    }
+
+    @Test
+    void appendsRecordOfManyBuffers(@TempDir final Path tmp) throws Exception {
+        final Path path = tmp.resolve("buffers");
+        final AppendLog log = new AppendLog(path);
+        final byte[] data = new byte[100];
+        for (int idx = 0; idx < data.length; ++idx) {
+            data[idx] = (byte) idx;
+        }
+        log.append(
+            Flowable.range(0, data.length)
+                .map(idx -> ByteBuffer.wrap(new byte[] {idx.byteValue()}))
+        ).toCompletableFuture().get();
+        log.close().toCompletableFuture().get();
+        MatcherAssert.assertThat(Files.readAllBytes(path), Matchers.equalTo(data));
+    }
+
+    @Test
+    void failsToAppendToClosedLog(@TempDir final Path tmp) throws Exception {
+        final AppendLog log = new AppendLog(tmp.resolve("closed"));
+        log.close().toCompletableFuture().get();
+        Assertions.assertThrows(
+            ExecutionException.class,
+            () -> log.append(Flowable.just(ByteBuffer.allocate(1))).toCompletableFuture().get()
+        );
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.WriteGreed;
+import org.cqfn.rio.ext.BufferSource;
+import org.cqfn.rio.ext.BufferSourceExtension;
+import org.cqfn.rio.ext.TestResource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.reactivestreams.Publisher;
+
+/**
+ * Test case for {@link AsyncFile}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+@ExtendWith(BufferSourceExtension.class)
+public final class AsyncFileTest {
+
+    @RepeatedTest(100)
+    void readsContent(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("test");
+        new TestResource("file.bin").copy(file);
+        MatcherAssert.assertThat(
+            Flowable.fromPublisher(new AsyncFile(file).content(Buffers.Standard.K1))
+                .reduceWith(
+                    () -> MessageDigest.getInstance("SHA-256"),
+                    (digest, buf) -> {
+                        digest.update(buf);
+                        return digest;
+                    }
+                ).map(MessageDigest::digest).blockingGet(),
+            Matchers.equalTo(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)))
+        );
+    }
+
+    @RepeatedTest(100)
+    void writesFile(@TempDir final Path tmp,
+        @BufferSource(buffers = 10, value = 0x01) final Publisher<ByteBuffer> source)
+        throws Exception {
+        final Path out = tmp.resolve("out.bin");
+        new AsyncFile(out).write(source, new WriteGreed.Constant(4, 1))
+            .toCompletableFuture().get();
+        final byte[] expected = new byte[1024 * 10];
+        Arrays.fill(expected, (byte) 0x01);
+        MatcherAssert.assertThat(Files.readAllBytes(out), Matchers.equalTo(expected));
+    }
+
+    @Test
+    void copiesFile(@TempDir final Path tmp) throws Exception {
+        final Path src = tmp.resolve("source");
+        final Path dest = tmp.resolve("dst");
+        new TestResource("file.bin").copy(src);
+        new AsyncFile(dest).write(new AsyncFile(src).content(Buffers.Standard.K4))
+            .toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            Files.readAllBytes(dest),
+            Matchers.equalTo(Files.readAllBytes(src))
+        );
+    }
+
+    @Test
+    void readsEmptyFile(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("empty");
+        Files.createFile(file);
+        MatcherAssert.assertThat(
+            Flowable.fromPublisher(new AsyncFile(file).content()).count().blockingGet(),
+            Matchers.equalTo(0L)
+        );
+    }
+
+    @Test
+    void appendsToFile(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("append.txt");
+        Files.write(file, "hello".getBytes(StandardCharsets.UTF_8));
+        new AsyncFile(file).write(
+            Flowable.just(ByteBuffer.wrap(" world".getBytes(StandardCharsets.UTF_8))),
+            StandardOpenOption.APPEND
+        ).toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+            Matchers.equalTo("hello world")
+        );
+    }
+
+    @Test
+    void failsToReadAbsentFile(@TempDir final Path tmp) {
+        Assertions.assertThrows(
+            RuntimeException.class,
+            () -> Flowable.fromPublisher(new AsyncFile(tmp.resolve("absent")).content())
+                .blockingLast()
+        );
+    }
+
+    @Test
+    void failsToWriteErrorContent(@TempDir final Path tmp) {
+        Assertions.assertThrows(
+            Exception.class,
+            () -> new AsyncFile(tmp.resolve("error"))
+                .write(Flowable.error(new IllegalStateException()))
+                .toCompletableFuture().get()
+        );
+    }
+}
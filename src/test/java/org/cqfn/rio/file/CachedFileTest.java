@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.cqfn.rio.Buffers;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link CachedFile}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class CachedFileTest {
+
+    @Test
+    void readsContentFromCache(@TempDir final Path tmp) throws Exception {
+        final Path path = tmp.resolve("cached.txt");
+        Files.write(path, "cached content".getBytes(StandardCharsets.UTF_8));
+        final ContentCache cache = new ContentCache(1024);
+        for (int idx = 0; idx < 3; ++idx) {
+            MatcherAssert.assertThat(
+                CachedFileTest.read(new CachedFile(path, cache)),
+                Matchers.equalTo("cached content")
+            );
+        }
+        MatcherAssert.assertThat(cache.misses(), Matchers.equalTo(1L));
+        MatcherAssert.assertThat(cache.hits(), Matchers.equalTo(2L));
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(14L));
+    }
+
+    @Test
+    void invalidatesContentOnWrite(@TempDir final Path tmp) throws Exception {
+        final Path path = tmp.resolve("written.txt");
+        Files.write(path, "first".getBytes(StandardCharsets.UTF_8));
+        final ContentCache cache = new ContentCache(1024);
+        final CachedFile file = new CachedFile(path, cache);
+        CachedFileTest.read(file);
+        file.write(
+            Flowable.just(ByteBuffer.wrap("second".getBytes(StandardCharsets.UTF_8))),
+            WriteOption.ATOMIC
+        ).toCompletableFuture().get();
+        MatcherAssert.assertThat(CachedFileTest.read(file), Matchers.equalTo("second"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedContent(@TempDir final Path tmp) throws Exception {
+        final ContentCache cache = new ContentCache(10);
+        final Path first = tmp.resolve("first");
+        Files.write(first, new byte[6]);
+        final Path second = tmp.resolve("second");
+        Files.write(second, new byte[6]);
+        CachedFileTest.read(new CachedFile(first, cache));
+        CachedFileTest.read(new CachedFile(second, cache));
+        CachedFileTest.read(new CachedFile(first, cache));
+        MatcherAssert.assertThat(cache.misses(), Matchers.equalTo(3L));
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(6L));
+    }
+
+    @Test
+    void replaysLargeContentInChunks(@TempDir final Path tmp) throws Exception {
+        final Path path = tmp.resolve("large");
+        final byte[] data = new byte[200 * 1024 + 3];
+        new Random(data.length).nextBytes(data);
+        Files.write(path, data);
+        final ContentCache cache = new ContentCache(1024 * 1024);
+        for (int idx = 0; idx < 2; ++idx) {
+            final List<ByteBuffer> chunks = Flowable.fromPublisher(
+                new CachedFile(path, cache).content(Buffers.Standard.K4)
+            ).toList().blockingGet();
+            final ByteBuffer content = ByteBuffer.allocate(data.length);
+            chunks.forEach(content::put);
+            MatcherAssert.assertThat(content.array(), Matchers.equalTo(data));
+        }
+        MatcherAssert.assertThat(cache.hits(), Matchers.equalTo(1L));
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo((long) data.length));
+    }
+
+    @Test
+    void doesNotCacheContentLargerThanBuffer() {
+        MatcherAssert.assertThat(
+            new ContentCache(Long.MAX_VALUE).fits(Integer.MAX_VALUE + 1L),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void checksFileOnExecutor(@TempDir final Path tmp) throws Exception {
+        final ExecutorService exec = Executors.newSingleThreadExecutor(
+            run -> new Thread(run, "cached-io")
+        );
+        final AtomicReference<String> thread = new AtomicReference<>();
+        try {
+            Flowable.fromPublisher(
+                new CachedFile(tmp.resolve("missing"), new ContentCache(1024), exec).content()
+            ).doOnError(err -> thread.set(Thread.currentThread().getName()))
+                .test()
+                .await()
+                .assertError(NoSuchFileException.class);
+        } finally {
+            exec.shutdown();
+        }
+        MatcherAssert.assertThat(thread.get(), Matchers.equalTo("cached-io"));
+    }
+
+    /**
+     * Read file content as string.
+     * @param file File
+     * @return Content
+     */
+    private static String read(final CachedFile file) {
+        return Flowable.fromPublisher(file.content())
+            .map(buf -> StandardCharsets.UTF_8.decode(buf).toString())
+            .reduce("", String::concat)
+            .blockingGet();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link ChannelCache}.
+ *
+ * @since 0.4
+ */
+public final class ChannelCacheTest {
+
+    @Test
+    void reopensClosedChannel(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("closed");
+        Files.write(file, "cached".getBytes(StandardCharsets.UTF_8));
+        try (ChannelCache cache = new ChannelCache(1)) {
+            try (SeekableByteChannel view = cache.channel(file)) {
+                Thread.currentThread().interrupt();
+                try {
+                    Assertions.assertThrows(
+                        ClosedByInterruptException.class,
+                        () -> view.read(ByteBuffer.allocate(1))
+                    );
+                } finally {
+                    Thread.interrupted();
+                }
+            }
+            try (SeekableByteChannel view = cache.channel(file)) {
+                final ByteBuffer buf = ByteBuffer.allocate(16);
+                view.read(buf);
+                buf.flip();
+                MatcherAssert.assertThat(
+                    StandardCharsets.UTF_8.decode(buf).toString(),
+                    Matchers.equalTo("cached")
+                );
+            }
+        }
+    }
+}
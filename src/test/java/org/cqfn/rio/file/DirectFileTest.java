@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import io.reactivex.Flowable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import org.cqfn.rio.ext.TestResource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link DirectFile}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@EnabledOnOs(OS.LINUX)
+@EnabledForJreRange(min = JRE.JAVA_11)
+public final class DirectFileTest {
+
+    @Test
+    void copiesFile(@TempDir final Path tmp) throws Exception {
+        DirectFileTest.assumeDirect(tmp);
+        final Path src = tmp.resolve("source");
+        final Path dest = tmp.resolve("dst");
+        new TestResource("file.bin").copy(src);
+        new DirectFile(dest).write(new DirectFile(src).content())
+            .toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            Files.readAllBytes(dest),
+            Matchers.equalTo(Files.readAllBytes(src))
+        );
+    }
+
+    @Test
+    void writesUnalignedTail(@TempDir final Path tmp) throws Exception {
+        DirectFileTest.assumeDirect(tmp);
+        final Path target = tmp.resolve("unaligned.txt");
+        Files.write(target, new byte[10_000]);
+        new DirectFile(target).write(
+            Flowable.fromArray("hello", " ", "world").map(
+                str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8))
+            )
+        ).toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            new String(Files.readAllBytes(target), StandardCharsets.UTF_8),
+            Matchers.equalTo("hello world")
+        );
+    }
+
+    @Test
+    void doesNotFlushTailOnError(@TempDir final Path tmp) throws Exception {
+        DirectFileTest.assumeDirect(tmp);
+        final Path target = tmp.resolve("failed.txt");
+        Files.write(target, new byte[10_000]);
+        Assertions.assertThrows(
+            ExecutionException.class,
+            () -> new DirectFile(target).write(
+                Flowable.just(ByteBuffer.wrap("partial".getBytes(StandardCharsets.UTF_8)))
+                    .concatWith(Flowable.error(new IOException("failed")))
+            ).toCompletableFuture().get()
+        );
+        MatcherAssert.assertThat(
+            Files.readAllBytes(target),
+            Matchers.equalTo(new byte[10_000])
+        );
+    }
+
+    /**
+     * Skip the test if file system doesn't support direct IO, e.g. tmpfs.
+     * @param dir Directory
+     */
+    private static void assumeDirect(final Path dir) {
+        final Path probe = dir.resolve(".direct");
+        boolean supported;
+        try (FileChannel chan = FileChannel.open(
+            probe, StandardOpenOption.CREATE, StandardOpenOption.WRITE, DirectIo.option()
+        )) {
+            supported = chan.isOpen();
+        } catch (final IOException err) {
+            supported = false;
+        }
+        Assumptions.assumeTrue(supported, "Direct IO is not supported by file system");
+    }
+}
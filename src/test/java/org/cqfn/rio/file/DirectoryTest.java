@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import io.reactivex.Flowable;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Directory}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class DirectoryTest {
+
+    @Test
+    void walksDirectoryTree(@TempDir final Path tmp) throws Exception {
+        for (int dir = 0; dir < 10; ++dir) {
+            final Path sub = Files.createDirectories(
+                tmp.resolve(String.format("dir-%d/sub", dir))
+            );
+            for (int file = 0; file < 200; ++file) {
+                Files.createFile(sub.resolve(String.format("file-%d", file)));
+            }
+        }
+        final Set<Path> expected;
+        try (Stream<Path> paths = Files.walk(tmp)) {
+            expected = paths.collect(Collectors.toSet());
+        }
+        final List<Path> walked = Flowable.fromPublisher(new Directory(tmp).walk(4))
+            .toList().blockingGet();
+        MatcherAssert.assertThat(walked, Matchers.hasSize(expected.size()));
+        MatcherAssert.assertThat(walked, Matchers.containsInAnyOrder(expected.toArray()));
+    }
+
+    @Test
+    void emitsDirectoryBeforeEntries(@TempDir final Path tmp) throws Exception {
+        final Path file = Files.createFile(
+            Files.createDirectories(tmp.resolve("one/two")).resolve("three")
+        );
+        final List<Path> walked = Flowable.fromPublisher(new Directory(tmp).walk())
+            .toList().blockingGet();
+        MatcherAssert.assertThat(
+            walked,
+            Matchers.contains(tmp, tmp.resolve("one"), tmp.resolve("one/two"), file)
+        );
+    }
+
+    @Test
+    void failsOnMissingDirectory(@TempDir final Path tmp) {
+        final Throwable err = Assertions.assertThrows(
+            RuntimeException.class,
+            () -> Flowable.fromPublisher(new Directory(tmp.resolve("missing")).walk())
+                .toList().blockingGet()
+        );
+        MatcherAssert.assertThat(err.getCause(), Matchers.instanceOf(NoSuchFileException.class));
+    }
+}
@@ -29,12 +29,20 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import org.cqfn.rio.Buffers;
 import org.cqfn.rio.WriteGreed;
 import org.cqfn.rio.ext.BufferSource;
@@ -42,6 +50,7 @@ import org.cqfn.rio.ext.BufferSourceExtension;
 import org.cqfn.rio.ext.TestResource;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -86,6 +95,88 @@ public final class FileTest {
         );
     }
 
+    @Test
+    void readsSmallFileInOneBuffer(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("small.txt");
+        Files.write(file, "small file content".getBytes(StandardCharsets.UTF_8));
+        final List<ByteBuffer> buffers = Flowable.fromPublisher(
+            new File(file).content(Buffers.Standard.K1)
+        ).toList().blockingGet();
+        MatcherAssert.assertThat(buffers, Matchers.hasSize(1));
+        MatcherAssert.assertThat(
+            StandardCharsets.UTF_8.decode(buffers.get(0)).toString(),
+            Matchers.equalTo("small file content")
+        );
+    }
+
+    @Test
+    void readsSmallFileWithBuffersSmallerThanFile(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("small.txt");
+        Files.write(file, "small".getBytes(StandardCharsets.UTF_8));
+        final List<ByteBuffer> buffers = Flowable.fromPublisher(
+            new File(file).content(Buffers.Standard.MIN)
+        ).toList().blockingGet();
+        MatcherAssert.assertThat(buffers, Matchers.hasSize(5));
+        for (final ByteBuffer buf : buffers) {
+            MatcherAssert.assertThat(buf.capacity(), Matchers.equalTo(1));
+        }
+    }
+
+    @Test
+    void readsFileBiggerThanThreshold(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("big.bin");
+        final byte[] data = new byte[100 * 1024 + 7];
+        new Random(data.length).nextBytes(data);
+        Files.write(file, data);
+        final List<ByteBuffer> buffers = Flowable.fromPublisher(
+            new File(file).content(Buffers.Standard.K16)
+        ).toList().blockingGet();
+        MatcherAssert.assertThat(buffers.size(), Matchers.greaterThan(1));
+        final byte[] content = new byte[data.length];
+        int pos = 0;
+        for (final ByteBuffer buf : buffers) {
+            final int len = buf.remaining();
+            buf.get(content, pos, len);
+            pos += len;
+        }
+        MatcherAssert.assertThat(pos, Matchers.equalTo(data.length));
+        MatcherAssert.assertThat(content, Matchers.equalTo(data));
+    }
+
+    @Test
+    void readsContentWithChannelCache(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("cached");
+        new TestResource("file.bin").copy(file);
+        try (ChannelCache cache = new ChannelCache(1)) {
+            for (int idx = 0; idx < 10; ++idx) {
+                final byte[] content = Flowable.fromPublisher(
+                    new File(file).content(Buffers.Standard.K1, cache)
+                ).reduce(
+                    new byte[0],
+                    (acc, buf) -> {
+                        final byte[] res = Arrays.copyOf(acc, acc.length + buf.remaining());
+                        buf.get(res, acc.length, buf.remaining());
+                        return res;
+                    }
+                ).blockingGet();
+                MatcherAssert.assertThat(
+                    bytesToHex(sha256().digest(content)),
+                    Matchers.equalTo(
+                        "064EA88A18650615410970219992D54DA5CEFAE194A23FCBE3C3AF484CB3F501"
+                    )
+                );
+            }
+            Files.write(file, "modified".getBytes(StandardCharsets.UTF_8));
+            MatcherAssert.assertThat(
+                StandardCharsets.UTF_8.decode(
+                    Flowable.fromPublisher(new File(file).content(Buffers.Standard.K8, cache))
+                        .blockingFirst()
+                ).toString(),
+                Matchers.equalTo("modified")
+            );
+        }
+    }
+
     @RepeatedTest(1000)
     void writeFile(@TempDir final Path tmp,
         @BufferSource(buffers = 10) final Publisher<ByteBuffer> source) throws Exception {
@@ -172,6 +263,144 @@ public final class FileTest {
         );
     }
 
+    @Test
+    void writePreallocatedFile(@TempDir final Path tmp,
+        @BufferSource(buffers = 10) final Publisher<ByteBuffer> source) throws Exception {
+        final Path out = tmp.resolve("preallocated.bin");
+        new File(out).write(source, new Preallocate(1024 * 1024)).toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            bytesToHex(sha256().digest(Files.readAllBytes(out))),
+            Matchers.equalTo("84FF92691F909A05B224E1C56ABB4864F01B4F8E3C854E4BB4C7BAF1D3F6D652")
+        );
+    }
+
+    @Test
+    void writeFilesWithGroupCommit(@TempDir final Path tmp) throws Exception {
+        final Durability durability = new GroupCommit();
+        final CompletableFuture<?>[] writes = new CompletableFuture<?>[10];
+        for (int idx = 0; idx < writes.length; ++idx) {
+            writes[idx] = new File(tmp.resolve(String.format("commit-%d.txt", idx))).write(
+                Flowable.just(ByteBuffer.wrap("durable".getBytes(StandardCharsets.UTF_8))),
+                durability
+            ).toCompletableFuture();
+        }
+        CompletableFuture.allOf(writes).get();
+        for (int idx = 0; idx < writes.length; ++idx) {
+            MatcherAssert.assertThat(
+                new String(
+                    Files.readAllBytes(tmp.resolve(String.format("commit-%d.txt", idx))),
+                    StandardCharsets.UTF_8
+                ),
+                Matchers.equalTo("durable")
+            );
+        }
+    }
+
+    @Test
+    void appendsToFileWithGroupCommit(@TempDir final Path tmp) throws Exception {
+        final Path out = tmp.resolve("log.txt");
+        Files.createFile(out);
+        final Durability durability = new GroupCommit();
+        final CompletableFuture<?>[] writes = new CompletableFuture<?>[10];
+        for (int idx = 0; idx < writes.length; ++idx) {
+            writes[idx] = new File(out).write(
+                Flowable.just(ByteBuffer.wrap("entry\n".getBytes(StandardCharsets.UTF_8))),
+                durability, StandardOpenOption.APPEND
+            ).toCompletableFuture();
+        }
+        CompletableFuture.allOf(writes).get();
+        MatcherAssert.assertThat(
+            Files.readAllLines(out, StandardCharsets.UTF_8),
+            Matchers.everyItem(Matchers.equalTo("entry"))
+        );
+        MatcherAssert.assertThat(
+            Files.readAllLines(out, StandardCharsets.UTF_8),
+            Matchers.hasSize(writes.length)
+        );
+    }
+
+    @Test
+    void doesNotCommitFailedWrite(@TempDir final Path tmp) {
+        final AtomicInteger commits = new AtomicInteger();
+        final Durability durability = (path, chan) -> {
+            commits.incrementAndGet();
+            return Durability.Standard.FSYNC.commit(path, chan);
+        };
+        Assertions.assertThrows(
+            ExecutionException.class,
+            () -> new File(tmp.resolve("failed.txt")).write(
+                Flowable.just(ByteBuffer.wrap("partial".getBytes(StandardCharsets.UTF_8)))
+                    .concatWith(Flowable.error(new IOException("failed"))),
+                durability
+            ).toCompletableFuture().get()
+        );
+        MatcherAssert.assertThat(commits.get(), Matchers.equalTo(0));
+    }
+
+    @Test
+    void writeFileAtomically(@TempDir final Path tmp) throws Exception {
+        final Path out = tmp.resolve("atomic.txt");
+        Files.write(out, "old".getBytes(StandardCharsets.UTF_8));
+        new File(out).write(
+            Flowable.just(ByteBuffer.wrap("new".getBytes(StandardCharsets.UTF_8))),
+            WriteOption.ATOMIC, Durability.Standard.FSYNC
+        ).toCompletableFuture().get();
+        MatcherAssert.assertThat(
+            new String(Files.readAllBytes(out), StandardCharsets.UTF_8),
+            Matchers.equalTo("new")
+        );
+        try (Stream<Path> files = Files.list(tmp)) {
+            MatcherAssert.assertThat(files.count(), Matchers.equalTo(1L));
+        }
+    }
+
+    @Test
+    void keepsOriginalFileOnAtomicWriteError(@TempDir final Path tmp) throws Exception {
+        final Path out = tmp.resolve("atomic.txt");
+        Files.write(out, "old".getBytes(StandardCharsets.UTF_8));
+        final CompletableFuture<Void> res = new File(out).write(
+            Flowable.concat(
+                Flowable.just(ByteBuffer.wrap("new".getBytes(StandardCharsets.UTF_8))),
+                Flowable.error(new IOException("failed"))
+            ),
+            WriteOption.ATOMIC
+        ).toCompletableFuture();
+        Assertions.assertThrows(ExecutionException.class, res::get);
+        MatcherAssert.assertThat(
+            new String(Files.readAllBytes(out), StandardCharsets.UTF_8),
+            Matchers.equalTo("old")
+        );
+        try (Stream<Path> files = Files.list(tmp)) {
+            MatcherAssert.assertThat(files.count(), Matchers.equalTo(1L));
+        }
+    }
+
+    @Test
+    void failsAtomicWriteOfMissingFileWithoutCreate(@TempDir final Path tmp) {
+        final Path out = tmp.resolve("missing.txt");
+        final ExecutionException err = Assertions.assertThrows(
+            ExecutionException.class,
+            () -> new File(out).write(
+                Flowable.just(ByteBuffer.wrap("new".getBytes(StandardCharsets.UTF_8))),
+                WriteOption.ATOMIC, StandardOpenOption.WRITE
+            ).toCompletableFuture().get()
+        );
+        MatcherAssert.assertThat(
+            err.getCause(), Matchers.instanceOf(NoSuchFileException.class)
+        );
+        MatcherAssert.assertThat(tmp.toFile().list(), Matchers.emptyArray());
+    }
+
+    @Test
+    void rejectsAtomicWriteWithCreateNew(@TempDir final Path tmp) {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new File(tmp.resolve("new.txt")).write(
+                Flowable.empty(), WriteOption.ATOMIC, StandardOpenOption.CREATE_NEW
+            )
+        );
+    }
+
     @Test
     @Timeout(2)
     @EnabledIfSystemProperty(named = "test.hugeFiles", matches = "true|yes|on|1")
@@ -181,6 +410,32 @@ public final class FileTest {
         new File(target).write(source, WriteGreed.SYSTEM).toCompletableFuture().get();
     }
 
+    @Test
+    void failsAtomicWriteOfMissingFileWithoutCreate(@TempDir final Path tmp) {
+        final Path out = tmp.resolve("missing.txt");
+        final ExecutionException err = Assertions.assertThrows(
+            ExecutionException.class,
+            () -> new File(out).write(
+                Flowable.just(ByteBuffer.wrap("new".getBytes(StandardCharsets.UTF_8))),
+                WriteOption.ATOMIC, StandardOpenOption.WRITE
+            ).toCompletableFuture().get()
+        );
+        MatcherAssert.assertThat(
+            err.getCause(), Matchers.instanceOf(NoSuchFileException.class)
+        );
+        MatcherAssert.assertThat(tmp.toFile().list(), Matchers.emptyArray());
+    }
+
+    @Test
+    void rejectsAtomicWriteWithCreateNew(@TempDir final Path tmp) {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new File(tmp.resolve("new.txt")).write(
+                Flowable.empty(), WriteOption.ATOMIC, StandardOpenOption.CREATE_NEW
+            )
+        );
+    }
+
     @Test
     @Timeout(2)
     @EnabledIfSystemProperty(named = "test.hugeFiles", matches = "true|yes|on|1")
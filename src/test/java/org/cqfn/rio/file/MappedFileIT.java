@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Integration test of {@link MappedFile} memory segment backend.
+ * <p>
+ * It's executed by failsafe on Java 22+ against packaged multi-release JAR,
+ * because versioned classes are loaded only from the JAR.
+ * </p>
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class MappedFileIT {
+
+    @Test
+    void loadsSegmentBackend() {
+        MatcherAssert.assertThat(
+            MappedSubscription.class.getResource("MappedSubscription.class").toString(),
+            Matchers.containsString("!/META-INF/versions/22/")
+        );
+    }
+
+    @Test
+    void copiesFileWithAsyncWriter(@TempDir final Path tmp) throws Exception {
+        final byte[] data = new byte[10 * 1024 * 1024 + 1];
+        new Random(data.length).nextBytes(data);
+        final Path src = tmp.resolve("source");
+        Files.write(src, data);
+        final Path dst = tmp.resolve("copy");
+        try (MappedFile file = new MappedFile(src, 64 * 1024)) {
+            new File(dst).write(file.content()).toCompletableFuture().get();
+        }
+        MatcherAssert.assertThat(Files.readAllBytes(dst), Matchers.equalTo(data));
+    }
+
+    @Test
+    void unmapsOnClose(@TempDir final Path tmp) throws Exception {
+        final Path src = tmp.resolve("source");
+        Files.write(src, new byte[4096]);
+        final MappedFile file = new MappedFile(src);
+        final List<ByteBuffer> bufs = Flowable.fromPublisher(file.content()).toList()
+            .blockingGet();
+        MatcherAssert.assertThat(bufs.get(0).get(0), Matchers.equalTo((byte) 0));
+        file.close();
+        Assertions.assertThrows(IllegalStateException.class, () -> bufs.get(0).get(0));
+    }
+}
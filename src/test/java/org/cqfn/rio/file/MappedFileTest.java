@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import org.cqfn.rio.ext.TestResource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link MappedFile}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class MappedFileTest {
+
+    @Test
+    void readsContent(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("test");
+        new TestResource("file.bin").copy(file);
+        MatcherAssert.assertThat(
+            Flowable.fromPublisher(new MappedFile(file, 1000).content())
+                .reduceWith(
+                    () -> MessageDigest.getInstance("SHA-256"),
+                    (digest, buf) -> {
+                        digest.update(buf);
+                        return digest;
+                    }
+                ).map(MessageDigest::digest).blockingGet(),
+            Matchers.equalTo(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)))
+        );
+    }
+
+    @Test
+    void readsEmptyFile(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("empty");
+        Files.write(file, new byte[0]);
+        MatcherAssert.assertThat(
+            Flowable.fromPublisher(new MappedFile(file).content()).count().blockingGet(),
+            Matchers.equalTo(0L)
+        );
+    }
+
+    @Test
+    void failsOnMissingFile(@TempDir final Path tmp) {
+        final Throwable err = Assertions.assertThrows(
+            RuntimeException.class,
+            () -> Flowable.fromPublisher(new MappedFile(tmp.resolve("none")).content())
+                .map(ByteBuffer::remaining).blockingLast()
+        );
+        MatcherAssert.assertThat(err.getCause(), Matchers.instanceOf(NoSuchFileException.class));
+    }
+
+    @Test
+    void failsAfterClose(@TempDir final Path tmp) throws Exception {
+        final Path file = tmp.resolve("closed");
+        Files.write(file, new byte[]{1, 2, 3});
+        final MappedFile mapped = new MappedFile(file);
+        mapped.close();
+        final Throwable err = Assertions.assertThrows(
+            RuntimeException.class,
+            () -> Flowable.fromPublisher(mapped.content()).blockingLast()
+        );
+        MatcherAssert.assertThat(
+            err.getCause(), Matchers.instanceOf(ClosedChannelException.class)
+        );
+    }
+}
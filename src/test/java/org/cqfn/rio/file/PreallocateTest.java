@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import io.reactivex.Flowable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Preallocate}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class PreallocateTest {
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void allocatesBlocks(@TempDir final Path tmp) throws Exception {
+        final Path out = tmp.resolve("allocated.bin");
+        try (FileChannel chan = FileChannel.open(
+            out, StandardOpenOption.CREATE, StandardOpenOption.WRITE
+        )) {
+            new Preallocate(1024 * 1024).allocate(chan, chan);
+            MatcherAssert.assertThat(chan.size(), Matchers.equalTo(1024L * 1024));
+        }
+        final Process stat = new ProcessBuilder("stat", "-c", "%b %B", out.toString()).start();
+        final String[] blocks;
+        try (BufferedReader src = new BufferedReader(
+            new InputStreamReader(stat.getInputStream(), StandardCharsets.US_ASCII)
+        )) {
+            blocks = src.readLine().split(" ");
+        }
+        MatcherAssert.assertThat(
+            Long.parseLong(blocks[0]) * Long.parseLong(blocks[1]),
+            Matchers.greaterThanOrEqualTo(1024L * 1024)
+        );
+    }
+
+    @Test
+    void truncatesPreallocatedRegionOnError(@TempDir final Path tmp) {
+        final Path out = tmp.resolve("failed.bin");
+        Assertions.assertThrows(
+            ExecutionException.class,
+            () -> new File(out).write(
+                Flowable.just(ByteBuffer.wrap("partial".getBytes(StandardCharsets.UTF_8)))
+                    .concatWith(Flowable.error(new IOException("failed"))),
+                new Preallocate(1024 * 1024)
+            ).toCompletableFuture().get()
+        );
+        MatcherAssert.assertThat(
+            out.toFile().length(),
+            Matchers.lessThan(1024L * 1024)
+        );
+    }
+
+    @Test
+    void keepsExactlyPreallocatedFile(@TempDir final Path tmp) throws Exception {
+        final Path out = tmp.resolve("exact.bin");
+        final byte[] data = new byte[100_000];
+        data[data.length - 1] = 1;
+        new File(out).write(
+            Flowable.just(ByteBuffer.wrap(data)), new Preallocate(data.length)
+        ).toCompletableFuture().get();
+        MatcherAssert.assertThat(Files.readAllBytes(out), Matchers.equalTo(data));
+    }
+}
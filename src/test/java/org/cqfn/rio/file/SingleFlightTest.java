@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.file;
+
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.channel.ReadableChannel;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link SingleFlight}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class SingleFlightTest {
+
+    @Test
+    void readsSameContentForConcurrentSubscribers(@TempDir final Path tmp) throws Exception {
+        final byte[] data = new byte[100 * 1024];
+        new Random(42).nextBytes(data);
+        final Path path = tmp.resolve("shared.bin");
+        Files.write(path, data);
+        final SingleFlight flight = new SingleFlight(4);
+        final List<Single<byte[]>> reads = new ArrayList<>(50);
+        for (int idx = 0; idx < 50; ++idx) {
+            reads.add(
+                Flowable.fromPublisher(flight.content(path, Buffers.Standard.K4))
+                    .reduce(
+                        ByteBuffer.allocate(data.length),
+                        (acc, buf) -> acc.put(buf)
+                    ).map(ByteBuffer::array).cache()
+            );
+            reads.get(idx).subscribe();
+        }
+        for (final Single<byte[]> read : reads) {
+            MatcherAssert.assertThat(read.blockingGet(), Matchers.equalTo(data));
+        }
+    }
+
+    @Test
+    void readsFileOnceForJoinedSubscribers(@TempDir final Path tmp) throws Exception {
+        final byte[] data = new byte[100 * 1024];
+        new Random(42).nextBytes(data);
+        final Path path = tmp.resolve("once.bin");
+        Files.write(path, data);
+        final AtomicInteger opened = new AtomicInteger();
+        final SingleFlight flight = new SingleFlight(
+            4,
+            (file, buf) -> new ReadableChannel(
+                () -> {
+                    opened.incrementAndGet();
+                    return FileChannel.open(file, StandardOpenOption.READ);
+                }
+            ).read(buf)
+        );
+        final List<TestSubscriber<ByteBuffer>> subs = new ArrayList<>(10);
+        for (int idx = 0; idx < 10; ++idx) {
+            final TestSubscriber<ByteBuffer> sub = new TestSubscriber<>(0L);
+            flight.content(path, Buffers.Standard.K4).subscribe(sub);
+            subs.add(sub);
+        }
+        for (final TestSubscriber<ByteBuffer> sub : subs) {
+            sub.request(Long.MAX_VALUE);
+            sub.await().assertComplete();
+            final ByteBuffer res = ByteBuffer.allocate(data.length);
+            sub.values().forEach(res::put);
+            MatcherAssert.assertThat(res.array(), Matchers.equalTo(data));
+        }
+        MatcherAssert.assertThat(opened.get(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void emitsReadOnlyBuffers(@TempDir final Path tmp) throws Exception {
+        final Path path = tmp.resolve("file.txt");
+        Files.write(path, new byte[1024]);
+        MatcherAssert.assertThat(
+            Flowable.fromPublisher(new SingleFlight().content(path))
+                .all(ByteBuffer::isReadOnly).blockingGet(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void deliversAllBuffersWhenReadCompletesDuringRequest(@TempDir final Path tmp) {
+        final List<Integer> expected = Flowable.range(0, 64).toList().blockingGet();
+        final SingleFlight flight = new SingleFlight(
+            4,
+            (path, buf) -> Flowable.range(0, 64)
+                .map(idx -> ByteBuffer.wrap(new byte[] {idx.byteValue()}))
+                .observeOn(Schedulers.single(), false, 4)
+        );
+        final Path path = tmp.resolve("stress.bin");
+        for (int run = 0; run < 500; ++run) {
+            final List<Single<List<Integer>>> reads = new ArrayList<>(3);
+            for (int idx = 0; idx < 3; ++idx) {
+                reads.add(
+                    Flowable.fromPublisher(flight.content(path))
+                        .observeOn(Schedulers.computation(), false, 2)
+                        .map(buf -> (int) buf.get())
+                        .toList()
+                        .cache()
+                );
+                reads.get(idx).subscribe();
+            }
+            for (final Single<List<Integer>> read : reads) {
+                MatcherAssert.assertThat(read.blockingGet(), Matchers.equalTo(expected));
+            }
+        }
+    }
+}
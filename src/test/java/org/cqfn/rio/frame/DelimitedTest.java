@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.frame;
+
+import io.reactivex.Flowable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+/**
+ * Test case for {@link Delimited}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class DelimitedTest {
+
+    @Test
+    void splitsLines() {
+        MatcherAssert.assertThat(
+            DelimitedTest.frames(new Delimited(DelimitedTest.source("one\ntwo\n\nthree"))),
+            Matchers.contains("one", "two", "", "three")
+        );
+    }
+
+    @Test
+    void splitsFramesAcrossBuffers() {
+        MatcherAssert.assertThat(
+            DelimitedTest.frames(
+                new Delimited(
+                    DelimitedTest.source("fir", "st\r", "\nsecond\r\nth", "ird\n"),
+                    100,
+                    "\r\n".getBytes(StandardCharsets.US_ASCII),
+                    "\n".getBytes(StandardCharsets.US_ASCII)
+                )
+            ),
+            Matchers.contains("first", "second", "third")
+        );
+    }
+
+    @Test
+    void slicesFramesWithinBuffer() {
+        final ByteBuffer src = ByteBuffer.wrap(
+            "abc;def;".getBytes(StandardCharsets.US_ASCII)
+        );
+        final ByteBuffer frame = Flowable.fromPublisher(
+            new Delimited(Flowable.just(src), 10, new byte[]{';'})
+        ).skip(1).blockingFirst();
+        MatcherAssert.assertThat(frame.array(), Matchers.sameInstance(src.array()));
+        MatcherAssert.assertThat(frame.remaining(), Matchers.equalTo(3));
+    }
+
+    @Test
+    void failsOnTooLongFrame() {
+        final RuntimeException err = Assertions.assertThrows(
+            RuntimeException.class,
+            () -> DelimitedTest.frames(
+                new Delimited(DelimitedTest.source("ab", "cde", "f\n"), 5, new byte[]{'\n'})
+            )
+        );
+        MatcherAssert.assertThat(err.getCause(), Matchers.instanceOf(IOException.class));
+    }
+
+    /**
+     * Source of string parts.
+     * @param parts Parts
+     * @return Publisher of buffers
+     */
+    private static Publisher<ByteBuffer> source(final String... parts) {
+        return Flowable.fromArray(parts).map(
+            str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.US_ASCII))
+        );
+    }
+
+    /**
+     * Collect frames as strings.
+     * @param pub Publisher of frames
+     * @return Frames
+     */
+    private static List<String> frames(final Publisher<ByteBuffer> pub) {
+        return Flowable.fromPublisher(pub).map(
+            buf -> StandardCharsets.US_ASCII.decode(buf).toString()
+        ).toList().blockingGet();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.frame;
+
+import io.reactivex.Flowable;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+/**
+ * Test case for {@link LengthPrefixed}, {@link PrefixLength} and {@link FixedSize}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class LengthPrefixedTest {
+
+    @Test
+    void readsWrittenRecords() {
+        for (final LengthHeader header : LengthHeader.values()) {
+            final byte[] data = Flowable.fromPublisher(
+                new PrefixLength(
+                    Flowable.just("first", "", "third record")
+                        .map(str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8))),
+                    header
+                )
+            ).reduce(
+                new byte[0],
+                (acc, buf) -> {
+                    final byte[] res = new byte[acc.length + buf.remaining()];
+                    System.arraycopy(acc, 0, res, 0, acc.length);
+                    buf.get(res, acc.length, buf.remaining());
+                    return res;
+                }
+            ).blockingGet();
+            MatcherAssert.assertThat(
+                header.name(),
+                LengthPrefixedTest.strings(
+                    new LengthPrefixed(
+                        Flowable.range(0, data.length).map(
+                            idx -> ByteBuffer.wrap(data, idx, 1).slice()
+                        ),
+                        header
+                    )
+                ),
+                Matchers.contains("first", "", "third record")
+            );
+        }
+    }
+
+    @Test
+    void encodesVarint() {
+        final ByteBuffer header = Flowable.fromPublisher(
+            new PrefixLength(Flowable.just(ByteBuffer.allocate(300)), LengthHeader.VARINT)
+        ).blockingFirst();
+        MatcherAssert.assertThat(header.get(0), Matchers.equalTo((byte) 0xac));
+        MatcherAssert.assertThat(header.get(1), Matchers.equalTo((byte) 0x02));
+    }
+
+    @Test
+    void failsOnTruncatedRecord() {
+        final RuntimeException err = Assertions.assertThrows(
+            RuntimeException.class,
+            () -> LengthPrefixedTest.strings(
+                new LengthPrefixed(
+                    Flowable.just(ByteBuffer.wrap(new byte[]{5, 'a', 'b'})), LengthHeader.UINT8
+                )
+            )
+        );
+        MatcherAssert.assertThat(err.getCause(), Matchers.instanceOf(EOFException.class));
+    }
+
+    @Test
+    void splitsFixedSizeRecords() {
+        MatcherAssert.assertThat(
+            LengthPrefixedTest.strings(
+                new FixedSize(
+                    Flowable.just("abcd", "efg", "hijkl").map(
+                        str -> ByteBuffer.wrap(str.getBytes(StandardCharsets.US_ASCII))
+                    ),
+                    3
+                )
+            ),
+            Matchers.contains("abc", "def", "ghi", "jkl")
+        );
+    }
+
+    /**
+     * Collect records as strings.
+     * @param pub Publisher of records
+     * @return Records
+     */
+    private static List<String> strings(final Publisher<ByteBuffer> pub) {
+        return Flowable.fromPublisher(pub).map(
+            buf -> StandardCharsets.UTF_8.decode(buf).toString()
+        ).toList().blockingGet();
+    }
+}
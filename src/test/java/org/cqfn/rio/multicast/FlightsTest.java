@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.multicast;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Flights}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class FlightsTest {
+
+    @Test
+    void sharesSourceOfSameKey() {
+        final Flights<String> flights = new Flights<>(4);
+        final AtomicInteger subscribed = new AtomicInteger();
+        final Flowable<ByteBuffer> source = Flowable.range(0, 10)
+            .map(idx -> ByteBuffer.wrap(new byte[] {idx.byteValue()}))
+            .doOnSubscribe(sub -> subscribed.incrementAndGet());
+        final TestSubscriber<ByteBuffer> first = new TestSubscriber<>(0L);
+        final TestSubscriber<ByteBuffer> second = new TestSubscriber<>(0L);
+        final TestSubscriber<ByteBuffer> other = new TestSubscriber<>();
+        flights.publisher("a", () -> source).subscribe(first);
+        flights.publisher("a", () -> source).subscribe(second);
+        flights.publisher("b", () -> source).subscribe(other);
+        first.request(Long.MAX_VALUE);
+        second.request(Long.MAX_VALUE);
+        first.assertValueCount(10).assertComplete();
+        second.assertValueCount(10).assertComplete();
+        other.assertValueCount(10).assertComplete();
+        MatcherAssert.assertThat(subscribed.get(), Matchers.equalTo(2));
+    }
+
+    @Test
+    void rejectsNonPositiveWindow() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Flights<String>(0));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.multicast;
+
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.cqfn.rio.file.File;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Multicast}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class MulticastTest {
+
+    @Test
+    void writesAndCountsAtTheSameTime(@TempDir final Path tmp) throws Exception {
+        final Multicast tee = new Multicast(
+            Flowable.range(0, 100).map(
+                idx -> ByteBuffer.wrap(
+                    String.format("%03d", idx).getBytes(StandardCharsets.UTF_8)
+                )
+            ),
+            2
+        );
+        final Path out = tmp.resolve("out.txt");
+        final Single<Long> size = Flowable.fromPublisher(tee)
+            .reduce(0L, (acc, buf) -> acc + buf.remaining()).cache();
+        size.subscribe();
+        new File(out).write(tee).toCompletableFuture().get();
+        MatcherAssert.assertThat(size.blockingGet(), Matchers.equalTo(300L));
+        MatcherAssert.assertThat(Files.size(out), Matchers.equalTo(300L));
+    }
+
+    @Test
+    void emitsReadOnlyViews() {
+        final Multicast tee = new Multicast(Flowable.just(ByteBuffer.allocate(10)), 1);
+        MatcherAssert.assertThat(
+            Flowable.fromPublisher(tee).blockingFirst().isReadOnly(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void rejectsExtraSubscribers() {
+        final Multicast tee = new Multicast(Flowable.just(ByteBuffer.allocate(10)), 1);
+        Flowable.fromPublisher(tee).blockingSubscribe();
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> Flowable.fromPublisher(tee).blockingFirst()
+        );
+    }
+
+    @Test
+    void cancelsSourceWhenAllSubscribersCancelled() {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final Multicast tee = new Multicast(
+            Flowable.<ByteBuffer>never().doOnCancel(() -> cancelled.set(true)), 2
+        );
+        final TestSubscriber<ByteBuffer> first = new TestSubscriber<>();
+        first.cancel();
+        tee.subscribe(first);
+        final TestSubscriber<ByteBuffer> second = new TestSubscriber<>();
+        second.cancel();
+        tee.subscribe(second);
+        MatcherAssert.assertThat(cancelled.get(), Matchers.is(true));
+    }
+
+    @Test
+    void deliversAllBuffersWhenSourceCompletesDuringRequest() {
+        final List<Integer> expected = Flowable.range(0, 64).toList().blockingGet();
+        for (int run = 0; run < 500; ++run) {
+            final Multicast tee = new Multicast(
+                Flowable.range(0, 64)
+                    .map(idx -> ByteBuffer.wrap(new byte[] {idx.byteValue()}))
+                    .observeOn(Schedulers.single(), false, 4),
+                3
+            );
+            final List<Single<List<Integer>>> reads = new ArrayList<>(3);
+            for (int idx = 0; idx < 3; ++idx) {
+                reads.add(
+                    Flowable.fromPublisher(tee)
+                        .observeOn(Schedulers.computation(), false, 2)
+                        .map(buf -> (int) buf.get())
+                        .toList()
+                        .cache()
+                );
+                reads.get(idx).subscribe();
+            }
+            for (final Single<List<Integer>> read : reads) {
+                MatcherAssert.assertThat(read.blockingGet(), Matchers.equalTo(expected));
+            }
+        }
+    }
+}
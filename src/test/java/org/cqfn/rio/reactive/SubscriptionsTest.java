@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.reactive;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Subscriptions}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class SubscriptionsTest {
+
+    @Test
+    void addsRequestedAmount() {
+        final AtomicLong demand = new AtomicLong(3);
+        Subscriptions.add(demand, 4);
+        MatcherAssert.assertThat(demand.get(), Matchers.equalTo(7L));
+    }
+
+    @Test
+    void saturatesDemandOnOverflow() {
+        final AtomicLong demand = new AtomicLong(Long.MAX_VALUE - 1);
+        Subscriptions.add(demand, 10);
+        MatcherAssert.assertThat(demand.get(), Matchers.equalTo(Long.MAX_VALUE));
+        Subscriptions.add(demand, Long.MAX_VALUE);
+        MatcherAssert.assertThat(demand.get(), Matchers.equalTo(Long.MAX_VALUE));
+    }
+
+    @Test
+    void describesViolation() {
+        MatcherAssert.assertThat(
+            Subscriptions.violation(-1).getMessage(),
+            Matchers.equalTo("Requested -1 items")
+        );
+    }
+}
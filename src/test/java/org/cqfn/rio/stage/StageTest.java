@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stage;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+/**
+ * Test case for {@link Stage}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class StageTest {
+
+    @Test
+    void requestsSourceWithPrefetchWindow() {
+        final List<Long> requests = new CopyOnWriteArrayList<>();
+        final Flowable<ByteBuffer> source = Flowable.range(0, 16)
+            .map(idx -> ByteBuffer.wrap(new byte[]{idx.byteValue()}))
+            .doOnRequest(requests::add);
+        MatcherAssert.assertThat(
+            "Stage didn't emit all buffers",
+            Flowable.fromPublisher(StageTest.identity(source))
+                .map(ByteBuffer::get).toList().blockingGet(),
+            Matchers.hasSize(16)
+        );
+        MatcherAssert.assertThat(
+            "Stage didn't replenish prefetch window",
+            requests,
+            Matchers.contains(4L, 3L, 3L, 3L, 3L, 3L)
+        );
+    }
+
+    @Test
+    void keepsRequestedBuffersUntilDemand() {
+        final List<Long> requests = new CopyOnWriteArrayList<>();
+        final Flowable<ByteBuffer> source = Flowable.range(0, 8)
+            .map(idx -> ByteBuffer.wrap(new byte[]{idx.byteValue()}))
+            .doOnRequest(requests::add);
+        Flowable.fromPublisher(StageTest.identity(source))
+            .test(1L)
+            .assertValueCount(1)
+            .assertNotComplete();
+        MatcherAssert.assertThat(requests, Matchers.contains(4L));
+    }
+
+    /**
+     * Stage publisher of identity step.
+     * @param source Source publisher
+     * @return Publisher of source buffers
+     */
+    private static Publisher<ByteBuffer> identity(final Publisher<ByteBuffer> source) {
+        return sub -> new Stage<>(sub, new StageTest.Identity()).start(source);
+    }
+
+    /**
+     * Step which emits accepted buffers as is.
+     * @since 0.4
+     */
+    private static final class Identity implements Step<ByteBuffer> {
+
+        /**
+         * Accepted buffer.
+         */
+        private ByteBuffer cur;
+
+        @Override
+        public void accept(final ByteBuffer buf) {
+            this.cur = buf;
+        }
+
+        @Override
+        public ByteBuffer next(final boolean last) {
+            final ByteBuffer res = this.cur;
+            this.cur = null;
+            return res;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stream;
+
+import io.reactivex.Flowable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+/**
+ * Test case for {@link PublisherInputStream}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class PublisherInputStreamTest {
+
+    @Test
+    void readsAllBytes() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream src = new PublisherInputStream(
+            Flowable.range(0, 100).map(
+                idx -> ByteBuffer.wrap(
+                    String.format("%03d", idx).getBytes(StandardCharsets.US_ASCII)
+                )
+            ),
+            2
+        )) {
+            final byte[] buf = new byte[7];
+            for (int len = src.read(buf); len >= 0; len = src.read(buf)) {
+                out.write(buf, 0, len);
+            }
+        }
+        MatcherAssert.assertThat(out.size(), Matchers.equalTo(300));
+        MatcherAssert.assertThat(
+            new String(out.toByteArray(), StandardCharsets.US_ASCII),
+            Matchers.startsWith("000001002")
+        );
+    }
+
+    @Test
+    void throwsPublisherError() throws Exception {
+        try (InputStream src = new PublisherInputStream(
+            Flowable.just(ByteBuffer.wrap(new byte[]{1, 2}))
+                .concatWith(Flowable.error(new IllegalStateException("failed")))
+        )) {
+            MatcherAssert.assertThat(src.read(), Matchers.equalTo(1));
+            MatcherAssert.assertThat(src.read(), Matchers.equalTo(2));
+            final IOException err = Assertions.assertThrows(IOException.class, src::read);
+            MatcherAssert.assertThat(
+                err.getCause(), Matchers.instanceOf(IllegalStateException.class)
+            );
+        }
+    }
+
+    @Test
+    void failsWhenPublisherIgnoresDemand() throws Exception {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final Publisher<ByteBuffer> source = sub -> {
+            sub.onSubscribe(
+                new Subscription() {
+                    @Override
+                    public void request(final long count) {
+                        // ignores demand
+                    }
+
+                    @Override
+                    public void cancel() {
+                        cancelled.set(true);
+                    }
+                }
+            );
+            for (int idx = 0; idx < 16; ++idx) {
+                sub.onNext(ByteBuffer.wrap(new byte[]{(byte) idx}));
+            }
+            sub.onComplete();
+        };
+        try (InputStream src = new PublisherInputStream(source, 2)) {
+            final IOException err = Assertions.assertThrows(
+                IOException.class,
+                () -> {
+                    while (src.read() >= 0) {
+                        continue;
+                    }
+                }
+            );
+            MatcherAssert.assertThat(
+                err.getCause(), Matchers.instanceOf(IllegalStateException.class)
+            );
+        }
+        MatcherAssert.assertThat(cancelled.get(), Matchers.is(true));
+    }
+
+    @Test
+    void cancelsOnClose() throws Exception {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final InputStream src = new PublisherInputStream(
+            Flowable.just(ByteBuffer.allocate(10)).repeat()
+                .doOnCancel(() -> cancelled.set(true))
+        );
+        MatcherAssert.assertThat(src.read(), Matchers.equalTo(0));
+        src.close();
+        MatcherAssert.assertThat(cancelled.get(), Matchers.is(true));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stream;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletionStage;
+import org.cqfn.rio.Buffers;
+import org.cqfn.rio.file.File;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link PublisherOutputStream}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class PublisherOutputStreamTest {
+
+    @Test
+    void writesToFile(@TempDir final Path tmp) throws Exception {
+        final Path target = tmp.resolve("out.txt");
+        final PublisherOutputStream out = new PublisherOutputStream();
+        final CompletionStage<Void> done = new File(target).write(out);
+        for (int idx = 0; idx < 10_000; ++idx) {
+            out.write(String.format("%04d", idx).getBytes(StandardCharsets.US_ASCII));
+        }
+        out.close();
+        done.toCompletableFuture().get();
+        MatcherAssert.assertThat(Files.size(target), Matchers.equalTo(40_000L));
+    }
+
+    @Test
+    void failsPublisher() {
+        final PublisherOutputStream out = new PublisherOutputStream();
+        out.fail(new IllegalStateException("failed"));
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> Flowable.fromPublisher(out).toList().blockingGet()
+        );
+    }
+
+    @Test
+    void failsWriteAfterCancel() {
+        final PublisherOutputStream out = new PublisherOutputStream();
+        Flowable.fromPublisher(out).take(1).subscribe();
+        Assertions.assertThrows(IOException.class, () -> out.write(new byte[100_000]));
+    }
+
+    @Test
+    void emitsPendingBufferAfterInterruptedWrite() throws Exception {
+        final PublisherOutputStream out = new PublisherOutputStream(Buffers.Standard.K1);
+        out.write(new byte[1023]);
+        Thread.currentThread().interrupt();
+        try {
+            Assertions.assertThrows(InterruptedIOException.class, () -> out.write(1));
+        } finally {
+            Thread.interrupted();
+        }
+        final TestSubscriber<ByteBuffer> sub = Flowable.fromPublisher(out).test();
+        out.write(2);
+        out.close();
+        MatcherAssert.assertThat(
+            sub.await().assertComplete().values().stream()
+                .mapToInt(ByteBuffer::remaining).sum(),
+            Matchers.equalTo(1025)
+        );
+    }
+}
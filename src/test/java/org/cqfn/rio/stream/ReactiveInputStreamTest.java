@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stream;
+
+import io.reactivex.Flowable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cqfn.rio.Buffers;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.reactivestreams.Publisher;
+
+/**
+ * Test case for {@link ReactiveInputStream}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class ReactiveInputStreamTest {
+
+    @Test
+    void readsStreamIntoDirectBuffers() {
+        final byte[] data = ReactiveInputStreamTest.random(100_000);
+        MatcherAssert.assertThat(
+            ReactiveInputStreamTest.bytes(
+                new ReactiveInputStream(new ByteArrayInputStream(data)).read(Buffers.Standard.K4)
+            ),
+            Matchers.equalTo(data)
+        );
+    }
+
+    @Test
+    void readsStreamIntoHeapBuffersOnExecutor() {
+        final byte[] data = ReactiveInputStreamTest.random(100_000);
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try {
+            final Publisher<ByteBuffer> pub =
+                new ReactiveInputStream(new ByteArrayInputStream(data), exec).read();
+            MatcherAssert.assertThat(
+                Flowable.fromPublisher(pub).firstOrError().blockingGet().hasArray(),
+                Matchers.is(true)
+            );
+        } finally {
+            exec.shutdown();
+        }
+        MatcherAssert.assertThat(
+            ReactiveInputStreamTest.bytes(
+                new ReactiveInputStream(new ByteArrayInputStream(data)).read()
+            ),
+            Matchers.equalTo(data)
+        );
+    }
+
+    @Test
+    void closesStreamOnError() {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final InputStream src = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("failed");
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        Assertions.assertThrows(
+            RuntimeException.class,
+            () -> ReactiveInputStreamTest.bytes(new ReactiveInputStream(src).read())
+        );
+        MatcherAssert.assertThat(closed.get(), Matchers.is(true));
+    }
+
+    @Test
+    void readsWithoutCheckingAvailableBytes() {
+        final byte[] data = ReactiveInputStreamTest.random(10_000);
+        final AtomicInteger available = new AtomicInteger();
+        final InputStream src = new ByteArrayInputStream(data) {
+            @Override
+            public synchronized int available() {
+                available.incrementAndGet();
+                return super.available();
+            }
+        };
+        MatcherAssert.assertThat(
+            ReactiveInputStreamTest.bytes(new ReactiveInputStream(src).read(Buffers.Standard.K1)),
+            Matchers.equalTo(data)
+        );
+        MatcherAssert.assertThat(available.get(), Matchers.equalTo(0));
+    }
+
+    @Test
+    @Timeout(5)
+    void failsOnBufferWithoutSpace() {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final InputStream src = new ByteArrayInputStream(new byte[10]) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> ReactiveInputStreamTest.bytes(
+                new ReactiveInputStream(src).read(() -> ByteBuffer.allocate(0))
+            )
+        );
+        MatcherAssert.assertThat(closed.get(), Matchers.is(true));
+    }
+
+    /**
+     * Random bytes.
+     * @param size Amount of bytes
+     * @return Bytes
+     */
+    private static byte[] random(final int size) {
+        final byte[] res = new byte[size];
+        new Random(size).nextBytes(res);
+        return res;
+    }
+
+    /**
+     * Collect publisher bytes.
+     * @param pub Publisher
+     * @return Bytes
+     */
+    private static byte[] bytes(final Publisher<ByteBuffer> pub) {
+        return Flowable.fromPublisher(pub).reduce(
+            new byte[0],
+            (acc, buf) -> {
+                final byte[] res = new byte[acc.length + buf.remaining()];
+                System.arraycopy(acc, 0, res, 0, acc.length);
+                buf.get(res, acc.length, buf.remaining());
+                return res;
+            }
+        ).blockingGet();
+    }
+}
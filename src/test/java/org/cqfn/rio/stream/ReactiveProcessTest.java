@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.stream;
+
+import io.reactivex.Flowable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import org.cqfn.rio.Buffers;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.reactivestreams.Publisher;
+
+/**
+ * Test case for {@link ReactiveProcess}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@DisabledOnOs(OS.WINDOWS)
+public final class ReactiveProcessTest {
+
+    @Test
+    void pipesInputToOutput() throws IOException, ExecutionException, InterruptedException {
+        final byte[] data = new byte[1024 * 1024];
+        new Random(data.length).nextBytes(data);
+        final ReactiveProcess proc = new ReactiveProcess(new ProcessBuilder("cat").start());
+        proc.stdin(Flowable.fromArray(ByteBuffer.wrap(data)));
+        MatcherAssert.assertThat(
+            ReactiveProcessTest.bytes(proc.stdout(Buffers.Standard.K16)),
+            Matchers.equalTo(data)
+        );
+        MatcherAssert.assertThat(
+            proc.exit().toCompletableFuture().get(),
+            Matchers.equalTo(0)
+        );
+    }
+
+    @Test
+    void pipesDirectBuffersToOutput() throws IOException, ExecutionException,
+        InterruptedException {
+        final byte[] data = new byte[200 * 1024 + 7];
+        new Random(data.length).nextBytes(data);
+        final ReactiveProcess proc = new ReactiveProcess(new ProcessBuilder("cat").start());
+        proc.stdin(
+            Flowable.fromArray(
+                ReactiveProcessTest.direct(data, 0, 10),
+                ReactiveProcessTest.direct(data, 10, data.length)
+            )
+        );
+        MatcherAssert.assertThat(
+            ReactiveProcessTest.bytes(proc.stdout(Buffers.Standard.K16)),
+            Matchers.equalTo(data)
+        );
+    }
+
+    @Test
+    void readsErrorsAndExitCode() throws IOException, ExecutionException, InterruptedException {
+        final ReactiveProcess proc = new ReactiveProcess(
+            new ProcessBuilder("sh", "-c", "echo failed >&2; exit 3").start()
+        );
+        MatcherAssert.assertThat(
+            new String(ReactiveProcessTest.bytes(proc.stderr()), StandardCharsets.UTF_8),
+            Matchers.equalTo("failed\n")
+        );
+        MatcherAssert.assertThat(
+            proc.exit().toCompletableFuture().get(),
+            Matchers.equalTo(3)
+        );
+    }
+
+    @Test
+    void destroysProcessOnInputError() throws IOException, ExecutionException,
+        InterruptedException {
+        final ReactiveProcess proc = new ReactiveProcess(new ProcessBuilder("cat").start());
+        proc.stdin(Flowable.error(new IOException("broken input")));
+        MatcherAssert.assertThat(
+            proc.exit().toCompletableFuture().get(),
+            Matchers.not(0)
+        );
+    }
+
+    /**
+     * Direct buffer with part of data.
+     * @param data Data
+     * @param from Start index
+     * @param until End index
+     * @return Direct buffer
+     */
+    private static ByteBuffer direct(final byte[] data, final int from, final int until) {
+        final ByteBuffer buf = ByteBuffer.allocateDirect(until - from);
+        buf.put(data, from, until - from);
+        ((Buffer) buf).flip();
+        return buf;
+    }
+
+    /**
+     * Collect publisher bytes.
+     * @param pub Publisher
+     * @return Bytes
+     */
+    private static byte[] bytes(final Publisher<ByteBuffer> pub) {
+        return Flowable.fromPublisher(pub).reduce(
+            new byte[0],
+            (acc, buf) -> {
+                final byte[] res = new byte[acc.length + buf.remaining()];
+                System.arraycopy(acc, 0, res, 0, acc.length);
+                buf.get(res, acc.length, buf.remaining());
+                return res;
+            }
+        ).blockingGet();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.text;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+/**
+ * Test case for {@link Decode}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class DecodeTest {
+
+    @Test
+    void decodesSplitMultibyteCharacters() {
+        final String text = "привет, мир! 😀";
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        MatcherAssert.assertThat(
+            DecodeTest.text(
+                new Decode(
+                    Flowable.range(0, bytes.length).map(
+                        idx -> {
+                            final ByteBuffer buf = ByteBuffer.allocateDirect(1);
+                            buf.put(bytes[idx]).flip();
+                            return buf;
+                        }
+                    ),
+                    StandardCharsets.UTF_8
+                )
+            ),
+            Matchers.equalTo(text)
+        );
+    }
+
+    @Test
+    void replacesTruncatedCharacter() {
+        MatcherAssert.assertThat(
+            DecodeTest.text(
+                new Decode(
+                    Flowable.just(ByteBuffer.wrap(new byte[]{'a', (byte) 0xe2, (byte) 0x82})),
+                    StandardCharsets.UTF_8
+                )
+            ),
+            Matchers.equalTo("a�")
+        );
+    }
+
+    @Test
+    void reportsMalformedInput() {
+        final RuntimeException err = Assertions.assertThrows(
+            RuntimeException.class,
+            () -> DecodeTest.text(
+                new Decode(
+                    Flowable.just(ByteBuffer.wrap(new byte[]{'a', (byte) 0xff})),
+                    StandardCharsets.UTF_8, CodingErrorAction.REPORT
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            err.getCause(), Matchers.instanceOf(CharacterCodingException.class)
+        );
+    }
+
+    /**
+     * Collect text.
+     * @param pub Publisher of chars
+     * @return Text
+     */
+    private static String text(final Publisher<? extends CharSequence> pub) {
+        return Flowable.fromPublisher(pub)
+            .reduce(new StringBuilder(), StringBuilder::append)
+            .blockingGet().toString();
+    }
+}
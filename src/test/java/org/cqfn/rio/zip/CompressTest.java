@@ -0,0 +1,195 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 cqfn.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files
+ * (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights * to use, copy, modify,
+ * merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.cqfn.rio.zip;
+
+import io.reactivex.Flowable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+/**
+ * Test case for {@link Compress} and {@link Decompress}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class CompressTest {
+
+    @Test
+    void compressesAndDecompresses() {
+        final byte[] data = CompressTest.text(100_000);
+        for (final ZipFormat format : ZipFormat.values()) {
+            MatcherAssert.assertThat(
+                format.name(),
+                CompressTest.bytes(
+                    new Decompress(
+                        CompressTest.chunks(
+                            CompressTest.bytes(
+                                new Compress(CompressTest.chunks(data, 1000), format)
+                            ),
+                            100
+                        ),
+                        format
+                    )
+                ),
+                Matchers.equalTo(data)
+            );
+        }
+    }
+
+    @Test
+    void compressesToGzipFormat() throws Exception {
+        final byte[] data = CompressTest.text(50_000);
+        final byte[] gzip = CompressTest.bytes(
+            new Compress(CompressTest.chunks(data, 4096), ZipFormat.GZIP)
+        );
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream src = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            final byte[] buf = new byte[4096];
+            for (int len = src.read(buf); len > 0; len = src.read(buf)) {
+                out.write(buf, 0, len);
+            }
+        }
+        MatcherAssert.assertThat(out.toByteArray(), Matchers.equalTo(data));
+    }
+
+    @Test
+    void decompressesConcatenatedGzip() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(CompressTest.gzip("hello ".getBytes(StandardCharsets.UTF_8)));
+        out.write(CompressTest.gzip("world".getBytes(StandardCharsets.UTF_8)));
+        MatcherAssert.assertThat(
+            new String(
+                CompressTest.bytes(
+                    new Decompress(CompressTest.chunks(out.toByteArray(), 3), ZipFormat.GZIP)
+                ),
+                StandardCharsets.UTF_8
+            ),
+            Matchers.equalTo("hello world")
+        );
+    }
+
+    @Test
+    void failsOnTruncatedData() throws Exception {
+        final byte[] gzip = CompressTest.gzip(CompressTest.text(10_000));
+        final RuntimeException err = Assertions.assertThrows(
+            RuntimeException.class,
+            () -> CompressTest.bytes(
+                new Decompress(
+                    CompressTest.chunks(Arrays.copyOf(gzip, gzip.length - 4), 100),
+                    ZipFormat.GZIP
+                )
+            )
+        );
+        MatcherAssert.assertThat(err.getCause(), Matchers.instanceOf(EOFException.class));
+    }
+
+    @Test
+    void failsOnCorruptedData() throws Exception {
+        final byte[] gzip = CompressTest.gzip(CompressTest.text(10_000));
+        gzip[gzip.length - 8] ^= 1;
+        final RuntimeException err = Assertions.assertThrows(
+            RuntimeException.class,
+            () -> CompressTest.bytes(
+                new Decompress(Flowable.just(ByteBuffer.wrap(gzip)), ZipFormat.GZIP)
+            )
+        );
+        MatcherAssert.assertThat(err.getCause(), Matchers.instanceOf(ZipException.class));
+    }
+
+    /**
+     * Compressible text.
+     * @param size Text size
+     * @return Text bytes
+     */
+    private static byte[] text(final int size) {
+        final StringBuilder str = new StringBuilder(size + 10);
+        for (int idx = 0; str.length() < size; ++idx) {
+            str.append("line ").append(idx).append('\n');
+        }
+        return str.substring(0, size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compress bytes with GZIP output stream.
+     * @param data Data
+     * @return Compressed data
+     * @throws Exception On error
+     */
+    private static byte[] gzip(final byte[] data) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Split data into direct buffers.
+     * @param data Data
+     * @param size Chunk size
+     * @return Publisher of buffers
+     */
+    private static Flowable<ByteBuffer> chunks(final byte[] data, final int size) {
+        return Flowable.range(0, (data.length + size - 1) / size).map(
+            idx -> {
+                final int from = idx * size;
+                final int len = Math.min(size, data.length - from);
+                final ByteBuffer buf = ByteBuffer.allocateDirect(len);
+                buf.put(data, from, len).flip();
+                return buf;
+            }
+        );
+    }
+
+    /**
+     * Collect publisher bytes.
+     * @param pub Publisher
+     * @return Bytes
+     */
+    private static byte[] bytes(final Publisher<ByteBuffer> pub) {
+        return Flowable.fromPublisher(pub).reduce(
+            new ByteArrayOutputStream(),
+            (out, buf) -> {
+                final byte[] arr = new byte[buf.remaining()];
+                buf.get(arr);
+                out.write(arr);
+                return out;
+            }
+        ).blockingGet().toByteArray();
+    }
+}